@@ -0,0 +1,120 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.compress.AbstractSourceCompressor;
+import com.github.linyuzai.download.core.compress.AdaptiveCompressionPolicy;
+import com.github.linyuzai.download.core.compress.CompressionPolicy;
+import com.github.linyuzai.download.core.compress.StreamingCompression;
+import com.github.linyuzai.download.core.concept.DownloadMode;
+import com.github.linyuzai.download.core.context.DefaultDownloadContext;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadEventPublisher;
+import com.github.linyuzai.download.core.options.DefaultDownloadOptions;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.file.FileSource;
+import com.github.linyuzai.download.core.write.BufferedDownloadWriter;
+import com.github.linyuzai.download.core.write.DownloadWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比使用和不使用 {@link AdaptiveCompressionPolicy} 压缩包含随机数据的目录。
+ * <p>
+ * 随机数据的熵接近每字节 8 位，使用策略时只存储不压缩，
+ * {@link SourceCompressorBenchmark.Bytes} 记录每秒输入和输出的字节数，用于对比压缩率的变化。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptiveCompressionBenchmark {
+
+    @Param({"ZIP", "ZIP4J", "ZIP_ARCHIVE"})
+    public CompressorType compressor;
+
+    @Param({"FEW_HUGE"})
+    public SourceTree.Shape shape;
+
+    @Param({"INCOMPRESSIBLE", "MIXED"})
+    public SourceTree.Content content;
+
+    @Param({"NONE", "ADAPTIVE"})
+    public Policy policy;
+
+    private AbstractSourceCompressor<?> sourceCompressor;
+
+    private DownloadWriter writer;
+
+    private DownloadContext context;
+
+    private File root;
+
+    private Source source;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        sourceCompressor = compressor.newCompressor();
+        root = SourceTree.generate(shape, content);
+        source = new FileSource.Builder<>().file(root).build();
+        writer = new BufferedDownloadWriter();
+        DefaultDownloadOptions options = new DefaultDownloadOptions();
+        options.setCompressFormat(compressor.getFormat());
+        options.setCompressStreaming(true);
+        options.setCompressCacheName("benchmark");
+        context = new DefaultDownloadContext();
+        context.set(DownloadMode.class, DownloadMode.SYNC);
+        context.set(DownloadOptions.class, options);
+        context.set(DownloadEventPublisher.class, (DownloadEventPublisher) event -> {
+        });
+        if (policy == Policy.ADAPTIVE) {
+            context.set(CompressionPolicy.class, new AdaptiveCompressionPolicy());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        source.release();
+        SourceTree.delete(root);
+    }
+
+    @Benchmark
+    public long compress(SourceCompressorBenchmark.Bytes bytes) throws IOException {
+        CountingOutputStream os = new CountingOutputStream();
+        try {
+            StreamingCompression compression = (StreamingCompression) sourceCompressor
+                    .compress(source, compressor.getFormat(), writer, context);
+            compression.writeTo(os, null);
+        } finally {
+            source.release();
+        }
+        bytes.input += shape.getTotalSize();
+        bytes.output += os.count;
+        return os.count;
+    }
+
+    public enum Policy {
+
+        NONE, ADAPTIVE
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
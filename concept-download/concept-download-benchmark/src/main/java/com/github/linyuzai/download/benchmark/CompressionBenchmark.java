@@ -0,0 +1,115 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
+import com.github.linyuzai.download.core.compress.tar.gz.ParallelGzipOutputStream;
+import com.github.linyuzai.download.core.compress.zip.ParallelZipOutputStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 压缩 {@link #entries} 个 {@link #entrySize} 大小的条目的耗时，
+ * 对比 {@link ZipOutputStream} / {@link GZIPOutputStream} 和并行压缩，
+ * 并行压缩的收益取决于 CPU 核数。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"ZIP", "PARALLEL_ZIP", "GZIP", "PARALLEL_GZIP"})
+    public String type;
+
+    @Param({"8"})
+    public int entries;
+
+    @Param({"8388608"})
+    public int entrySize;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        //大约可以压缩到 1/3
+        data = new byte[entrySize];
+        Random random = new Random(0);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : 'a' + random.nextInt(8));
+        }
+    }
+
+    @Benchmark
+    public long compress() throws IOException {
+        CountingOutputStream counting = new CountingOutputStream();
+        switch (type) {
+            case "ZIP":
+                try (ZipOutputStream os = new ZipOutputStream(counting)) {
+                    for (int i = 0; i < entries; i++) {
+                        os.putNextEntry(new ZipEntry("entry" + i));
+                        os.write(data);
+                        os.closeEntry();
+                    }
+                }
+                break;
+            case "PARALLEL_ZIP":
+                try (ParallelZipOutputStream os = new ParallelZipOutputStream(counting,
+                        ParallelCompressionOutputStream.getDefaultExecutor(),
+                        ParallelCompressionOutputStream.DEFAULT_BLOCK_SIZE,
+                        ParallelCompressionOutputStream.DEFAULT_MAX_PENDING_BLOCKS,
+                        Deflater.DEFAULT_COMPRESSION)) {
+                    for (int i = 0; i < entries; i++) {
+                        os.putNextEntry("entry" + i);
+                        os.write(data);
+                        os.closeEntry();
+                    }
+                }
+                break;
+            case "GZIP":
+                try (GZIPOutputStream os = new GZIPOutputStream(counting)) {
+                    for (int i = 0; i < entries; i++) {
+                        os.write(data);
+                    }
+                }
+                break;
+            case "PARALLEL_GZIP":
+                try (ParallelGzipOutputStream os = new ParallelGzipOutputStream(counting,
+                        ParallelCompressionOutputStream.getDefaultExecutor(),
+                        ParallelCompressionOutputStream.DEFAULT_BLOCK_SIZE,
+                        ParallelCompressionOutputStream.DEFAULT_MAX_PENDING_BLOCKS,
+                        Deflater.DEFAULT_COMPRESSION)) {
+                    for (int i = 0; i < entries; i++) {
+                        os.write(data);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(type);
+        }
+        return counting.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
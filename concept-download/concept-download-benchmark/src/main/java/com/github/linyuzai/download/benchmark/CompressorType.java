@@ -0,0 +1,44 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.compress.AbstractSourceCompressor;
+import com.github.linyuzai.download.core.compress.CompressFormat;
+import com.github.linyuzai.download.core.compress.tar.TarArchiveSourceCompressor;
+import com.github.linyuzai.download.core.compress.tar.gz.TarGzArchiveSourceCompressor;
+import com.github.linyuzai.download.core.compress.zip.Zip4jSourceCompressor;
+import com.github.linyuzai.download.core.compress.zip.ZipArchiveSourceCompressor;
+import com.github.linyuzai.download.core.compress.zip.ZipSourceCompressor;
+
+import java.util.function.Supplier;
+
+/**
+ * 参与对比的压缩器和对应的压缩格式。
+ */
+public enum CompressorType {
+
+    ZIP(CompressFormat.ZIP, ZipSourceCompressor::new),
+
+    ZIP4J(CompressFormat.ZIP, Zip4jSourceCompressor::new),
+
+    ZIP_ARCHIVE(CompressFormat.ZIP, ZipArchiveSourceCompressor::new),
+
+    TAR(CompressFormat.TAR, TarArchiveSourceCompressor::new),
+
+    TAR_GZ(CompressFormat.TAR_GZ, TarGzArchiveSourceCompressor::new);
+
+    private final String format;
+
+    private final Supplier<AbstractSourceCompressor<?>> supplier;
+
+    CompressorType(String format, Supplier<AbstractSourceCompressor<?>> supplier) {
+        this.format = format;
+        this.supplier = supplier;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public AbstractSourceCompressor<?> newCompressor() {
+        return supplier.get();
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.source.file.FileChannelInputStream;
+import com.github.linyuzai.download.core.web.Range;
+import com.github.linyuzai.download.core.write.BufferedDownloadWriter;
+import com.github.linyuzai.download.core.write.DownloadWriter;
+import com.github.linyuzai.download.core.write.FileChannelDownloadWriter;
+import com.github.linyuzai.download.core.write.TranscodingDownloadWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将文件写入到输出流的耗时，
+ * BUFFERED 使用原来的 {@link Files#newInputStream} 和 {@link BufferedDownloadWriter}，
+ * FILE_CHANNEL 使用 {@link FileChannelInputStream} 和 {@link FileChannelDownloadWriter}，
+ * TRANSCODING 使用 {@link TranscodingDownloadWriter} 将 UTF-8 的文本转码为 GBK。
+ * <p>
+ * STREAM 写入到丢弃数据的输出流，对应普通的响应输出流；
+ * FILE 写入到文件，对应可以直接传输通道的场景。
+ * RANGE 只写入文件的后半部分。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DownloadWriterBenchmark {
+
+    @Param({"BUFFERED", "FILE_CHANNEL", "TRANSCODING"})
+    public String writer;
+
+    @Param({"STREAM", "FILE"})
+    public String target;
+
+    @Param({"false", "true"})
+    public boolean range;
+
+    @Param({"67108864"})
+    public int size;
+
+    private DownloadWriter downloadWriter;
+
+    private File source;
+
+    private File output;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        switch (writer) {
+            case "BUFFERED":
+                downloadWriter = new BufferedDownloadWriter();
+                break;
+            case "FILE_CHANNEL":
+                downloadWriter = new FileChannelDownloadWriter();
+                break;
+            case "TRANSCODING":
+                TranscodingDownloadWriter transcoding = new TranscodingDownloadWriter();
+                transcoding.setTargetCharset(Charset.forName("GBK"));
+                downloadWriter = transcoding;
+                break;
+            default:
+                throw new IllegalArgumentException(writer);
+        }
+        source = File.createTempFile("download-benchmark", ".bin");
+        output = File.createTempFile("download-benchmark", ".out");
+        byte[] bytes = new byte[1024 * 1024];
+        Random random = new Random(0);
+        try (OutputStream os = new FileOutputStream(source)) {
+            for (int i = 0; i < size / bytes.length; i++) {
+                if (isTranscoding()) {
+                    fillText(bytes, random);
+                } else {
+                    random.nextBytes(bytes);
+                }
+                os.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * 填充 UTF-8 编码的中英文混合文本，每个汉字 3 个字节。
+     */
+    private static void fillText(byte[] bytes, Random random) {
+        byte[] chinese = "下载".getBytes(StandardCharsets.UTF_8);
+        int i = 0;
+        while (i < bytes.length) {
+            if (random.nextInt(4) == 0 && i + chinese.length <= bytes.length) {
+                System.arraycopy(chinese, 0, bytes, i, chinese.length);
+                i += chinese.length;
+            } else {
+                bytes[i++] = (byte) ('a' + random.nextInt(26));
+            }
+        }
+    }
+
+    private boolean isTranscoding() {
+        return "TRANSCODING".equals(writer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        boolean deleteSource = source.delete();
+        boolean deleteOutput = output.delete();
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        long[] written = new long[1];
+        DownloadWriter.Callback callback = (current, increase) -> written[0] += increase;
+        try (InputStream is = openInputStream(); OutputStream os = openOutputStream()) {
+            Charset charset = isTranscoding() ? StandardCharsets.UTF_8 : null;
+            downloadWriter.write(is, os, createRange(), charset, (long) size, callback);
+        }
+        return written[0];
+    }
+
+    private InputStream openInputStream() throws IOException {
+        if (!"FILE_CHANNEL".equals(writer)) {
+            return Files.newInputStream(source.toPath());
+        } else {
+            return FileChannelInputStream.open(source);
+        }
+    }
+
+    private OutputStream openOutputStream() throws IOException {
+        if ("FILE".equals(target)) {
+            return new FileOutputStream(output);
+        } else {
+            return new DiscardOutputStream();
+        }
+    }
+
+    private Range createRange() {
+        if (!range) {
+            return null;
+        }
+        Range r = Range.of(size / 2, -1);
+        r.setLength(size - size / 2);
+        return r;
+    }
+
+    private static class DiscardOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
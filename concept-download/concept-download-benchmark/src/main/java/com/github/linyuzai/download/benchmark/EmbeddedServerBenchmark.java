@@ -0,0 +1,159 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.annotation.Download;
+import com.github.linyuzai.download.core.compress.DefaultSourceCompressorAdapter;
+import com.github.linyuzai.download.core.compress.SourceCompressorAdapter;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过内嵌的 Servlet 容器下载 {@link SourceTree} 生成的目录，包括加载，压缩和写入响应的完整流程。
+ * <p>
+ * 每组参数启动一个应用，只使用指定的压缩器，不启用压缩缓存，每次请求都会重新压缩。
+ * download 为每秒完整下载的次数，{@link Bytes} 记录每秒接收的字节数；
+ * firstByte 为发送请求到收到第一个字节的耗时，收到后断开连接。
+ * 服务端和客户端在同一个进程中，分配和堆内存峰值包括两端。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbeddedServerBenchmark {
+
+    @Param({"ZIP", "ZIP4J", "ZIP_ARCHIVE", "TAR", "TAR_GZ"})
+    public CompressorType compressor;
+
+    @Param({"MANY_SMALL", "FEW_HUGE"})
+    public SourceTree.Shape shape;
+
+    @Param({"COMPRESSIBLE", "INCOMPRESSIBLE"})
+    public SourceTree.Content content;
+
+    @Param({"false", "true"})
+    public boolean streaming;
+
+    private File root;
+
+    private ConfigurableApplicationContext application;
+
+    private URL url;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = SourceTree.generate(shape, content);
+        application = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .properties("server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn",
+                        "concept.download.logger.enabled=false",
+                        "benchmark.compressor=" + compressor.name())
+                .run();
+        int port = ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+        url = new URL("http://127.0.0.1:" + port + "/download" +
+                "?path=" + URLEncoder.encode(root.getAbsolutePath(), "UTF-8") +
+                "&format=" + URLEncoder.encode(compressor.getFormat(), "UTF-8") +
+                "&streaming=" + streaming);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        SourceTree.delete(root);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long download(Bytes bytes) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        long count = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream is = connection.getInputStream()) {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                count += len;
+            }
+        }
+        bytes.received += count;
+        return count;
+    }
+
+    @Benchmark
+    public int firstByte() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            return connection.getInputStream().read();
+        } finally {
+            //不读取剩余的数据，连接不能复用
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * 接收的字节数。
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+
+        public long received;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            received = 0;
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import(BenchmarkController.class)
+    public static class BenchmarkApplication {
+
+        /**
+         * 只使用指定的压缩器
+         */
+        @Bean
+        public SourceCompressorAdapter sourceCompressorAdapter(@Value("${benchmark.compressor}") CompressorType type) {
+            return new DefaultSourceCompressorAdapter(Collections.singletonList(type.newCompressor()));
+        }
+    }
+
+    @RestController
+    public static class BenchmarkController {
+
+        @Download
+        @GetMapping("/download")
+        public DownloadOptions.Configurer download(@RequestParam String path,
+                                                   @RequestParam String format,
+                                                   @RequestParam boolean streaming) {
+            return options -> {
+                options.setSource(new File(path));
+                options.setCompressFormat(format);
+                options.setCompressStreaming(streaming);
+                options.setCompressCacheEnabled(false);
+            };
+        }
+    }
+}
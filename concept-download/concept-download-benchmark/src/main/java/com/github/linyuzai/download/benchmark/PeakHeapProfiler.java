@@ -0,0 +1,57 @@
+package com.github.linyuzai.download.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 记录每次迭代的堆内存峰值。
+ * <p>
+ * 迭代开始前重置所有堆内存池的峰值，迭代结束后累加每个内存池的峰值，
+ * 各个内存池的峰值不一定出现在同一时刻，所以结果是峰值的上限。
+ * 通过 -prof com.github.linyuzai.download.benchmark.PeakHeapProfiler 使用。
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result<?>> afterIteration(BenchmarkParams benchmarkParams,
+                                                          IterationParams iterationParams,
+                                                          IterationResult result) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                MemoryUsage usage = pool.getPeakUsage();
+                if (usage != null) {
+                    peak += usage.getUsed();
+                }
+            }
+        }
+        return Collections.singletonList(new ScalarResult("heap.peak", peak / 1024.0 / 1024.0,
+                "MB", AggregationPolicy.MAX));
+    }
+
+    @Override
+    public String getDescription() {
+        return "Peak heap usage of each iteration";
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.context.DefaultDownloadContext;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.options.DefaultDownloadOptions;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import com.github.linyuzai.download.core.source.DefaultSourceFactoryAdapter;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.SourceFactoryAdapter;
+import com.github.linyuzai.download.core.source.reflect.*;
+import com.github.linyuzai.download.core.source.text.TextSource;
+import com.github.linyuzai.download.core.source.text.TextSourceFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link ReflectionTemplate} 和 {@link CompiledReflectionTemplate} 转换 {@link SourceModel} 列表。
+ * <p>
+ * reflect 只将模型的值设置到同一个 {@link Source}；
+ * create 通过 {@link ReflectionSourceFactory} 为每个模型创建 {@link Source}。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectionTemplateBenchmark {
+
+    @Param({"REFLECTION", "COMPILED"})
+    public Mode mode;
+
+    @Param({"100000"})
+    public int size;
+
+    private List<Model> models;
+
+    private ReflectionTemplate template;
+
+    private ReflectionSourceFactory factory;
+
+    private DownloadContext context;
+
+    private Source source;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        models = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            models.add(new Model("text" + i, "model" + i + ".txt", "/tmp/model" + i, (long) i));
+        }
+        boolean compiled = mode == Mode.COMPILED;
+        template = compiled ? new CompiledReflectionTemplate(Model.class) : new ReflectionTemplate(Model.class);
+        factory = new ReflectionSourceFactory();
+        factory.setCompiled(compiled);
+        context = new DefaultDownloadContext();
+        context.set(DownloadOptions.class, new DefaultDownloadOptions());
+        context.set(SourceFactoryAdapter.class,
+                new DefaultSourceFactoryAdapter(Collections.singletonList(new TextSourceFactory())));
+        source = new TextSource.Builder<>().text("").build();
+    }
+
+    @Benchmark
+    public void reflect() {
+        for (Model model : models) {
+            template.reflect(model, source);
+        }
+    }
+
+    @Benchmark
+    public void create(Blackhole blackhole) {
+        for (Model model : models) {
+            blackhole.consume(factory.create(model, context));
+        }
+    }
+
+    public enum Mode {
+
+        REFLECTION, COMPILED
+    }
+
+    /**
+     * 字段和方法混合，包括需要转换类型的编码。
+     */
+    @SourceModel
+    public static class Model {
+
+        @SourceObject
+        private final String text;
+
+        @SourceName
+        private final String name;
+
+        private final String cachePath;
+
+        private final Long length;
+
+        public Model(String text, String name, String cachePath, Long length) {
+            this.text = text;
+            this.name = name;
+            this.cachePath = cachePath;
+            this.length = length;
+        }
+
+        @SourceCachePath
+        public String getCachePath() {
+            return cachePath;
+        }
+
+        @SourceLength
+        public Long getLength() {
+            return length;
+        }
+
+        @SourceCharset
+        public String getCharset() {
+            return "UTF-8";
+        }
+    }
+}
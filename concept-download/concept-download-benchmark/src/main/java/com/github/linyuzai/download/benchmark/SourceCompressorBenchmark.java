@@ -0,0 +1,173 @@
+package com.github.linyuzai.download.benchmark;
+
+import com.github.linyuzai.download.core.compress.AbstractSourceCompressor;
+import com.github.linyuzai.download.core.compress.StreamingCompression;
+import com.github.linyuzai.download.core.concept.DownloadMode;
+import com.github.linyuzai.download.core.context.DefaultDownloadContext;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadEventPublisher;
+import com.github.linyuzai.download.core.options.DefaultDownloadOptions;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.file.FileSource;
+import com.github.linyuzai.download.core.write.BufferedDownloadWriter;
+import com.github.linyuzai.download.core.write.DownloadWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过 {@link StreamingCompression} 压缩 {@link SourceTree} 生成的目录，
+ * 不经过缓存和响应，只对比各个压缩器本身。
+ * <p>
+ * compress 为每秒完整压缩的次数，{@link Bytes} 记录每秒输入和输出的字节数；
+ * firstByte 为开始压缩到输出第一个字节的耗时，即流式压缩时的首字节时间。
+ * 分配和堆内存峰值通过 {@link DownloadBenchmarkRunner} 附加的 profiler 查看。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SourceCompressorBenchmark {
+
+    private static final IOException FIRST_BYTE = new FirstByteException();
+
+    @Param({"ZIP", "ZIP4J", "ZIP_ARCHIVE", "TAR", "TAR_GZ"})
+    public CompressorType compressor;
+
+    @Param({"MANY_SMALL", "FEW_HUGE"})
+    public SourceTree.Shape shape;
+
+    @Param({"COMPRESSIBLE", "INCOMPRESSIBLE"})
+    public SourceTree.Content content;
+
+    private AbstractSourceCompressor<?> sourceCompressor;
+
+    private DownloadWriter writer;
+
+    private DownloadContext context;
+
+    private File root;
+
+    private Source source;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        sourceCompressor = compressor.newCompressor();
+        root = SourceTree.generate(shape, content);
+        source = new FileSource.Builder<>().file(root).build();
+        writer = new BufferedDownloadWriter();
+        DefaultDownloadOptions options = new DefaultDownloadOptions();
+        options.setCompressFormat(compressor.getFormat());
+        options.setCompressStreaming(true);
+        options.setCompressCacheName("benchmark");
+        context = new DefaultDownloadContext();
+        context.set(DownloadMode.class, DownloadMode.SYNC);
+        context.set(DownloadOptions.class, options);
+        context.set(DownloadEventPublisher.class, (DownloadEventPublisher) event -> {
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        source.release();
+        SourceTree.delete(root);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long compress(Bytes bytes) throws IOException {
+        CountingOutputStream os = new CountingOutputStream(false);
+        try {
+            compress(os);
+        } finally {
+            source.release();
+        }
+        bytes.input += shape.getTotalSize();
+        bytes.output += os.count;
+        return os.count;
+    }
+
+    @Benchmark
+    public long firstByte() throws IOException {
+        CountingOutputStream os = new CountingOutputStream(true);
+        try {
+            compress(os);
+        } catch (IOException e) {
+            if (e != FIRST_BYTE) {
+                throw e;
+            }
+        } finally {
+            source.release();
+        }
+        return os.count;
+    }
+
+    private void compress(OutputStream os) throws IOException {
+        StreamingCompression compression = (StreamingCompression) sourceCompressor
+                .compress(source, compressor.getFormat(), writer, context);
+        compression.writeTo(os, null);
+    }
+
+    /**
+     * 输入和输出的字节数。
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+
+        public long input;
+
+        public long output;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            input = 0;
+            output = 0;
+        }
+    }
+
+    private static class FirstByteException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * 只记录字节数，可以在写入第一个字节时中断压缩。
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private final boolean stopAtFirstByte;
+
+        private long count;
+
+        private CountingOutputStream(boolean stopAtFirstByte) {
+            this.stopAtFirstByte = stopAtFirstByte;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(null, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            boolean first = count == 0 && len > 0;
+            count += len;
+            if (first && stopAtFirstByte) {
+                throw FIRST_BYTE;
+            }
+        }
+    }
+}
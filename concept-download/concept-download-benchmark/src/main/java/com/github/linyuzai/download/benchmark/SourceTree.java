@@ -0,0 +1,124 @@
+package com.github.linyuzai.download.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * 在本地生成用于基准测试的目录，
+ * 通过 {@link Shape} 指定文件数量和大小，通过 {@link Content} 指定数据是否可以压缩，
+ * 相同的参数每次生成的数据相同。
+ */
+public class SourceTree {
+
+    /**
+     * 目录结构
+     */
+    public enum Shape {
+
+        /**
+         * 大量小文件，2000 个 4K 的文件，分布在 20 个子目录中
+         */
+        MANY_SMALL(20, 100, 4 * 1024),
+
+        /**
+         * 少量大文件，4 个 32M 的文件
+         */
+        FEW_HUGE(1, 4, 32 * 1024 * 1024);
+
+        private final int dirs;
+
+        private final int filesPerDir;
+
+        private final int fileSize;
+
+        Shape(int dirs, int filesPerDir, int fileSize) {
+            this.dirs = dirs;
+            this.filesPerDir = filesPerDir;
+            this.fileSize = fileSize;
+        }
+
+        public long getTotalSize() {
+            return (long) dirs * filesPerDir * fileSize;
+        }
+    }
+
+    /**
+     * 文件内容
+     */
+    public enum Content {
+
+        /**
+         * 类似文本的数据，大约可以压缩到 1/3
+         */
+        COMPRESSIBLE,
+
+        /**
+         * 随机数据，基本不能压缩
+         */
+        INCOMPRESSIBLE,
+
+        /**
+         * 一半随机数据一半类似文本的数据，类似图片和文档混合的目录
+         */
+        MIXED
+    }
+
+    /**
+     * 在临时目录中生成。
+     *
+     * @param shape   目录结构
+     * @param content 文件内容
+     * @return 生成的目录
+     */
+    public static File generate(Shape shape, Content content) throws IOException {
+        File root = Files.createTempDirectory("download-benchmark-" + shape.name().toLowerCase()).toFile();
+        Random random = new Random(0);
+        byte[] bytes = new byte[Math.min(shape.fileSize, 1024 * 1024)];
+        for (int d = 0; d < shape.dirs; d++) {
+            File dir = shape.dirs == 1 ? root : new File(root, "dir" + d);
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new IOException("Can not create " + dir);
+            }
+            for (int f = 0; f < shape.filesPerDir; f++) {
+                Content fileContent = content == Content.MIXED ?
+                        (f % 2 == 0 ? Content.INCOMPRESSIBLE : Content.COMPRESSIBLE) : content;
+                try (OutputStream os = new FileOutputStream(new File(dir, "file" + f + ".bin"))) {
+                    for (int written = 0; written < shape.fileSize; written += bytes.length) {
+                        fill(bytes, fileContent, random);
+                        os.write(bytes, 0, Math.min(bytes.length, shape.fileSize - written));
+                    }
+                }
+            }
+        }
+        return root;
+    }
+
+    private static void fill(byte[] bytes, Content content, Random random) {
+        if (content == Content.INCOMPRESSIBLE) {
+            random.nextBytes(bytes);
+        } else {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : 'a' + random.nextInt(8));
+            }
+        }
+    }
+
+    /**
+     * 删除生成的目录。
+     *
+     * @param file 文件或目录
+     */
+    public static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                delete(f);
+            }
+        }
+        boolean delete = file.delete();
+    }
+}
@@ -49,6 +49,25 @@ public @interface Download {
      */
     boolean forceCompress() default false;
 
+    /**
+     * 流式压缩，边压缩边写入响应，
+     * 不需要等待压缩完成，响应使用分块传输。
+     * 可以和 {@link CompressCache} 一起使用，同时生成缓存文件。
+     */
+    boolean compressStreaming() default false;
+
+    /**
+     * 压缩级别，0-9，0 只存储不压缩，
+     * 小于 0 时使用全局配置。
+     */
+    int compressLevel() default -1;
+
+    /**
+     * 每秒最多写入响应的字节数，0 不限速，
+     * 小于 0 时使用全局配置。
+     */
+    long rateLimit() default -1;
+
     /**
      * 如果指定了编码，会使用字符流的方式读。
      */
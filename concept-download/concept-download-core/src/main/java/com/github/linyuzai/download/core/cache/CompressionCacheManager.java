@@ -0,0 +1,489 @@
+package com.github.linyuzai.download.core.cache;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压缩文件缓存管理。
+ * <p>
+ * 同一个缓存文件同时只会压缩一次，其他请求等待压缩完成后直接使用缓存，
+ * 流式压缩同时写入缓存时通过 {@link #beginStreaming(File, DownloadContext)} 登记；
+ * 先写入临时文件，完成后再重命名为缓存文件，不会读到写了一半的缓存。
+ * 记录使用过的缓存文件，按照最近使用的时间淘汰超过 {@link #maxAge} 的缓存，
+ * 总大小超过 {@link #maxSize} 时淘汰最久没有使用的缓存。
+ * 第一次使用某个缓存目录时扫描其中已有的缓存文件，以文件的修改时间作为最近使用的时间，
+ * 之前运行时留下的缓存也会被淘汰；不会处理子目录和写入中的临时文件。
+ * <p>
+ * 通过 {@link #compute(File, Loader, DownloadContext)} 获得的缓存文件在下载结束之前视为正在使用，
+ * 正在使用的缓存不会被淘汰（即使单个缓存就超过了 {@link #maxSize}），
+ * 在下载完成或失败时释放并重新执行淘汰。
+ */
+public class CompressionCacheManager implements DownloadLifecycleListener {
+
+    /**
+     * 缓存的最大总字节数，小于等于 0 不限制
+     */
+    @Getter
+    @Setter
+    private long maxSize;
+
+    /**
+     * 缓存最长多久没有使用会被淘汰，毫秒，小于等于 0 不限制
+     */
+    @Getter
+    @Setter
+    private long maxAge;
+
+    private final Map<String, CompletableFuture<File>> computing = new ConcurrentHashMap<>();
+
+    /**
+     * 按照访问顺序排列，最久没有使用的在最前面
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 已经扫描过的缓存目录
+     */
+    private final Set<String> scanned = new HashSet<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder waitCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final LongAdder evictionSize = new LongAdder();
+
+    /**
+     * 获得缓存文件，缓存不存在时通过 {@link Loader} 写入。
+     * 如果同一个缓存文件正在写入，则等待写入完成。
+     * 返回的缓存文件在 {@link DownloadContext} 结束之前不会被淘汰。
+     *
+     * @param cache   缓存文件
+     * @param loader  缓存不存在时写入缓存，只有实际写入时才会调用
+     * @param context {@link DownloadContext}
+     * @return 缓存文件
+     */
+    public File compute(File cache, Loader loader, DownloadContext context) throws IOException {
+        String key = cache.getAbsolutePath();
+        while (true) {
+            if (acquire(key, cache, context)) {
+                hitCount.increment();
+                return cache;
+            }
+            CompletableFuture<File> future = new CompletableFuture<>();
+            CompletableFuture<File> existing = computing.putIfAbsent(key, future);
+            if (existing != null) {
+                waitCount.increment();
+                await(existing);
+                //写入完成后重新获取，期间可能已经被淘汰
+                continue;
+            }
+            try {
+                //可能在检查之后刚刚写入完成
+                if (acquire(key, cache, context)) {
+                    hitCount.increment();
+                } else {
+                    missCount.increment();
+                    write(cache, loader);
+                    acquire(key, cache, context);
+                }
+                future.complete(cache);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                computing.remove(key, future);
+            }
+            evict();
+            return cache;
+        }
+    }
+
+    /**
+     * 登记流式压缩同时写入缓存，同一个缓存文件同时只会写入一次，
+     * 之后通过 {@link #compute(File, Loader, DownloadContext)} 获得该缓存的请求会等待写入结束。
+     * 缓存写入完成时调用 {@link #endStreaming(File, DownloadContext)}，
+     * 没有调用时在下载完成或失败时结束。
+     *
+     * @param cache   缓存文件
+     * @param context {@link DownloadContext}
+     * @return 缓存文件正在被其他请求写入时返回 false
+     */
+    public boolean beginStreaming(File cache, DownloadContext context) {
+        String key = cache.getAbsolutePath();
+        CompletableFuture<File> future = new CompletableFuture<>();
+        if (computing.putIfAbsent(key, future) != null) {
+            return false;
+        }
+        missCount.increment();
+        Map<String, CompletableFuture<File>> streaming = context.get(Streaming.class);
+        if (streaming == null) {
+            streaming = new ConcurrentHashMap<>();
+            context.set(Streaming.class, streaming);
+        }
+        streaming.put(key, future);
+        return true;
+    }
+
+    /**
+     * 结束流式压缩的缓存写入，等待的请求重新获取缓存，
+     * 缓存没有写入完成时由其中一个请求重新压缩。
+     *
+     * @param cache   缓存文件
+     * @param context {@link DownloadContext}
+     */
+    public void endStreaming(File cache, DownloadContext context) {
+        Map<String, CompletableFuture<File>> streaming = context.get(Streaming.class);
+        if (streaming == null) {
+            return;
+        }
+        String key = cache.getAbsolutePath();
+        CompletableFuture<File> future = streaming.remove(key);
+        if (future != null) {
+            computing.remove(key, future);
+            future.complete(cache);
+        }
+    }
+
+    /**
+     * 缓存文件是否正在写入。
+     *
+     * @param cache 缓存文件
+     * @return 如果正在写入则返回 true
+     */
+    public boolean isComputing(File cache) {
+        return computing.containsKey(cache.getAbsolutePath());
+    }
+
+    /**
+     * 记录一个已经写入完成的缓存文件，如流式压缩同时写入的缓存。
+     * 已经记录过的缓存只更新大小和最近使用的时间。
+     *
+     * @param cache 缓存文件
+     */
+    public void record(File cache) {
+        synchronized (entries) {
+            touch(cache.getAbsolutePath(), cache);
+        }
+    }
+
+    /**
+     * 淘汰超时的缓存，然后按照最近使用的时间淘汰缓存直到总大小不超过 {@link #maxSize}。
+     * 正在使用的缓存不会被淘汰，但是会计入总大小。
+     */
+    public void evict() {
+        if (maxSize <= 0 && maxAge <= 0) {
+            return;
+        }
+        List<Entry> evicted = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            long total = 0;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (!entry.file.exists()) {
+                    iterator.remove();
+                } else if (entry.using == 0 && maxAge > 0 && now - entry.lastAccess > maxAge) {
+                    iterator.remove();
+                    evicted.add(entry);
+                } else {
+                    total += entry.size;
+                }
+            }
+            if (maxSize > 0) {
+                iterator = entries.values().iterator();
+                while (total > maxSize && iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (entry.using > 0) {
+                        continue;
+                    }
+                    iterator.remove();
+                    evicted.add(entry);
+                    total -= entry.size;
+                }
+            }
+            //在锁内删除，避免删除的同时被其他请求重新获取
+            for (Entry entry : evicted) {
+                if (entry.file.delete()) {
+                    evictionCount.increment();
+                    evictionSize.add(entry.size);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获得记录的缓存总字节数。
+     *
+     * @return 缓存总字节数
+     */
+    public long getSize() {
+        synchronized (entries) {
+            long total = 0;
+            for (Entry entry : entries.values()) {
+                total += entry.size;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * 直接使用缓存的次数，包括等待其他请求写入完成的次数。
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 需要写入缓存的次数。
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 等待其他请求写入缓存的次数。
+     *
+     * @return 等待次数
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    /**
+     * 淘汰的缓存数量。
+     *
+     * @return 淘汰的缓存数量
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 淘汰的缓存总字节数。
+     *
+     * @return 淘汰的缓存总字节数
+     */
+    public long getEvictionSize() {
+        return evictionSize.sum();
+    }
+
+    /**
+     * 将 {@link CompressionCacheManager} 设置到 {@link DownloadContext} 中。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onStart(DownloadContext context) {
+        context.set(CompressionCacheManager.class, this);
+    }
+
+    /**
+     * 释放该次下载使用的缓存并执行淘汰。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onComplete(DownloadContext context) {
+        release(context);
+    }
+
+    /**
+     * 释放该次下载使用的缓存并执行淘汰。
+     *
+     * @param e       异常
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onError(Throwable e, DownloadContext context) {
+        release(context);
+    }
+
+    /**
+     * 标记缓存正在被该次下载使用。
+     *
+     * @return 缓存文件不存在时返回 false
+     */
+    private boolean acquire(String key, File cache, DownloadContext context) {
+        Entry entry;
+        synchronized (entries) {
+            if (!cache.exists()) {
+                return false;
+            }
+            entry = touch(key, cache);
+            entry.using++;
+        }
+        List<Entry> using = context.get(Using.class);
+        if (using == null) {
+            using = new ArrayList<>();
+            context.set(Using.class, using);
+        }
+        using.add(entry);
+        return true;
+    }
+
+    /**
+     * 记录缓存文件，已经存在则更新大小和最近使用的时间，保留正在使用的数量。
+     * 需要在 {@link #entries} 的锁内调用。
+     */
+    private Entry touch(String key, File cache) {
+        scan(cache.getAbsoluteFile().getParentFile());
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(cache, cache.length(), now);
+            entries.put(key, entry);
+        } else {
+            entry.size = cache.length();
+            entry.lastAccess = now;
+        }
+        return entry;
+    }
+
+    /**
+     * 第一次使用缓存目录时记录其中已有的缓存文件，
+     * 按照修改时间从早到晚添加，跳过子目录和写入中的临时文件。
+     * 需要在 {@link #entries} 的锁内调用。
+     */
+    private void scan(File dir) {
+        if (dir == null || !scanned.add(dir.getAbsolutePath())) {
+            return;
+        }
+        File[] files = dir.listFiles(file -> file.isFile() && !file.getName().endsWith(".tmp"));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String key = file.getAbsolutePath();
+            if (!entries.containsKey(key)) {
+                entries.put(key, new Entry(file, file.length(), file.lastModified()));
+            }
+        }
+    }
+
+    private void release(DownloadContext context) {
+        Map<String, CompletableFuture<File>> streaming = context.get(Streaming.class);
+        if (streaming != null) {
+            context.remove(Streaming.class);
+            streaming.forEach((key, future) -> {
+                computing.remove(key, future);
+                future.complete(null);
+            });
+        }
+        List<Entry> using = context.get(Using.class);
+        if (using == null) {
+            return;
+        }
+        context.remove(Using.class);
+        synchronized (entries) {
+            for (Entry entry : using) {
+                entry.using--;
+            }
+        }
+        evict();
+    }
+
+    private File await(CompletableFuture<File> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for compression cache");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void write(File cache, Loader loader) throws IOException {
+        File parent = cache.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            boolean mkdirs = parent.mkdirs();
+        }
+        File temp = new File(parent, cache.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (FileOutputStream fos = new FileOutputStream(temp)) {
+                loader.load(fos);
+            }
+            try {
+                Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Throwable e) {
+            if (temp.exists()) {
+                boolean delete = temp.delete();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 写入缓存。
+     */
+    public interface Loader {
+
+        /**
+         * 将数据写入缓存，可以关闭输出流。
+         *
+         * @param os 缓存的输出流
+         */
+        void load(OutputStream os) throws IOException;
+    }
+
+    /**
+     * 在 {@link DownloadContext} 中保存该次下载正在使用的缓存
+     */
+    private interface Using {
+    }
+
+    /**
+     * 在 {@link DownloadContext} 中保存该次下载正在流式写入的缓存
+     */
+    private interface Streaming {
+    }
+
+    private static class Entry {
+
+        private final File file;
+
+        private long size;
+
+        private long lastAccess;
+
+        /**
+         * 正在使用的下载数量
+         */
+        private int using;
+
+        Entry(File file, long size, long lastAccess) {
+            this.file = file;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
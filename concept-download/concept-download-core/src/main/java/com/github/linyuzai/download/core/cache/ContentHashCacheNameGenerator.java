@@ -0,0 +1,166 @@
+package com.github.linyuzai.download.core.cache;
+
+import com.github.linyuzai.download.core.compress.CompressFormat;
+import com.github.linyuzai.download.core.compress.Compression;
+import com.github.linyuzai.download.core.concept.Part;
+import com.github.linyuzai.download.core.concept.Resource;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.exception.DownloadException;
+import com.github.linyuzai.download.core.load.SourceLoadingTasks;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.file.FilePart;
+import com.github.linyuzai.download.core.source.file.FileSource;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 基于内容摘要的 {@link CacheNameGenerator}。
+ * <p>
+ * 对每个 {@link Part} 的路径和长度，文件的最后修改时间以及压缩密码计算摘要作为名称，
+ * 保留原名称的后缀，内容不变时名称不变，文件修改后名称也会改变，不会使用过期的缓存。
+ * 如果 {@link Part} 还在并发加载，会等待其加载完成后再计算。
+ * 开启 {@link #digestContent} 后会读取文件内容计算摘要，更准确但需要额外读取一遍文件。
+ */
+@Getter
+@Setter
+public class ContentHashCacheNameGenerator implements CacheNameGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * 摘要算法
+     */
+    private String algorithm = "SHA-256";
+
+    /**
+     * 是否读取文件内容计算摘要
+     */
+    private boolean digestContent;
+
+    /**
+     * 生成摘要加原名称后缀的名称。
+     *
+     * @param resource {@link Source} / {@link Compression}
+     * @param context  {@link DownloadContext}
+     * @return 摘要的十六进制字符串加原名称的后缀
+     */
+    @Override
+    public String generate(Resource resource, DownloadContext context) {
+        MessageDigest digest = newDigest();
+        for (Part part : resource.getParts()) {
+            //需要加载完成后的长度，正在加载的就是当前资源时不等待
+            if (part != resource) {
+                await(part, context);
+            }
+            update(digest, part.getPath());
+            update(digest, String.valueOf(part.getLength()));
+            File file = getFile(part);
+            if (file != null) {
+                update(digest, String.valueOf(getLastModified(part, file)));
+                if (digestContent && file.isFile()) {
+                    updateContent(digest, file);
+                }
+            }
+        }
+        DownloadOptions options = DownloadOptions.get(context);
+        if (options != null) {
+            update(digest, options.getCompressPassword());
+        }
+        return hex(digest.digest()) + getSuffix(resource.getName());
+    }
+
+    private static void await(Part part, DownloadContext context) {
+        try {
+            SourceLoadingTasks.await(part, context);
+        } catch (IOException e) {
+            throw new DownloadException(e);
+        }
+    }
+
+    protected MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new DownloadException(e);
+        }
+    }
+
+    /**
+     * 获得 {@link Part} 对应的本地文件，非本地文件返回 null。
+     *
+     * @param part {@link Part}
+     * @return 本地文件或 null
+     */
+    protected File getFile(Part part) {
+        if (part instanceof FileSource) {
+            return ((FileSource) part).getFile();
+        } else if (part instanceof FilePart) {
+            return ((FilePart) part).getFile();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * 获得修改时间，优先使用快照中的修改时间。
+     *
+     * @param part {@link Part}
+     * @param file 本地文件
+     * @return 修改时间
+     */
+    protected long getLastModified(Part part, File file) {
+        if (part instanceof FileSource) {
+            return ((FileSource) part).getLastModified();
+        } else if (part instanceof FilePart) {
+            return ((FilePart) part).getLastModified();
+        } else {
+            return file.lastModified();
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        //分隔符，避免相邻的值拼接后相同
+        digest.update((byte) 0);
+    }
+
+    private static void updateContent(MessageDigest digest, File file) {
+        byte[] buffer = new byte[16 * 1024];
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, len);
+            }
+        } catch (IOException e) {
+            throw new DownloadException(e);
+        }
+    }
+
+    private static String getSuffix(String name) {
+        if (name == null) {
+            return "";
+        }
+        int index = name.lastIndexOf(CompressFormat.DOT);
+        return index == -1 ? "" : name.substring(index);
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
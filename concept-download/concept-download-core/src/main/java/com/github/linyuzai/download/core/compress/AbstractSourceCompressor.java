@@ -1,10 +1,13 @@
 package com.github.linyuzai.download.core.compress;
 
 import com.github.linyuzai.download.core.cache.CacheNameGenerator;
+import com.github.linyuzai.download.core.cache.CompressionCacheManager;
+import com.github.linyuzai.download.core.concept.DownloadMode;
 import com.github.linyuzai.download.core.concept.Part;
 import com.github.linyuzai.download.core.context.DownloadContext;
 import com.github.linyuzai.download.core.event.DownloadEventPublisher;
 import com.github.linyuzai.download.core.exception.DownloadException;
+import com.github.linyuzai.download.core.load.SourceLoadingTasks;
 import com.github.linyuzai.download.core.options.DownloadOptions;
 import com.github.linyuzai.download.core.source.Source;
 import com.github.linyuzai.download.core.write.DownloadWriter;
@@ -12,6 +15,7 @@ import com.github.linyuzai.download.core.write.Progress;
 
 import java.io.*;
 import java.util.Collection;
+import java.util.zip.Deflater;
 
 /**
  * {@link SourceCompressor} 的抽象类，对缓存做了处理。
@@ -47,6 +51,11 @@ public abstract class AbstractSourceCompressor<OS extends OutputStream> implemen
      * 如果没有启用缓存，使用内存压缩；
      * 如果启用缓存并且缓存存在，直接使用缓存；
      * 如果启用缓存并且缓存不存在，压缩到本地缓存文件。
+     * 如果启用了流式压缩并且没有可用的缓存，使用 {@link StreamingCompression} 边压缩边写入响应，
+     * 启用缓存时同时写入缓存文件。
+     * 如果存在 {@link CompressionCacheManager}，同一个缓存文件只会同时压缩一次，
+     * 流式压缩同时写入缓存时也会登记到 {@link CompressionCacheManager}，
+     * 缓存文件正在被其他请求压缩或流式写入时，等待完成后使用缓存。
      *
      * @param source  {@link Source}
      * @param format  压缩格式
@@ -74,34 +83,49 @@ public abstract class AbstractSourceCompressor<OS extends OutputStream> implemen
                 boolean mkdirs = parent.mkdirs();
             }
 
+            CompressionCacheManager manager = context.get(CompressionCacheManager.class);
             //缓存是否存在
             if (cache.exists()) {
-                publisher.publish(new SourceCompressedUsingCacheEvent(context, source, cache.getAbsolutePath()));
-            } else {
+                if (manager == null) {
+                    publisher.publish(new SourceCompressedUsingCacheEvent(context, source, cache.getAbsolutePath()));
+                } else {
+                    compressWithManager(source, writer, cache, manager, context);
+                }
+            } else if (isStreaming(context) && (manager == null || manager.beginStreaming(cache, context))) {
+                StreamingCompression streaming = streaming(source, cacheName, format, writer, cache, context);
+                if (manager != null) {
+                    streaming.setCachedCallback(file -> {
+                        manager.record(file);
+                        manager.endStreaming(file, context);
+                        manager.evict();
+                    });
+                }
+                return streaming;
+            } else if (manager == null) {
                 publisher.publish(new SourceFileCompressionEvent(context, source, cache));
                 //写入缓存文件
-                try (FileOutputStream fos = new FileOutputStream(cache);
-                     OutputStream wrapper = wrapper(fos)) {
-                    doCompress(source, wrapper, writer, context);
+                try (FileOutputStream fos = new FileOutputStream(cache)) {
+                    compressTo(source, fos, writer, context);
                 } catch (Throwable e) {
                     if (cache.exists()) {
                         boolean delete = cache.delete();
                     }
                     throw e;
                 }
+            } else {
+                compressWithManager(source, writer, cache, manager, context);
             }
             FileCompression compression = new FileCompression(cache);
             compression.setContentType(getContentType(format));
             return compression;
+        } else if (isStreaming(context)) {
+            return streaming(source, cacheName, format, writer, null, context);
         } else {
             //在内存中压缩
             publisher.publish(new SourceMemoryCompressionEvent(context, source));
-            MemoryCompression compression;
-            try (ByteArrayOutputStream os = new ByteArrayOutputStream();
-                 OutputStream wrapper = wrapper(os)) {
-                doCompress(source, wrapper, writer, context);
-                compression = new MemoryCompression(os.toByteArray());
-            }
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            compressTo(source, os, writer, context);
+            MemoryCompression compression = new MemoryCompression(os.toByteArray());
             compression.setName(cacheName);
             compression.setContentType(getContentType(format));
             return compression;
@@ -109,24 +133,140 @@ public abstract class AbstractSourceCompressor<OS extends OutputStream> implemen
     }
 
     /**
-     * 执行压缩。
+     * 通过 {@link CompressionCacheManager} 压缩到缓存文件，
+     * 同一个缓存文件正在被其他请求压缩时等待压缩完成，
+     * 先压缩到临时文件，完成后再重命名为缓存文件。
+     *
+     * @param source  {@link Source}
+     * @param writer  {@link DownloadWriter}
+     * @param cache   缓存文件
+     * @param manager {@link CompressionCacheManager}
+     * @param context {@link DownloadContext}
+     */
+    public void compressWithManager(Source source, DownloadWriter writer, File cache,
+                                    CompressionCacheManager manager, DownloadContext context) throws IOException {
+        DownloadEventPublisher publisher = DownloadEventPublisher.get(context);
+        boolean[] compressed = new boolean[1];
+        manager.compute(cache, os -> {
+            compressed[0] = true;
+            publisher.publish(new SourceFileCompressionEvent(context, source, cache));
+            compressTo(source, os, writer, context);
+        }, context);
+        if (!compressed[0]) {
+            publisher.publish(new SourceCompressedUsingCacheEvent(context, source, cache.getAbsolutePath()));
+        }
+    }
+
+    /**
+     * 是否使用流式压缩，只支持同步下载。
+     *
+     * @param context {@link DownloadContext}
+     * @return 如果使用流式压缩则返回 true
+     */
+    public boolean isStreaming(DownloadContext context) {
+        DownloadOptions options = DownloadOptions.get(context);
+        return options.isCompressStreaming() && DownloadMode.getMode(context) == DownloadMode.SYNC;
+    }
+
+    /**
+     * 创建 {@link StreamingCompression}，写入响应时才执行压缩。
+     *
+     * @param source  {@link Source}
+     * @param name    压缩文件名称
+     * @param format  压缩格式
+     * @param writer  {@link DownloadWriter}
+     * @param cache   同时写入的缓存文件，可能为 null
+     * @param context {@link DownloadContext}
+     * @return {@link StreamingCompression}
+     */
+    public StreamingCompression streaming(Source source, String name, String format, DownloadWriter writer,
+                                          File cache, DownloadContext context) {
+        DownloadEventPublisher publisher = DownloadEventPublisher.get(context);
+        publisher.publish(new SourceStreamingCompressionEvent(context, source, cache));
+        StreamingCompression compression = new StreamingCompression(os ->
+                compressTo(source, os, writer, context), cache);
+        compression.setName(name);
+        compression.setContentType(getContentType(format));
+        return compression;
+    }
+
+    /**
+     * 通过 {@link #wrapper(OutputStream, DownloadContext)} 包装后执行压缩，结束后关闭输出流，
+     * 发布 {@link SourceCompressionStatisticsEvent} 事件。
+     *
+     * @param source  {@link Source}
+     * @param os      {@link OutputStream}
+     * @param writer  {@link DownloadWriter}
+     * @param context {@link DownloadContext}
+     */
+    public void compressTo(Source source, OutputStream os, DownloadWriter writer, DownloadContext context) throws IOException {
+        CompressionStatistics statistics = new CompressionStatistics();
+        CountingOutputStream counting = new CountingOutputStream(os);
+        long start = System.nanoTime();
+        try (OutputStream wrapper = wrapper(counting, context)) {
+            doCompress(source, wrapper, writer, statistics, context);
+        }
+        statistics.setOutputBytes(counting.count);
+        statistics.setTime(System.nanoTime() - start);
+        DownloadEventPublisher.get(context).publish(new SourceCompressionStatisticsEvent(context, source, statistics));
+    }
+
+    /**
+     * 执行压缩，如果 {@link Source} 还在并发加载，则在写入每个 {@link Part} 之前等待其加载完成。
      *
      * @param source {@link Source}
      * @param os     {@link OutputStream}
      * @param writer {@link DownloadWriter}
      */
     public void doCompress(Source source, OutputStream os, DownloadWriter writer, DownloadContext context) throws IOException {
+        doCompress(source, os, writer, new CompressionStatistics(), context);
+    }
+
+    /**
+     * 执行压缩，如果 {@link Source} 还在并发加载，则在写入每个 {@link Part} 之前等待其加载完成。
+     * 支持按条目设置压缩级别时，通过 {@link CompressionPolicy} 判断是否只存储，
+     * 其他条目使用 {@link DownloadOptions#getCompressLevel()}。
+     *
+     * @param source     {@link Source}
+     * @param os         {@link OutputStream}
+     * @param writer     {@link DownloadWriter}
+     * @param statistics {@link CompressionStatistics}
+     */
+    public void doCompress(Source source, OutputStream os, DownloadWriter writer,
+                           CompressionStatistics statistics, DownloadContext context) throws IOException {
         DownloadEventPublisher publisher = DownloadEventPublisher.get(context);
         DownloadOptions options = DownloadOptions.get(context);
         String format = options.getCompressFormat();
         publisher.publish(new SourceCompressionFormatEvent(context, source, format));
+        CompressionPolicy policy = supportEntryLevel() ? context.get(CompressionPolicy.class) : null;
+        int level = options.getCompressLevel();
         try (OS nos = newOutputStream(os, source, format, context)) {
             Progress progress = new Progress(source.getLength());
             Collection<Part> parts = source.getParts();
             for (Part part : parts) {
+                //并发加载时只等待当前的部分加载完成
+                SourceLoadingTasks.await(part, context);
                 InputStream is = part.getInputStream();
-                beforeWrite(part, nos, context);
+                boolean stored = false;
+                if (policy != null && is != null) {
+                    int sampleSize = policy.getSampleSize(part, context);
+                    if (sampleSize > 0) {
+                        //读取开头的数据后放回
+                        PushbackInputStream pis = new PushbackInputStream(is, sampleSize);
+                        byte[] sample = new byte[sampleSize];
+                        int length = readSample(pis, sample);
+                        pis.unread(sample, 0, length);
+                        is = pis;
+                        stored = policy.isStored(part, sample, length, context);
+                    } else {
+                        stored = policy.isStored(part, null, 0, context);
+                    }
+                }
+                boolean partStored = stored;
+                statistics.addEntry(partStored);
+                beforeWrite(part, nos, partStored ? Deflater.NO_COMPRESSION : level, context);
                 writer.write(is, nos, null, part.getCharset(), part.getLength(), (current, increase) -> {
+                    statistics.addInputBytes(increase, partStored);
                     progress.update(increase);
                     publisher.publish(new SourceCompressingProgressEvent(context, progress.freeze()));
                 });
@@ -135,6 +275,29 @@ public abstract class AbstractSourceCompressor<OS extends OutputStream> implemen
         }
     }
 
+    private static int readSample(InputStream is, byte[] sample) throws IOException {
+        int length = 0;
+        while (length < sample.length) {
+            int read = is.read(sample, length, sample.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * 包装输出流，如 tar.gz 的 gzip 流。
+     *
+     * @param os      输出流
+     * @param context {@link DownloadContext}
+     * @return 包装后的输出流
+     */
+    protected OutputStream wrapper(OutputStream os, DownloadContext context) throws IOException {
+        return wrapper(os);
+    }
+
     protected OutputStream wrapper(OutputStream os) throws IOException {
         return os;
     }
@@ -162,6 +325,27 @@ public abstract class AbstractSourceCompressor<OS extends OutputStream> implemen
      */
     public abstract void beforeWrite(Part part, OS os, DownloadContext context) throws IOException;
 
+    /**
+     * 写入之前调用，指定条目的压缩级别。
+     * 默认忽略压缩级别，支持按条目设置压缩级别时需要重写并重写 {@link #supportEntryLevel()}。
+     *
+     * @param part  {@link Part}
+     * @param os    {@link OS}
+     * @param level 压缩级别，{@link Deflater#NO_COMPRESSION} 为只存储，{@link Deflater#DEFAULT_COMPRESSION} 为默认级别
+     */
+    public void beforeWrite(Part part, OS os, int level, DownloadContext context) throws IOException {
+        beforeWrite(part, os, context);
+    }
+
+    /**
+     * 是否支持按条目设置压缩级别，支持时才会使用 {@link CompressionPolicy}。
+     *
+     * @return 如果支持则返回 true
+     */
+    public boolean supportEntryLevel() {
+        return false;
+    }
+
     /**
      * 写入之后调用。
      *
@@ -216,4 +400,28 @@ public abstract class AbstractSourceCompressor<OS extends OutputStream> implemen
      * @return Content-Type
      */
     public abstract String getContentType(String format);
+
+    /**
+     * 记录写入的字节数。
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package com.github.linyuzai.download.core.compress;
+
+import com.github.linyuzai.download.core.concept.Part;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 自适应的压缩策略。
+ * <p>
+ * 图片，音视频和压缩包等已经压缩过的数据再压缩基本没有效果，只会浪费 CPU。
+ * 先通过扩展名和 Content-Type 判断，无法判断时计算开头数据的香农熵，
+ * 接近每字节 8 位时说明数据已经压缩或加密过，只存储而不压缩。
+ */
+@Getter
+@Setter
+public class AdaptiveCompressionPolicy implements CompressionPolicy, DownloadLifecycleListener {
+
+    public static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+    public static final double DEFAULT_ENTROPY_THRESHOLD = 7.5;
+
+    /**
+     * 只存储的扩展名，小写，不包括点
+     */
+    private Set<String> storedExtensions = new HashSet<>(Arrays.asList(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "avif",
+            "mp3", "aac", "m4a", "ogg", "opus", "flac",
+            "mp4", "m4v", "mkv", "webm", "mov", "avi", "wmv", "flv",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "zst", "lz4",
+            "jar", "war", "apk", "docx", "xlsx", "pptx", "epub"));
+
+    /**
+     * 只存储的 Content-Type，以 /* 结尾时匹配主类型
+     */
+    private Set<String> storedContentTypes = new HashSet<>(Arrays.asList(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "video/*",
+            "audio/mpeg", "audio/aac", "audio/ogg", "audio/flac",
+            "application/zip", "application/gzip", "application/x-gzip",
+            "application/x-zip-compressed", "application/x-7z-compressed",
+            "application/x-rar-compressed", "application/x-bzip2", "application/x-xz",
+            "application/java-archive"));
+
+    /**
+     * 采样的字节数，小于等于 0 时不采样
+     */
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+    /**
+     * 采样数据每字节的熵超过该值时只存储
+     */
+    private double entropyThreshold = DEFAULT_ENTROPY_THRESHOLD;
+
+    @Override
+    public int getSampleSize(Part part, DownloadContext context) {
+        Long length = part.getLength();
+        if (length != null && length == 0 || isStoredType(part)) {
+            return 0;
+        }
+        return Math.max(sampleSize, 0);
+    }
+
+    @Override
+    public boolean isStored(Part part, byte[] sample, int length, DownloadContext context) {
+        if (isStoredType(part)) {
+            return true;
+        }
+        //数据太少时熵的误差较大
+        return sample != null && length >= 256 && entropy(sample, length) >= entropyThreshold;
+    }
+
+    /**
+     * 通过扩展名和 Content-Type 判断是否只存储。
+     *
+     * @param part {@link Part}
+     * @return 如果只存储则返回 true
+     */
+    public boolean isStoredType(Part part) {
+        String name = part.getName();
+        if (name != null) {
+            int index = name.lastIndexOf(CompressFormat.DOT);
+            if (index >= 0 && storedExtensions.contains(name.substring(index + 1).toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        String contentType = part.getContentType();
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            int parameter = type.indexOf(';');
+            if (parameter >= 0) {
+                type = type.substring(0, parameter);
+            }
+            type = type.trim();
+            int slash = type.indexOf('/');
+            return storedContentTypes.contains(type) ||
+                    slash > 0 && storedContentTypes.contains(type.substring(0, slash) + "/*");
+        }
+        return false;
+    }
+
+    /**
+     * 计算每字节的香农熵。
+     *
+     * @param bytes  数据
+     * @param length 字节数
+     * @return 0 到 8 之间的熵
+     */
+    public static double entropy(byte[] bytes, int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        int[] counts = new int[256];
+        for (int i = 0; i < length; i++) {
+            counts[bytes[i] & 0xff]++;
+        }
+        double entropy = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                double p = (double) count / length;
+                entropy -= p * Math.log(p);
+            }
+        }
+        return entropy / Math.log(2);
+    }
+
+    /**
+     * 设置到 {@link DownloadContext} 中。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onStart(DownloadContext context) {
+        context.set(CompressionPolicy.class, this);
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.linyuzai.download.core.compress;
+
+import com.github.linyuzai.download.core.concept.Part;
+import com.github.linyuzai.download.core.context.DownloadContext;
+
+/**
+ * 压缩策略，决定 {@link Part} 是否只存储而不压缩。
+ * <p>
+ * 开始下载时设置到 {@link DownloadContext} 中，
+ * 不存在时所有的 {@link Part} 都使用 {@link AbstractSourceCompressor} 的压缩级别。
+ *
+ * @see AdaptiveCompressionPolicy
+ */
+public interface CompressionPolicy {
+
+    /**
+     * 获得判断时需要的采样字节数，
+     * 通过名称和类型就可以判断时返回 0，不读取数据。
+     *
+     * @param part    {@link Part}
+     * @param context {@link DownloadContext}
+     * @return 采样字节数
+     */
+    int getSampleSize(Part part, DownloadContext context);
+
+    /**
+     * 是否只存储而不压缩。
+     *
+     * @param part    {@link Part}
+     * @param sample  开头的数据，不需要采样时为 null
+     * @param length  采样的字节数
+     * @param context {@link DownloadContext}
+     * @return 如果只存储则返回 true
+     */
+    boolean isStored(Part part, byte[] sample, int length, DownloadContext context);
+}
@@ -0,0 +1,73 @@
+package com.github.linyuzai.download.core.compress;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 一次压缩的统计，用于对比节省的字节数和花费的时间。
+ */
+@Getter
+@ToString
+public class CompressionStatistics {
+
+    /**
+     * 条目数量
+     */
+    private int entries;
+
+    /**
+     * 只存储的条目数量
+     */
+    private int storedEntries;
+
+    /**
+     * 压缩前的字节数
+     */
+    private long inputBytes;
+
+    /**
+     * 只存储的字节数
+     */
+    private long storedBytes;
+
+    /**
+     * 压缩后的字节数
+     */
+    private long outputBytes;
+
+    /**
+     * 压缩耗时，纳秒
+     */
+    private long time;
+
+    /**
+     * 获得节省的字节数。
+     *
+     * @return 节省的字节数
+     */
+    public long getSavedBytes() {
+        return inputBytes - outputBytes;
+    }
+
+    public void addEntry(boolean stored) {
+        entries++;
+        if (stored) {
+            storedEntries++;
+        }
+    }
+
+    public void addInputBytes(long bytes, boolean stored) {
+        inputBytes += bytes;
+        if (stored) {
+            storedBytes += bytes;
+        }
+    }
+
+    public void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+    }
+}
@@ -1,15 +1,14 @@
 package com.github.linyuzai.download.core.compress;
 
+import com.github.linyuzai.download.core.source.file.FileChannelInputStream;
 import com.github.linyuzai.download.core.web.ContentType;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 
 /**
  * 文件压缩。
@@ -25,13 +24,13 @@ public class FileCompression extends AbstractCompression {
     protected final File file;
 
     /**
-     * 获得一个 {@link FileInputStream}。
+     * 获得一个 {@link FileChannelInputStream}。
      *
-     * @return {@link FileInputStream}
+     * @return {@link FileChannelInputStream}
      */
     @Override
     public InputStream openInputStream() throws IOException {
-        return Files.newInputStream(file.toPath());
+        return FileChannelInputStream.open(file);
     }
 
     /**
@@ -0,0 +1,373 @@
+package com.github.linyuzai.download.core.compress;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+
+/**
+ * 并行压缩的输出流。
+ * <p>
+ * 写入的数据按照固定大小分块，每块提交到有界的线程池中并行压缩，
+ * 压缩结果按照提交的顺序写入被包装的输出流。
+ * 未写出的数据块超过 {@link #maxPendingBlocks} 时写入线程会等待最早的数据块压缩完成，
+ * 所以内存占用不超过 {@link #blockSize} * {@link #maxPendingBlocks} 的数倍。
+ * <p>
+ * 非线程安全，只能在一个线程中写入。
+ */
+public abstract class ParallelCompressionOutputStream extends OutputStream {
+
+    /**
+     * 默认数据块大小 1M
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * 默认最多未写出的数据块数量，CPU 核数的 2 倍
+     */
+    public static final int DEFAULT_MAX_PENDING_BLOCKS = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static volatile ExecutorService defaultExecutor;
+
+    /**
+     * 被包装的输出流
+     */
+    @Getter
+    protected final OutputStream out;
+
+    /**
+     * 执行压缩的线程池
+     */
+    @Getter
+    protected final Executor executor;
+
+    /**
+     * 数据块大小
+     */
+    @Getter
+    protected final int blockSize;
+
+    /**
+     * 最多未写出的数据块数量
+     */
+    @Getter
+    protected final int maxPendingBlocks;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private final byte[] buffer;
+
+    private int count;
+
+    private int pendingBlocks;
+
+    /**
+     * 已经写入被包装的输出流的字节数
+     */
+    @Getter
+    private long written;
+
+    private boolean finished;
+
+    private boolean closed;
+
+    protected ParallelCompressionOutputStream(@NonNull OutputStream out, @NonNull Executor executor,
+                                              int blockSize, int maxPendingBlocks) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be greater than 0");
+        }
+        this.out = out;
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = Math.max(1, maxPendingBlocks);
+        this.buffer = new byte[blockSize];
+    }
+
+    /**
+     * 获得默认的线程池，线程数为 CPU 核数。
+     *
+     * @return 默认的线程池
+     */
+    public static Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (ParallelCompressionOutputStream.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = newExecutor(Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * 新建一个固定线程数的线程池，线程空闲时会被回收。
+     *
+     * @param threads 线程数
+     * @return 线程池
+     */
+    public static ExecutorService newExecutor(int threads) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "download-compress-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize) {
+                flushBlock(false);
+            }
+        }
+    }
+
+    /**
+     * 将缓冲的数据作为一个数据块提交。
+     *
+     * @param last 是否为最后一块，为 true 时即使没有数据也会提交
+     */
+    protected void flushBlock(boolean last) throws IOException {
+        if (count == 0 && !last) {
+            return;
+        }
+        byte[] block = Arrays.copyOf(buffer, count);
+        count = 0;
+        submitBlock(block, last);
+    }
+
+    /**
+     * 提交数据块，一般通过 {@link #submit(Callable, Consumer)} 提交压缩任务。
+     *
+     * @param block 数据块
+     * @param last  是否为最后一块
+     */
+    protected abstract void submitBlock(byte[] block, boolean last) throws IOException;
+
+    /**
+     * 结束时调用，写入剩余的数据块和结尾的数据。
+     */
+    protected abstract void onFinish() throws IOException;
+
+    /**
+     * 提交一个压缩任务，结果按照提交的顺序写出。
+     *
+     * @param task     压缩任务
+     * @param callback 写出之前的回调，可以为 null
+     */
+    protected void submit(Callable<byte[]> task, Consumer<byte[]> callback) throws IOException {
+        FutureTask<byte[]> future = new FutureTask<>(task);
+        executor.execute(future);
+        segments.addLast(new TaskSegment(future, callback));
+        pendingBlocks++;
+        drain(false);
+    }
+
+    /**
+     * 添加一段在写出时才生成的数据，如依赖偏移量的头信息。
+     *
+     * @param supplier 生成数据
+     */
+    protected void append(Callable<byte[]> supplier) throws IOException {
+        segments.addLast(new Segment(supplier));
+        drain(false);
+    }
+
+    /**
+     * 写出已经完成的数据，未写出的数据块超过上限时等待。
+     *
+     * @param all 是否等待并写出所有的数据
+     */
+    private void drain(boolean all) throws IOException {
+        Segment segment;
+        while ((segment = segments.peekFirst()) != null) {
+            if (!all && !segment.isDone() && pendingBlocks <= maxPendingBlocks) {
+                break;
+            }
+            segments.pollFirst();
+            byte[] bytes = segment.get();
+            out.write(bytes);
+            written += bytes.length;
+        }
+    }
+
+    /**
+     * 写出已经压缩完成的数据，不会压缩未满的数据块。
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain(false);
+        out.flush();
+    }
+
+    /**
+     * 完成压缩但不关闭被包装的输出流。
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if (finished) {
+            return;
+        }
+        finished = true;
+        onFinish();
+        drain(true);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            finish();
+        } finally {
+            closed = true;
+            for (Segment segment : segments) {
+                segment.cancel();
+            }
+            segments.clear();
+            out.close();
+        }
+    }
+
+    protected void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * 使用 {@link Deflater} 压缩数据，不包含 zlib 的头和尾。
+     *
+     * @param block      数据
+     * @param dictionary 预设字典，使用最后的 32K，可以为 null
+     * @param finish     是否结束压缩，否则以 {@link Deflater#SYNC_FLUSH} 结尾对齐字节
+     * @param level      压缩级别
+     * @param os         输出
+     */
+    protected static void deflate(byte[] block, byte[] dictionary, boolean finish, int level,
+                                  ByteArrayOutputStream os) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null && dictionary.length > 0) {
+                int length = Math.min(dictionary.length, 32 * 1024);
+                deflater.setDictionary(dictionary, dictionary.length - length, length);
+            }
+            deflater.setInput(block);
+            byte[] buf = new byte[Math.max(512, Math.min(block.length, 64 * 1024))];
+            if (finish) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buf);
+                    os.write(buf, 0, n);
+                }
+            } else {
+                int n;
+                do {
+                    n = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+                    os.write(buf, 0, n);
+                } while (n == buf.length);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private class Segment {
+
+        private final Callable<byte[]> supplier;
+
+        Segment(Callable<byte[]> supplier) {
+            this.supplier = supplier;
+        }
+
+        boolean isDone() {
+            return true;
+        }
+
+        byte[] get() throws IOException {
+            try {
+                return supplier.call();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+
+        void cancel() {
+        }
+    }
+
+    private class TaskSegment extends Segment {
+
+        private final Future<byte[]> future;
+
+        private final Consumer<byte[]> callback;
+
+        TaskSegment(Future<byte[]> future, Consumer<byte[]> callback) {
+            super(null);
+            this.future = future;
+            this.callback = callback;
+        }
+
+        @Override
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        byte[] get() throws IOException {
+            byte[] bytes;
+            try {
+                bytes = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for compression");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } finally {
+                pendingBlocks--;
+            }
+            if (callback != null) {
+                callback.accept(bytes);
+            }
+            return bytes;
+        }
+
+        @Override
+        void cancel() {
+            future.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.linyuzai.download.core.compress;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.source.AbstractSourceEvent;
+import com.github.linyuzai.download.core.source.Source;
+import lombok.Getter;
+
+/**
+ * 压缩结束后会发布该事件，包括节省的字节数和耗时。
+ */
+@Getter
+public class SourceCompressionStatisticsEvent extends AbstractSourceEvent {
+
+    private final CompressionStatistics statistics;
+
+    public SourceCompressionStatisticsEvent(DownloadContext context, Source source, CompressionStatistics statistics) {
+        super(context, source);
+        this.statistics = statistics;
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.linyuzai.download.core.compress;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.source.AbstractSourceEvent;
+import com.github.linyuzai.download.core.source.Source;
+import lombok.Getter;
+
+import java.io.File;
+
+/**
+ * 当使用 {@link StreamingCompression} 流式压缩时会发布该事件。
+ */
+@Getter
+public class SourceStreamingCompressionEvent extends AbstractSourceEvent {
+
+    /**
+     * 同时写入的缓存文件，可能为 null
+     */
+    private final File cache;
+
+    public SourceStreamingCompressionEvent(DownloadContext context, Source source, File cache) {
+        super(context, source);
+        this.cache = cache;
+    }
+}
@@ -0,0 +1,320 @@
+package com.github.linyuzai.download.core.compress;
+
+import com.github.linyuzai.download.core.write.DownloadWriter;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 流式压缩，边压缩边写入响应。
+ * <p>
+ * 写入响应时才执行压缩，压缩后的数据直接写入响应的输出流，
+ * 不需要等待压缩完成，也不需要中间文件或内存缓冲。
+ * 压缩后的大小未知，所以 {@link #getLength()} 返回 null，响应使用分块传输。
+ * 如果指定了缓存文件，会同时写入一个临时文件，压缩完成后重命名为缓存文件，
+ * 缓存文件写入失败不影响响应。
+ * <p>
+ * 响应写入时使用 {@link #writeTo(OutputStream, DownloadWriter.Callback)}；
+ * 其他需要 {@link InputStream} 的地方通过 {@link #openInputStream()} 读取，
+ * 会在单独的线程中压缩并通过管道提供数据。
+ */
+@Getter
+@RequiredArgsConstructor
+public class StreamingCompression extends AbstractCompression {
+
+    /**
+     * {@link #openInputStream()} 的管道大小
+     */
+    public static final int PIPE_SIZE = 64 * 1024;
+
+    /**
+     * 执行压缩
+     */
+    @NonNull
+    protected final Compressor compressor;
+
+    /**
+     * 缓存文件，可能为 null
+     */
+    protected final File cache;
+
+    /**
+     * 缓存文件写入完成后回调，可以为 null
+     */
+    @Setter
+    protected Consumer<File> cachedCallback;
+
+    /**
+     * 将压缩后的数据写入输出流，不会刷新和关闭输出流。
+     *
+     * @param os       输出流
+     * @param callback 回调写入的字节数，可以为 null
+     */
+    public void writeTo(OutputStream os, DownloadWriter.Callback callback) throws IOException {
+        File temp = null;
+        OutputStream cacheOutputStream = null;
+        if (cache != null) {
+            temp = new File(cache.getParentFile(), cache.getName() + "." + UUID.randomUUID() + ".tmp");
+            cacheOutputStream = new FileOutputStream(temp);
+        }
+        StreamingOutputStream sos = new StreamingOutputStream(os, cacheOutputStream, callback);
+        try {
+            compressor.compress(sos);
+        } catch (Throwable e) {
+            sos.closeCache();
+            deleteQuietly(temp);
+            throw e;
+        }
+        if (sos.closeCache()) {
+            try {
+                moveToCache(temp);
+            } catch (IOException e) {
+                deleteQuietly(temp);
+                return;
+            }
+            if (cachedCallback != null) {
+                cachedCallback.accept(cache);
+            }
+        } else {
+            deleteQuietly(temp);
+        }
+    }
+
+    private void moveToCache(File temp) throws IOException {
+        try {
+            Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(File file) {
+        if (file != null && file.exists()) {
+            boolean delete = file.delete();
+        }
+    }
+
+    /**
+     * 在新的线程中执行 {@link #writeTo(OutputStream, DownloadWriter.Callback)}，
+     * 通过管道读取压缩后的数据。
+     * 压缩失败时读取会抛出对应的异常，
+     * 提前关闭 {@link InputStream} 会停止压缩并丢弃缓存文件。
+     *
+     * @return 压缩后数据的 {@link InputStream}
+     */
+    @Override
+    public InputStream openInputStream() throws IOException {
+        CompressingInputStream is = new CompressingInputStream();
+        PipedOutputStream pos = new PipedOutputStream(is);
+        //写入后通知读取，否则读取方最多会等待 1 秒
+        OutputStream os = new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+                pos.write(b);
+                pos.flush();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                pos.write(b, off, len);
+                pos.flush();
+            }
+        };
+        Thread thread = new Thread(() -> {
+            try {
+                writeTo(os, null);
+            } catch (Throwable e) {
+                is.error = e;
+            } finally {
+                try {
+                    pos.close();
+                } catch (IOException ignore) {
+                }
+            }
+        }, "concept-download-streaming-compression");
+        thread.setDaemon(true);
+        thread.start();
+        return is;
+    }
+
+    /**
+     * 压缩后的大小未知。
+     *
+     * @return null
+     */
+    @Override
+    public Long getLength() {
+        return null;
+    }
+
+    @Override
+    public boolean isCacheEnabled() {
+        return cache != null;
+    }
+
+    @Override
+    public boolean isCacheExisted() {
+        return cache != null && cache.exists();
+    }
+
+    @Override
+    public String getCachePath() {
+        return cache == null ? null : cache.getParent();
+    }
+
+    /**
+     * 流式压缩描述。
+     *
+     * @return StreamingCompression(名称)
+     */
+    @Override
+    public String getDescription() {
+        return "StreamingCompression(" + getName() + ")";
+    }
+
+    /**
+     * 删除缓存文件。
+     */
+    @Override
+    public void deleteCache() {
+        if (isCacheExisted()) {
+            boolean delete = cache.delete();
+        }
+    }
+
+    /**
+     * 压缩器。
+     */
+    public interface Compressor {
+
+        /**
+         * 压缩并写入输出流，可以关闭输出流。
+         *
+         * @param os 输出流
+         */
+        void compress(OutputStream os) throws IOException;
+    }
+
+    /**
+     * 读取压缩后的数据，读取完成后如果压缩失败则抛出异常。
+     */
+    private static class CompressingInputStream extends PipedInputStream {
+
+        private volatile Throwable error;
+
+        CompressingInputStream() {
+            super(PIPE_SIZE);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            int read = super.read();
+            if (read < 0) {
+                checkError();
+            }
+            return read;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read < 0) {
+                checkError();
+            }
+            return read;
+        }
+
+        private void checkError() throws IOException {
+            Throwable e = error;
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            if (e != null) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * 写入响应，同时写入缓存。
+     * 不会刷新和关闭响应。
+     */
+    private static class StreamingOutputStream extends OutputStream {
+
+        private final OutputStream os;
+
+        private final DownloadWriter.Callback callback;
+
+        private OutputStream cache;
+
+        private boolean cacheFailed;
+
+        private long current;
+
+        StreamingOutputStream(OutputStream os, OutputStream cache, DownloadWriter.Callback callback) {
+            this.os = os;
+            this.cache = cache;
+            this.callback = callback;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            os.write(b, off, len);
+            if (cache != null) {
+                try {
+                    cache.write(b, off, len);
+                } catch (IOException e) {
+                    cacheFailed = true;
+                    closeCache();
+                }
+            }
+            current += len;
+            if (callback != null) {
+                callback.onWrite(current, len);
+            }
+        }
+
+        /**
+         * 不刷新响应，有些响应刷新时会结束写入，由调用方在写入完成后刷新。
+         */
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * 关闭缓存。
+         *
+         * @return 缓存是否完整写入
+         */
+        boolean closeCache() {
+            if (cache == null) {
+                return false;
+            }
+            try {
+                cache.close();
+            } catch (IOException e) {
+                cacheFailed = true;
+            }
+            cache = null;
+            return !cacheFailed;
+        }
+    }
+}
@@ -31,7 +31,7 @@ public class TarArchiveSourceCompressor extends AbstractSourceCompressor<TarArch
         //ParallelScatterZipCreator creator;
         try {
             TarArchiveOutputStream stream = archiveStreamFactory
-                    .createArchiveOutputStream(ArchiveStreamFactory.TAR, wrapper(os));
+                    .createArchiveOutputStream(ArchiveStreamFactory.TAR, os);
             init(stream);
             return stream;
         } catch (ArchiveException e) {
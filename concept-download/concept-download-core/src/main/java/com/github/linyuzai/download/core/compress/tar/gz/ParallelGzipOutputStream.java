@@ -0,0 +1,60 @@
+package com.github.linyuzai.download.core.compress.tar.gz;
+
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+/**
+ * 并行压缩的 gzip 输出流。
+ * <p>
+ * 每个数据块压缩为一个独立的 gzip 成员，多个成员拼接后仍然是合法的 gzip 文件，
+ * gzip 和 {@link java.util.zip.GZIPInputStream} 都会依次解压所有的成员。
+ */
+public class ParallelGzipOutputStream extends ParallelCompressionOutputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /**
+     * 压缩级别
+     */
+    private final int level;
+
+    private boolean submitted;
+
+    public ParallelGzipOutputStream(OutputStream out, Executor executor, int blockSize, int maxPendingBlocks, int level) {
+        super(out, executor, blockSize, maxPendingBlocks);
+        this.level = level;
+    }
+
+    @Override
+    protected void submitBlock(byte[] block, boolean last) throws IOException {
+        submitted = true;
+        submit(() -> {
+            ByteArrayOutputStream os = new ByteArrayOutputStream(block.length / 2 + 64);
+            os.write(HEADER);
+            deflate(block, null, true, level, os);
+            CRC32 crc = new CRC32();
+            crc.update(block);
+            os.write(ByteBuffer.allocate(8)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt((int) crc.getValue())
+                    .putInt(block.length)
+                    .array());
+            return os.toByteArray();
+        }, null);
+    }
+
+    /**
+     * 提交剩余的数据，没有任何数据时写入一个空的成员。
+     */
+    @Override
+    protected void onFinish() throws IOException {
+        flushBlock(!submitted);
+    }
+}
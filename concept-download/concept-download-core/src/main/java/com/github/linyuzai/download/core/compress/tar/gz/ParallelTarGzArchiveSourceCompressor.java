@@ -0,0 +1,58 @@
+package com.github.linyuzai.download.core.compress.tar.gz;
+
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+/**
+ * 使用 {@link ParallelGzipOutputStream} 多线程并行压缩的 tar.gz。
+ */
+@Getter
+@Setter
+public class ParallelTarGzArchiveSourceCompressor extends TarGzArchiveSourceCompressor {
+
+    /**
+     * 压缩线程池，为 null 时使用 {@link ParallelCompressionOutputStream#getDefaultExecutor()}
+     */
+    private Executor executor;
+
+    /**
+     * 数据块大小，每块为一个 gzip 成员
+     */
+    private int blockSize = ParallelCompressionOutputStream.DEFAULT_BLOCK_SIZE;
+
+    /**
+     * 最多未写出的数据块数量
+     */
+    private int maxPendingBlocks = ParallelCompressionOutputStream.DEFAULT_MAX_PENDING_BLOCKS;
+
+    /**
+     * 压缩级别
+     */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    @Override
+    protected OutputStream wrapper(OutputStream os) {
+        return wrapper(os, level);
+    }
+
+    /**
+     * 指定了 {@link DownloadOptions#getCompressLevel()} 时优先使用，否则使用 {@link #level}。
+     */
+    @Override
+    protected OutputStream wrapper(OutputStream os, DownloadContext context) {
+        int levelToUse = DownloadOptions.get(context).getCompressLevel();
+        return wrapper(os, levelToUse == Deflater.DEFAULT_COMPRESSION ? level : levelToUse);
+    }
+
+    protected OutputStream wrapper(OutputStream os, int level) {
+        Executor executorToUse = executor == null ? ParallelCompressionOutputStream.getDefaultExecutor() : executor;
+        return new ParallelGzipOutputStream(os, executorToUse, blockSize, maxPendingBlocks, level);
+    }
+}
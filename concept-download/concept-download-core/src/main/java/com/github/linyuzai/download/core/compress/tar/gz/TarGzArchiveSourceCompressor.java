@@ -2,10 +2,13 @@ package com.github.linyuzai.download.core.compress.tar.gz;
 
 import com.github.linyuzai.download.core.compress.CompressFormat;
 import com.github.linyuzai.download.core.compress.tar.TarArchiveSourceCompressor;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.options.DownloadOptions;
 import com.github.linyuzai.download.core.web.ContentType;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 public class TarGzArchiveSourceCompressor extends TarArchiveSourceCompressor {
@@ -15,6 +18,22 @@ public class TarGzArchiveSourceCompressor extends TarArchiveSourceCompressor {
         return new GZIPOutputStream(os);
     }
 
+    /**
+     * 使用 {@link DownloadOptions#getCompressLevel()} 作为 gzip 的压缩级别。
+     */
+    @Override
+    protected OutputStream wrapper(OutputStream os, DownloadContext context) throws IOException {
+        int level = DownloadOptions.get(context).getCompressLevel();
+        if (level == Deflater.DEFAULT_COMPRESSION) {
+            return wrapper(os);
+        }
+        return new GZIPOutputStream(os) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
     @Override
     public String getSuffix(String format) {
         return CompressFormat.TAR_GZ_SUFFIX;
@@ -0,0 +1,314 @@
+package com.github.linyuzai.download.core.compress.zip;
+
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/**
+ * 并行压缩的 zip 输出流，参考 pigz。
+ * <p>
+ * 每个条目按照数据块并行压缩，除最后一块外都以 SYNC_FLUSH 结尾，
+ * 并使用上一块最后的 32K 作为预设字典，拼接后是一个完整的 deflate 流，压缩率基本不变。
+ * CRC 在写入线程中计算，条目的大小和 CRC 写在数据描述符中，
+ * 所以条目的头信息不需要等待压缩完成，大小或偏移量超过 4G 时使用 ZIP64。
+ * 条目名称使用 UTF-8 编码。
+ */
+public class ParallelZipOutputStream extends ParallelCompressionOutputStream {
+
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+
+    private static final int DATA_DESCRIPTOR_SIG = 0x08074b50;
+
+    private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+
+    private static final int ZIP64_END_SIG = 0x06064b50;
+
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+
+    private static final int END_SIG = 0x06054b50;
+
+    /**
+     * 使用数据描述符，名称使用 UTF-8 编码
+     */
+    private static final int FLAG = 0x0808;
+
+    private static final int DEFLATED = 8;
+
+    private static final int VERSION = 20;
+
+    private static final int VERSION_ZIP64 = 45;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    /**
+     * 压缩级别
+     */
+    private final int level;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final CRC32 crc = new CRC32();
+
+    private Entry current;
+
+    private byte[] previousBlock;
+
+    public ParallelZipOutputStream(OutputStream out, Executor executor, int blockSize, int maxPendingBlocks, int level) {
+        super(out, executor, blockSize, maxPendingBlocks);
+        this.level = level;
+    }
+
+    /**
+     * 开始一个新的条目，如果当前有条目则先关闭。
+     *
+     * @param name 条目名称，以 / 结尾表示目录
+     */
+    public void putNextEntry(String name) throws IOException {
+        putNextEntry(name, level);
+    }
+
+    /**
+     * 使用指定的压缩级别开始一个新的条目，如果当前有条目则先关闭。
+     *
+     * @param name  条目名称，以 / 结尾表示目录
+     * @param level 压缩级别
+     */
+    public void putNextEntry(String name, int level) throws IOException {
+        ensureOpen();
+        if (current != null) {
+            closeEntry();
+        }
+        Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8),
+                dosTime(System.currentTimeMillis()), name.endsWith("/"), level);
+        entries.add(entry);
+        current = entry;
+        crc.reset();
+        append(() -> {
+            entry.offset = getWritten();
+            return localHeader(entry);
+        });
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (current == null) {
+            throw new ZipException("No current ZIP entry");
+        }
+        super.write(b, off, len);
+        crc.update(b, off, len);
+        current.size += len;
+    }
+
+    /**
+     * 关闭当前条目，提交最后一块数据并写入数据描述符。
+     */
+    public void closeEntry() throws IOException {
+        ensureOpen();
+        if (current == null) {
+            return;
+        }
+        flushBlock(true);
+        Entry entry = current;
+        entry.crc = crc.getValue();
+        current = null;
+        previousBlock = null;
+        append(() -> dataDescriptor(entry));
+    }
+
+    @Override
+    protected void submitBlock(byte[] block, boolean last) throws IOException {
+        Entry entry = current;
+        byte[] dictionary = previousBlock;
+        previousBlock = last ? null : block;
+        submit(() -> {
+            ByteArrayOutputStream os = new ByteArrayOutputStream(block.length / 2 + 64);
+            deflate(block, dictionary, last, entry.level, os);
+            return os.toByteArray();
+        }, bytes -> entry.compressedSize += bytes.length);
+    }
+
+    @Override
+    protected void onFinish() throws IOException {
+        closeEntry();
+        append(this::centralDirectory);
+    }
+
+    private byte[] localHeader(Entry entry) {
+        ByteBuffer buffer = allocate(30 + entry.name.length);
+        buffer.putInt(LOCAL_HEADER_SIG);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) FLAG);
+        buffer.putShort((short) DEFLATED);
+        buffer.putInt((int) entry.time);
+        //CRC 和大小在数据描述符中
+        buffer.putInt(0);
+        buffer.putInt(0);
+        buffer.putInt(0);
+        buffer.putShort((short) entry.name.length);
+        buffer.putShort((short) 0);
+        buffer.put(entry.name);
+        return buffer.array();
+    }
+
+    private byte[] dataDescriptor(Entry entry) {
+        if (entry.isZip64Size()) {
+            return allocate(24)
+                    .putInt(DATA_DESCRIPTOR_SIG)
+                    .putInt((int) entry.crc)
+                    .putLong(entry.compressedSize)
+                    .putLong(entry.size)
+                    .array();
+        } else {
+            return allocate(16)
+                    .putInt(DATA_DESCRIPTOR_SIG)
+                    .putInt((int) entry.crc)
+                    .putInt((int) entry.compressedSize)
+                    .putInt((int) entry.size)
+                    .array();
+        }
+    }
+
+    private byte[] centralDirectory() throws IOException {
+        long offset = getWritten();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        for (Entry entry : entries) {
+            boolean zip64Offset = entry.offset >= ZIP64_MAGIC;
+            boolean zip64 = entry.isZip64Size() || zip64Offset;
+            int extraLength = 0;
+            if (zip64) {
+                extraLength = 4 + (entry.isZip64Size() ? 16 : 0) + (zip64Offset ? 8 : 0);
+            }
+            ByteBuffer buffer = allocate(46 + entry.name.length + extraLength);
+            buffer.putInt(CENTRAL_HEADER_SIG);
+            buffer.putShort((short) (zip64 ? VERSION_ZIP64 : VERSION));
+            buffer.putShort((short) (zip64 ? VERSION_ZIP64 : VERSION));
+            buffer.putShort((short) FLAG);
+            buffer.putShort((short) DEFLATED);
+            buffer.putInt((int) entry.time);
+            buffer.putInt((int) entry.crc);
+            buffer.putInt((int) (entry.isZip64Size() ? ZIP64_MAGIC : entry.compressedSize));
+            buffer.putInt((int) (entry.isZip64Size() ? ZIP64_MAGIC : entry.size));
+            buffer.putShort((short) entry.name.length);
+            buffer.putShort((short) extraLength);
+            //注释长度，磁盘号，内部属性
+            buffer.putShort((short) 0);
+            buffer.putShort((short) 0);
+            buffer.putShort((short) 0);
+            //外部属性，目录为 0x10
+            buffer.putInt(entry.directory ? 0x10 : 0);
+            buffer.putInt((int) (zip64Offset ? ZIP64_MAGIC : entry.offset));
+            buffer.put(entry.name);
+            if (zip64) {
+                buffer.putShort((short) 0x0001);
+                buffer.putShort((short) (extraLength - 4));
+                if (entry.isZip64Size()) {
+                    buffer.putLong(entry.size);
+                    buffer.putLong(entry.compressedSize);
+                }
+                if (zip64Offset) {
+                    buffer.putLong(entry.offset);
+                }
+            }
+            os.write(buffer.array());
+        }
+        long size = os.size();
+        int count = entries.size();
+        if (count >= ZIP64_MAGIC_COUNT || offset >= ZIP64_MAGIC || size >= ZIP64_MAGIC) {
+            long zip64EndOffset = offset + size;
+            os.write(allocate(56)
+                    .putInt(ZIP64_END_SIG)
+                    .putLong(44)
+                    .putShort((short) VERSION_ZIP64)
+                    .putShort((short) VERSION_ZIP64)
+                    .putInt(0)
+                    .putInt(0)
+                    .putLong(count)
+                    .putLong(count)
+                    .putLong(size)
+                    .putLong(offset)
+                    .array());
+            os.write(allocate(20)
+                    .putInt(ZIP64_LOCATOR_SIG)
+                    .putInt(0)
+                    .putLong(zip64EndOffset)
+                    .putInt(1)
+                    .array());
+        }
+        os.write(allocate(22)
+                .putInt(END_SIG)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) Math.min(count, ZIP64_MAGIC_COUNT))
+                .putShort((short) Math.min(count, ZIP64_MAGIC_COUNT))
+                .putInt((int) Math.min(size, ZIP64_MAGIC))
+                .putInt((int) Math.min(offset, ZIP64_MAGIC))
+                .putShort((short) 0)
+                .array());
+        return os.toByteArray();
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 转换为 MS-DOS 时间，高 16 位为日期，低 16 位为时间。
+     *
+     * @param time 毫秒时间戳
+     * @return MS-DOS 时间
+     */
+    private static long dosTime(long time) {
+        LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        int year = ldt.getYear() - 1980;
+        if (year < 0) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year << 25 | ldt.getMonthValue() << 21 | ldt.getDayOfMonth() << 16 |
+                ldt.getHour() << 11 | ldt.getMinute() << 5 | ldt.getSecond() >> 1) & 0xFFFFFFFFL;
+    }
+
+    private static class Entry {
+
+        private final byte[] name;
+
+        private final long time;
+
+        private final boolean directory;
+
+        private final int level;
+
+        private long offset;
+
+        private long crc;
+
+        private long size;
+
+        private long compressedSize;
+
+        Entry(byte[] name, long time, boolean directory, int level) {
+            this.name = name;
+            this.time = time;
+            this.directory = directory;
+            this.level = level;
+        }
+
+        boolean isZip64Size() {
+            return size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.linyuzai.download.core.compress.zip;
+
+import com.github.linyuzai.download.core.compress.AbstractSourceCompressor;
+import com.github.linyuzai.download.core.compress.CompressFormat;
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
+import com.github.linyuzai.download.core.concept.Part;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.web.ContentType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+/**
+ * 使用 {@link ParallelZipOutputStream} 多线程并行压缩。
+ */
+@Getter
+@Setter
+public class ParallelZipSourceCompressor extends AbstractSourceCompressor<ParallelZipOutputStream> {
+
+    /**
+     * 压缩线程池，为 null 时使用 {@link ParallelCompressionOutputStream#getDefaultExecutor()}
+     */
+    private Executor executor;
+
+    /**
+     * 数据块大小
+     */
+    private int blockSize = ParallelCompressionOutputStream.DEFAULT_BLOCK_SIZE;
+
+    /**
+     * 最多未写出的数据块数量
+     */
+    private int maxPendingBlocks = ParallelCompressionOutputStream.DEFAULT_MAX_PENDING_BLOCKS;
+
+    /**
+     * 压缩级别
+     */
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * 新建一个 {@link ParallelZipOutputStream}。
+     *
+     * @param os      被包装的输出流
+     * @param source  {@link Source}
+     * @param context {@link DownloadContext}
+     * @return {@link ParallelZipOutputStream}
+     */
+    @Override
+    public ParallelZipOutputStream newOutputStream(OutputStream os, Source source, String format, DownloadContext context) {
+        Executor executorToUse = executor == null ? ParallelCompressionOutputStream.getDefaultExecutor() : executor;
+        return new ParallelZipOutputStream(os, executorToUse, blockSize, maxPendingBlocks, level);
+    }
+
+    @Override
+    public boolean supportEncryption(DownloadContext context) {
+        return false;
+    }
+
+    /**
+     * 写之前添加一个条目。
+     *
+     * @param part {@link Part}
+     * @param os   {@link ParallelZipOutputStream}
+     */
+    @Override
+    public void beforeWrite(Part part, ParallelZipOutputStream os, DownloadContext context) throws IOException {
+        os.putNextEntry(part.getPath());
+    }
+
+    /**
+     * 使用指定的压缩级别添加一个条目，
+     * 为 {@link Deflater#DEFAULT_COMPRESSION} 时使用 {@link #level}。
+     *
+     * @param part  {@link Part}
+     * @param os    {@link ParallelZipOutputStream}
+     * @param level 压缩级别
+     */
+    @Override
+    public void beforeWrite(Part part, ParallelZipOutputStream os, int level, DownloadContext context) throws IOException {
+        os.putNextEntry(part.getPath(), level == Deflater.DEFAULT_COMPRESSION ? this.level : level);
+    }
+
+    @Override
+    public boolean supportEntryLevel() {
+        return true;
+    }
+
+    /**
+     * 写入之后关闭条目。
+     *
+     * @param part {@link Part}
+     * @param os   {@link ParallelZipOutputStream}
+     */
+    @Override
+    public void afterWrite(Part part, ParallelZipOutputStream os, DownloadContext context) throws IOException {
+        os.closeEntry();
+    }
+
+    /**
+     * 获得 zip 文件扩展后缀。
+     *
+     * @return .zip
+     */
+    @Override
+    public String getSuffix(String format) {
+        return CompressFormat.ZIP_SUFFIX;
+    }
+
+    /**
+     * 获得 zip 文件的 Content-Type。
+     *
+     * @return application/x-zip-compressed
+     */
+    @Override
+    public String getContentType(String format) {
+        return ContentType.Application.X_ZIP_COMPRESSED;
+    }
+
+    /**
+     * 获得文件的压缩格式。
+     *
+     * @return zip
+     */
+    @Override
+    public String[] getFormats() {
+        return new String[]{CompressFormat.ZIP};
+    }
+}
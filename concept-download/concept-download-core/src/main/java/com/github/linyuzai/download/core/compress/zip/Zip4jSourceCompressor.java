@@ -9,10 +9,12 @@ import com.github.linyuzai.download.core.source.Source;
 import com.github.linyuzai.download.core.web.ContentType;
 import net.lingala.zip4j.io.outputstream.ZipOutputStream;
 import net.lingala.zip4j.model.ZipParameters;
+import net.lingala.zip4j.model.enums.CompressionLevel;
 import net.lingala.zip4j.model.enums.EncryptionMethod;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 
 public class Zip4jSourceCompressor extends AbstractSourceCompressor<ZipOutputStream> {
 
@@ -40,6 +42,31 @@ public class Zip4jSourceCompressor extends AbstractSourceCompressor<ZipOutputStr
         os.putNextEntry(parameters);
     }
 
+    @Override
+    public void beforeWrite(Part part, ZipOutputStream os, int level, DownloadContext context) throws IOException {
+        ZipParameters parameters = new ZipParameters();
+        parameters.setFileNameInZip(part.getPath());
+        initZipParameters(parameters, context);
+        if (level != Deflater.DEFAULT_COMPRESSION) {
+            parameters.setCompressionLevel(getCompressionLevel(level));
+        }
+        os.putNextEntry(parameters);
+    }
+
+    @Override
+    public boolean supportEntryLevel() {
+        return true;
+    }
+
+    protected CompressionLevel getCompressionLevel(int level) {
+        for (CompressionLevel compressionLevel : CompressionLevel.values()) {
+            if (compressionLevel.getLevel() == level) {
+                return compressionLevel;
+            }
+        }
+        return CompressionLevel.NORMAL;
+    }
+
     protected void initZipParameters(ZipParameters parameters, DownloadContext context) {
         DownloadOptions options = DownloadOptions.get(context);
         String password = options.getCompressPassword();
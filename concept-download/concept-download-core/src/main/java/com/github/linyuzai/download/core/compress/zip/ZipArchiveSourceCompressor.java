@@ -53,6 +53,17 @@ public class ZipArchiveSourceCompressor extends AbstractSourceCompressor<ZipArch
         os.putArchiveEntry(new ZipArchiveEntry(part.getPath()));
     }
 
+    @Override
+    public void beforeWrite(Part part, ZipArchiveOutputStream os, int level, DownloadContext context) throws IOException {
+        os.setLevel(level);
+        beforeWrite(part, os, context);
+    }
+
+    @Override
+    public boolean supportEntryLevel() {
+        return true;
+    }
+
     @Override
     public void afterWrite(Part part, ZipArchiveOutputStream os, DownloadContext context) throws IOException {
         os.closeArchiveEntry();
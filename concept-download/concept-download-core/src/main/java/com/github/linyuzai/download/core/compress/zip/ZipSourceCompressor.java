@@ -8,6 +8,7 @@ import com.github.linyuzai.download.core.source.Source;
 import com.github.linyuzai.download.core.web.ContentType;
 import lombok.SneakyThrows;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -47,6 +48,24 @@ public class ZipSourceCompressor extends AbstractSourceCompressor<ZipOutputStrea
         os.putNextEntry(new ZipEntry(part.getPath()));
     }
 
+    /**
+     * 设置压缩级别后添加一个 {@link ZipEntry}。
+     *
+     * @param part  {@link Part}
+     * @param os    {@link ZipOutputStream}
+     * @param level 压缩级别
+     */
+    @Override
+    public void beforeWrite(Part part, ZipOutputStream os, int level, DownloadContext context) throws IOException {
+        os.setLevel(level);
+        beforeWrite(part, os, context);
+    }
+
+    @Override
+    public boolean supportEntryLevel() {
+        return true;
+    }
+
     /**
      * 写入之后关闭 {@link ZipEntry}。
      *
@@ -9,6 +9,7 @@ public interface DownloadHandler {
 
     int ORDER_LOOKUP_CACHE = 0;
     int ORDER_CREATE_SOURCE = 100;
+    int ORDER_CONDITIONAL_REQUEST = 150;
     int ORDER_LOAD_SOURCE = 200;
     int ORDER_COMPRESS_SOURCE = 300;
     int ORDER_WRITE_RESPONSE = 400;
@@ -7,6 +7,7 @@ import com.github.linyuzai.download.core.event.DownloadEventPublisher;
 import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
 import com.github.linyuzai.download.core.handler.DownloadHandler;
 import com.github.linyuzai.download.core.handler.DownloadHandlerChain;
+import com.github.linyuzai.download.core.load.SourceLoadingTasks;
 import com.github.linyuzai.download.core.options.DownloadOptions;
 import com.github.linyuzai.download.core.source.Source;
 import com.github.linyuzai.download.core.write.DownloadWriter;
@@ -29,7 +30,7 @@ public class CompressSourceHandler implements DownloadHandler, DownloadLifecycle
 
     /**
      * 压缩 {@link Source}。
-     * 默认单一文件时不压缩并发布 {@link SourceNoCompressionEvent} 事件，
+     * 默认单一文件时等待加载完成，不压缩并发布 {@link SourceNoCompressionEvent} 事件，
      * 可通过 {@link Download#forceCompress()} 强制压缩。
      * 根据指定或默认的压缩格式，通过 {@link SourceCompressorAdapter} 获得 {@link SourceCompressor}，
      * 通过 {@link SourceCompressor} 执行压缩。
@@ -52,6 +53,7 @@ public class CompressSourceHandler implements DownloadHandler, DownloadLifecycle
         boolean forceCompress = options.isForceCompress();
         //（单一文件 && 没有强制压缩），则不压缩
         if (single && !forceCompress) {
+            SourceLoadingTasks.awaitAll(context);
             compression = new NoCompression(source);
             publisher.publish(new SourceNoCompressionEvent(context, source));
         } else {
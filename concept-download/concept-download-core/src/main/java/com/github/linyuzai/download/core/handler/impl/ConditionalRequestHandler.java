@@ -0,0 +1,86 @@
+package com.github.linyuzai.download.core.handler.impl;
+
+import com.github.linyuzai.download.core.concept.DownloadMode;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadEventPublisher;
+import com.github.linyuzai.download.core.handler.DownloadHandler;
+import com.github.linyuzai.download.core.handler.DownloadHandlerChain;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.web.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 处理条件请求，客户端的数据没有变化时直接响应 304。
+ */
+@Getter
+@RequiredArgsConstructor
+public class ConditionalRequestHandler implements DownloadHandler {
+
+    /**
+     * {@link DownloadValidator} 生成器
+     */
+    private final DownloadValidatorGenerator downloadValidatorGenerator;
+
+    @Override
+    public boolean support(DownloadContext context) {
+        return DownloadMode.getMode(context) == DownloadMode.SYNC;
+    }
+
+    /**
+     * 在加载 {@link Source} 之前通过 {@link DownloadValidatorGenerator} 生成 {@link DownloadValidator}，
+     * 设置到 {@link DownloadContext} 中用于设置响应头和处理 'If-Range'。
+     * 如果客户端的数据没有变化，响应 304 并发布 {@link ResponseNotModifiedEvent} 事件，
+     * 不再加载，压缩和写入。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public Object handle(DownloadContext context, DownloadHandlerChain chain) {
+        Source source = context.get(Source.class);
+        if (source == null) {
+            return chain.next(context);
+        }
+        DownloadValidator validator = downloadValidatorGenerator.generate(source, context);
+        if (validator == null) {
+            return chain.next(context);
+        }
+        context.set(DownloadValidator.class, validator);
+        DownloadOptions options = DownloadOptions.get(context);
+        DownloadRequest request = options.getRequest();
+        if (isCacheableMethod(request.getMethod()) && validator.isNotModified(request)) {
+            DownloadResponse response = options.getResponse();
+            response.setStatusCode(304);
+            applyHeaders(response, validator);
+            response.flush();
+            DownloadEventPublisher.get(context).publish(new ResponseNotModifiedEvent(context, validator));
+            return null;
+        }
+        return chain.next(context);
+    }
+
+    /**
+     * 只有 GET 和 HEAD 请求可以响应 304，未知时作为 GET。
+     *
+     * @param method 请求方法
+     * @return 如果可以响应 304 则返回 true
+     */
+    public boolean isCacheableMethod(String method) {
+        return method == null || "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+    }
+
+    /**
+     * 设置 'ETag' 和 'Last-Modified' 响应头。
+     *
+     * @param response  {@link DownloadResponse}
+     * @param validator {@link DownloadValidator}
+     */
+    public static void applyHeaders(DownloadResponse response, DownloadValidator validator) {
+        response.setHeader("ETag", validator.getETag());
+        String lastModified = validator.getLastModifiedHeader();
+        if (lastModified != null) {
+            response.setHeader("Last-Modified", lastModified);
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.github.linyuzai.download.core.handler.impl;
 
 import com.github.linyuzai.download.core.context.DownloadContext;
 import com.github.linyuzai.download.core.event.DownloadEventPublisher;
+import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
 import com.github.linyuzai.download.core.handler.DownloadHandler;
 import com.github.linyuzai.download.core.handler.DownloadHandlerChain;
 import com.github.linyuzai.download.core.load.SourceLoadedEvent;
 import com.github.linyuzai.download.core.load.SourceLoader;
+import com.github.linyuzai.download.core.load.SourceLoadingTasks;
 import com.github.linyuzai.download.core.source.Source;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +17,7 @@ import lombok.RequiredArgsConstructor;
  */
 @Getter
 @RequiredArgsConstructor
-public class LoadSourceHandler implements DownloadHandler {
+public class LoadSourceHandler implements DownloadHandler, DownloadLifecycleListener {
 
     /**
      * 加载器
@@ -27,6 +29,7 @@ public class LoadSourceHandler implements DownloadHandler {
      * 使用 {@link SourceLoader} 加载所有的 {@link Source}，
      * 发布 {@link SourceLoadedEvent} 事件，
      * 设置新的 {@link Source} 到 {@link DownloadContext} 中。
+     * 如果没有等待所有的 {@link Source} 加载完成，则在加载完成后发布 {@link SourceLoadedEvent} 事件。
      *
      * @param context {@link DownloadContext}
      */
@@ -46,7 +49,25 @@ public class LoadSourceHandler implements DownloadHandler {
             return chain.next(context);
         }*/
         sourceLoader.load(source, context);
-        publisher.publish(new SourceLoadedEvent(context, source));
+        SourceLoadingTasks tasks = context.get(SourceLoadingTasks.class);
+        if (tasks == null) {
+            publisher.publish(new SourceLoadedEvent(context, source));
+        } else {
+            tasks.getFuture().thenRun(() -> publisher.publish(new SourceLoadedEvent(context, source)));
+        }
         return chain.next(context);
     }
+
+    /**
+     * 销毁时，取消还没有加载完成的 {@link Source}。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onComplete(DownloadContext context) {
+        SourceLoadingTasks tasks = context.get(SourceLoadingTasks.class);
+        if (tasks != null) {
+            tasks.cancel();
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.linyuzai.download.core.handler.impl;
 
 import com.github.linyuzai.download.core.compress.Compression;
+import com.github.linyuzai.download.core.compress.StreamingCompression;
 import com.github.linyuzai.download.core.concept.DownloadMode;
 import com.github.linyuzai.download.core.concept.Part;
 import com.github.linyuzai.download.core.concept.Resource;
@@ -11,11 +12,10 @@ import com.github.linyuzai.download.core.handler.DownloadHandler;
 import com.github.linyuzai.download.core.handler.DownloadHandlerChain;
 import com.github.linyuzai.download.core.options.DownloadOptions;
 import com.github.linyuzai.download.core.web.*;
-import com.github.linyuzai.download.core.write.DownloadWriter;
-import com.github.linyuzai.download.core.write.DownloadWriterAdapter;
-import com.github.linyuzai.download.core.write.Progress;
+import com.github.linyuzai.download.core.write.*;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 
 import java.io.InputStream;
@@ -36,6 +36,24 @@ public class WriteResponseHandler implements DownloadHandler, DownloadLifecycleL
      */
     private final DownloadWriterAdapter downloadWriterAdapter;
 
+    /**
+     * 写入进度的最小发布间隔，毫秒
+     */
+    @Setter
+    private long progressInterval;
+
+    /**
+     * 写入进度的最小增长字节数
+     */
+    @Setter
+    private long progressMinBytes;
+
+    /**
+     * 写入进度的最小增长百分比
+     */
+    @Setter
+    private double progressMinPercent;
+
     @Override
     public boolean support(DownloadContext context) {
         return DownloadMode.getMode(context) == DownloadMode.SYNC;
@@ -45,8 +63,12 @@ public class WriteResponseHandler implements DownloadHandler, DownloadLifecycleL
      * 写 {@link DownloadResponse}。
      * 处理 {@link DownloadRequest} 中的 {@link Range}，
      * 设置 {@link DownloadResponse} 的响应头，
-     * 将 {@link Compression} 写入到 {@link DownloadResponse} 中
-     * 并发布 {@link ResponseWritingProgressEvent} 事件，
+     * 将 {@link Compression} 写入到 {@link DownloadResponse} 中，
+     * 不需要转码和限速，并且匹配到的是默认的 {@link DownloadWriter} 时优先由 {@link DownloadResponse} 直接写入，
+     * {@link StreamingCompression} 边压缩边写入，
+     * 通过 {@link ProgressThrottler} 合并写入进度后发布 {@link ResponseWritingProgressEvent} 事件，
+     * 写入结束时发布最后的进度，
+     * 如果存在 {@link DownloadRateLimiter} 则限制写入的速率，
      * 最后发布 {@link ResponseWrittenEvent} 事件。
      *
      * @param context {@link DownloadContext}
@@ -61,29 +83,67 @@ public class WriteResponseHandler implements DownloadHandler, DownloadLifecycleL
         DownloadRequest request = options.getRequest();
         //获得Response
         DownloadResponse response = options.getResponse();
-        //获得Range
-        Range range = request.getRange();
+        //获得Range，大小未知时不支持Range
+        Long length = getLength(compression);
+        Range range = length == null ? null : getRange(request, context);
         context.set(Range.class, range);
         //设置响应头
         if (applyHeaders(response, compression, range, context)) {
-            //写数据
+            ProgressThrottler throttler = new ProgressThrottler(length,
+                    progressInterval, progressMinBytes, progressMinPercent);
+            //更新写入进度，合并后发布
+            DownloadWriter.Callback callback = (current, increase) -> {
+                if (throttler.update(increase)) {
+                    publisher.publish(new ResponseWritingProgressEvent(context,
+                            throttler.getProgress().freeze()));
+                }
+            };
+            //发布最后的进度
+            Runnable flush = () -> {
+                if (throttler.isPending()) {
+                    throttler.flush();
+                    publisher.publish(new ResponseWritingProgressEvent(context, throttler.getProgress().freeze()));
+                }
+            };
+            DownloadRateLimiter limiter = context.get(DownloadRateLimiter.class);
             DownloadWriter writer = downloadWriterAdapter.getWriter(compression, context);
+            if ((limiter == null || !limiter.isLimited(context)) && isDirectWritable(compression, writer)) {
+                //由响应直接写入
+                Object write = response.write(compression, range, callback, () -> chain.next(context), () -> {
+                    flush.run();
+                    publisher.publish(new ResponseWrittenEvent(context));
+                });
+                if (write != null) {
+                    return write;
+                }
+            }
+            //写数据
             return response.write(new Consumer<OutputStream>() {
 
                 @SneakyThrows
                 @Override
-                public void accept(OutputStream os) {
-                    Collection<Part> parts = compression.getParts();
-                    Progress progress = new Progress(compression.getLength());
-                    for (Part part : parts) {
-                        InputStream is = part.getInputStream();
-                        writer.write(is, os, range, part.getCharset(), part.getLength(), (current, increase) -> {
-                            //更新并发布写入进度
-                            progress.update(increase);
-                            publisher.publish(new ResponseWritingProgressEvent(context, progress.freeze()));
-                        });
+                public void accept(OutputStream response) {
+                    //限速
+                    OutputStream os = limiter == null ? response : limiter.wrap(response, context);
+                    try {
+                        if (compression instanceof StreamingCompression) {
+                            //流式压缩直接写入
+                            ((StreamingCompression) compression).writeTo(os, callback);
+                        } else {
+                            Collection<Part> parts = compression.getParts();
+                            for (Part part : parts) {
+                                InputStream is = part.getInputStream();
+                                writer.write(is, os, range, part.getCharset(), part.getLength(), callback);
+                            }
+                        }
+                        os.flush();
+                    } finally {
+                        //结束限速
+                        if (os != response) {
+                            os.close();
+                        }
                     }
-                    os.flush();
+                    flush.run();
                 }
             }, () -> chain.next(context), () -> publisher.publish(new ResponseWrittenEvent(context)));
         } else {
@@ -91,11 +151,88 @@ public class WriteResponseHandler implements DownloadHandler, DownloadLifecycleL
         }
     }
 
+    /**
+     * 获得 {@link Range}。
+     * 存在 'If-Range' 请求头时，只有和 {@link DownloadValidator} 匹配才返回部分数据，否则返回全部数据。
+     *
+     * @param request {@link DownloadRequest}
+     * @param context {@link DownloadContext}
+     * @return {@link Range} 或 null
+     */
+    public Range getRange(DownloadRequest request, DownloadContext context) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange != null) {
+            DownloadValidator validator = context.get(DownloadValidator.class);
+            if (validator == null || !validator.matchesRange(ifRange)) {
+                return null;
+            }
+        }
+        return request.getRange();
+    }
+
+    /**
+     * 获得写入响应的字节数。
+     * 存在编码的 {@link Part} 时需要转码，转码后的字节数未知，
+     * 返回 null，使用分块传输并且不支持 {@link Range}。
+     *
+     * @param resource {@link Resource}
+     * @return 写入响应的字节数或 null
+     */
+    public Long getLength(Resource resource) {
+        for (Part part : resource.getParts()) {
+            if (part.getCharset() != null) {
+                return null;
+            }
+        }
+        return resource.getLength();
+    }
+
+    /**
+     * 是否可以由 {@link DownloadResponse} 直接写入。
+     * {@link StreamingCompression} 需要边压缩边写入，
+     * 存在编码的 {@link Part} 需要转码，都不能直接写入；
+     * 匹配到自定义的 {@link DownloadWriter} 时使用该 {@link DownloadWriter} 写入。
+     *
+     * @param compression {@link Compression}
+     * @param writer      匹配到的 {@link DownloadWriter}
+     * @return 如果可以直接写入则返回 true
+     */
+    public boolean isDirectWritable(Compression compression, DownloadWriter writer) {
+        if (compression instanceof StreamingCompression || !isDefaultWriter(writer)) {
+            return false;
+        }
+        for (Part part : compression.getParts()) {
+            if (part.getCharset() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否是默认的 {@link DownloadWriter}，
+     * 即 {@link BufferedDownloadWriter} 或回退到 {@link BufferedDownloadWriter} 的 {@link FileChannelDownloadWriter}，
+     * 不包括它们的子类。
+     *
+     * @param writer {@link DownloadWriter}
+     * @return 如果是默认的 {@link DownloadWriter} 则返回 true
+     */
+    public boolean isDefaultWriter(DownloadWriter writer) {
+        if (writer.getClass() == BufferedDownloadWriter.class) {
+            return true;
+        }
+        if (writer.getClass() == FileChannelDownloadWriter.class) {
+            return isDefaultWriter(((FileChannelDownloadWriter) writer).getDelegate());
+        }
+        return false;
+    }
+
     /**
      * 设置响应头。
      * 处理 {@link Range}，
      * 设置 inline 或 attachment，
      * 设置 Content-Type，
+     * 设置 ETag 和 Last-Modified，
      * 设置自定义的响应头。
      *
      * @param response {@link DownloadResponse}
@@ -105,9 +242,11 @@ public class WriteResponseHandler implements DownloadHandler, DownloadLifecycleL
      * @return 是否继续处理
      */
     public boolean applyHeaders(DownloadResponse response, Resource resource, Range range, DownloadContext context) {
-        //Range处理
-        response.setBytesAcceptRanges();
-        Long length = resource.getLength();
+        //Range处理，大小未知或需要转码时使用分块传输
+        Long length = getLength(resource);
+        if (length != null) {
+            response.setBytesAcceptRanges();
+        }
         if (range == null || length == null || length <= 0) {
             response.setContentLength(length);
         } else {
@@ -170,6 +309,12 @@ public class WriteResponseHandler implements DownloadHandler, DownloadLifecycleL
             response.setContentType(contentType);
         }
 
+        //ETag 和 Last-Modified
+        DownloadValidator validator = context.get(DownloadValidator.class);
+        if (validator != null) {
+            ConditionalRequestHandler.applyHeaders(response, validator);
+        }
+
         //Headers
         Map<String, String> headers = options.getHeaders();
         if (headers != null) {
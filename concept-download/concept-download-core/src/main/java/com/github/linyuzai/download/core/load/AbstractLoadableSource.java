@@ -6,12 +6,12 @@ import com.github.linyuzai.download.core.event.DownloadEventPublisher;
 import com.github.linyuzai.download.core.exception.DownloadException;
 import com.github.linyuzai.download.core.source.AbstractSource;
 import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.file.FileChannelInputStream;
 import com.github.linyuzai.download.core.web.ContentType;
 import lombok.Getter;
 import lombok.SneakyThrows;
 
 import java.io.*;
-import java.nio.file.Files;
 
 /**
  * 支持预加载的 {@link Source}。
@@ -91,8 +91,8 @@ public abstract class AbstractLoadableSource extends AbstractSource {
                 publisher.publish(new SourceLoadedUsingCacheEvent(context, this, cache.getAbsolutePath()));
             } else {
                 //写到缓存文件
-                try (FileOutputStream fos = new FileOutputStream(cache)) {
-                    doLoad(fos, context);
+                try {
+                    doLoad(cache, context);
                 } catch (Throwable e) {
                     if (cache.exists()) {
                         boolean delete = cache.delete();
@@ -146,13 +146,13 @@ public abstract class AbstractLoadableSource extends AbstractSource {
     }
 
     /**
-     * 通过缓存文件获得 {@link FileInputStream}。
+     * 通过缓存文件获得 {@link FileChannelInputStream}。
      *
      * @param cache 缓存文件
-     * @return 缓存文件的 {@link FileInputStream}
+     * @return 缓存文件的 {@link FileChannelInputStream}
      */
     public InputStream getCacheInputStream(File cache) throws IOException {
-        return Files.newInputStream(cache.toPath());
+        return FileChannelInputStream.open(cache);
     }
 
     /**
@@ -168,6 +168,18 @@ public abstract class AbstractLoadableSource extends AbstractSource {
         }
     }
 
+    /**
+     * 加载到缓存文件，默认通过 {@link FileOutputStream} 加载。
+     *
+     * @param cache   缓存文件
+     * @param context {@link DownloadContext}
+     */
+    public void doLoad(File cache, DownloadContext context) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(cache)) {
+            doLoad(fos, context);
+        }
+    }
+
     /**
      * 加载到对应的输出流。
      *
@@ -6,25 +6,32 @@ import com.github.linyuzai.download.core.source.Source;
 import lombok.SneakyThrows;
 
 import java.util.Collection;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.function.Function;
 
+/**
+ * 基于 {@link java.util.concurrent.CompletableFuture} 的 {@link SourceLoader}。
+ */
 public class CompletableFutureSourceLoader extends ConcurrentSourceLoader {
 
+    /**
+     * 通过 {@link SourceLoadScheduler} 在 {@link DownloadExecutor} 中加载，
+     * 没有开启 {@link #isEarlyStart()} 时等待所有的 {@link Source} 加载完成，
+     * 有 {@link Source} 加载失败时取消其他还没有开始加载的 {@link Source}。
+     *
+     * @param sources {@link Source} 集合
+     * @param context {@link DownloadContext}
+     */
     @SneakyThrows
     @Override
     public void concurrentLoad(Collection<Source> sources, DownloadContext context) {
-        Executor executor = DownloadExecutor.getExecutor(context);
-        Function<Source, CompletableFuture<?>> function;
-        if (executor == null) {
-            function = it -> CompletableFuture.runAsync(() -> it.load(context));
-        } else {
-            function = it -> CompletableFuture.runAsync(() -> it.load(context), executor);
+        SourceLoadingTasks tasks = schedule(sources, context, DownloadExecutor.getExecutor(context));
+        if (isEarlyStart()) {
+            return;
+        }
+        try {
+            tasks.awaitAll();
+        } catch (Throwable e) {
+            tasks.cancel();
+            throw e;
         }
-        CompletableFuture<?>[] futures = sources.stream()
-                .map(function)
-                .toArray(CompletableFuture[]::new);
-        CompletableFuture.allOf(futures).get();
     }
 }
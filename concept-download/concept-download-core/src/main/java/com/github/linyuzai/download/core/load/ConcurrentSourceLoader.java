@@ -2,15 +2,38 @@ package com.github.linyuzai.download.core.load;
 
 import com.github.linyuzai.download.core.context.DownloadContext;
 import com.github.linyuzai.download.core.source.Source;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * 支持并发的 {@link SourceLoader}。
+ * <p>
+ * 并发加载通过 {@link SourceLoadScheduler} 调度，限制总并发数和每个主机的并发数。
+ * 开启 {@link #earlyStart} 后不等待所有的 {@link Source} 加载完成，
+ * 将 {@link SourceLoadingTasks} 设置到 {@link DownloadContext} 中，
+ * 压缩时每个 {@link Source} 加载完成后就可以开始压缩。
  */
+@Getter
+@Setter
 public abstract class ConcurrentSourceLoader implements SourceLoader {
 
+    /**
+     * 加载调度器，多个下载共用一个调度器时并发数限制作用于所有的下载
+     */
+    private SourceLoadScheduler scheduler = new SourceLoadScheduler();
+
+    /**
+     * 是否不等待所有的 {@link Source} 加载完成
+     */
+    private boolean earlyStart;
+
     /**
      * 将 {@link Source} 中需要异步加载的部分进行并发加载，
      * 并与同步加载之后的 {@link Source} 合并。
@@ -40,6 +63,26 @@ public abstract class ConcurrentSourceLoader implements SourceLoader {
         }
     }
 
+    /**
+     * 通过 {@link SourceLoadScheduler} 提交所有的 {@link Source}，
+     * 开启 {@link #earlyStart} 时将 {@link SourceLoadingTasks} 设置到 {@link DownloadContext} 中。
+     *
+     * @param sources  {@link Source} 集合
+     * @param context  {@link DownloadContext}
+     * @param executor 执行加载的线程池，可以为 null
+     * @return {@link SourceLoadingTasks}
+     */
+    public SourceLoadingTasks schedule(Collection<Source> sources, DownloadContext context, Executor executor) {
+        Map<Source, CompletableFuture<Source>> futures = new LinkedHashMap<>();
+        for (Source source : sources) {
+            futures.put(source, scheduler.schedule(source, context, executor));
+        }
+        SourceLoadingTasks tasks = new SourceLoadingTasks(futures);
+        if (earlyStart) {
+            context.set(SourceLoadingTasks.class, tasks);
+        }
+        return tasks;
+    }
 
     /**
      * 并发加载。
@@ -0,0 +1,35 @@
+package com.github.linyuzai.download.core.load;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.source.AbstractSourceEvent;
+import com.github.linyuzai.download.core.source.Source;
+import lombok.Getter;
+
+/**
+ * 通过 {@link SourceLoadScheduler} 加载的 {@link Source} 加载结束后会发布该事件。
+ */
+@Getter
+public class SourceLoadLatencyEvent extends AbstractSourceEvent {
+
+    /**
+     * 排队耗时，纳秒
+     */
+    private final long waitTime;
+
+    /**
+     * 加载耗时，纳秒
+     */
+    private final long loadTime;
+
+    /**
+     * 是否加载成功
+     */
+    private final boolean success;
+
+    public SourceLoadLatencyEvent(DownloadContext context, Source source, long waitTime, long loadTime, boolean success) {
+        super(context, source);
+        this.waitTime = waitTime;
+        this.loadTime = loadTime;
+        this.success = success;
+    }
+}
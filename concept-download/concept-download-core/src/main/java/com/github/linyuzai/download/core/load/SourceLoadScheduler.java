@@ -0,0 +1,310 @@
+package com.github.linyuzai.download.core.load;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadEventPublisher;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.http.HttpSource;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Source} 加载调度器。
+ * <p>
+ * 所有的下载共用一个调度器，同时加载的 {@link Source} 不超过 {@link #parallelism}，
+ * 同一个主机同时加载的 {@link Source} 不超过 {@link #hostParallelism}，
+ * 超过限制的 {@link Source} 按照主机排队，轮流从每个主机的队列中取出，不会被一个主机占满。
+ * 排队时不占用线程，加载完成后再提交下一个 {@link Source}。
+ * 每个 {@link Source} 加载完成后发布 {@link SourceLoadLatencyEvent} 事件，记录排队和加载的耗时。
+ */
+public class SourceLoadScheduler {
+
+    /**
+     * 默认的最大并发数
+     */
+    public static final int DEFAULT_PARALLELISM = 16;
+
+    /**
+     * 默认的每个主机最大并发数
+     */
+    public static final int DEFAULT_HOST_PARALLELISM = 6;
+
+    /**
+     * 本地资源等没有主机的 {@link Source}，不限制主机并发数
+     */
+    private static final String NO_HOST = "";
+
+    /**
+     * 最大并发数，小于等于 0 不限制
+     */
+    @Getter
+    @Setter
+    private volatile int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * 每个主机最大并发数，小于等于 0 不限制
+     */
+    @Getter
+    @Setter
+    private volatile int hostParallelism = DEFAULT_HOST_PARALLELISM;
+
+    /**
+     * 按照主机排队的任务，按照轮流的顺序排列
+     */
+    private final LinkedHashMap<String, Deque<Task>> waiting = new LinkedHashMap<>();
+
+    /**
+     * 每个主机正在加载的数量
+     */
+    private final Map<String, Integer> hostRunning = new HashMap<>();
+
+    private int running;
+
+    private int pending;
+
+    private final LongAdder loadedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder waitTime = new LongAdder();
+
+    private final LongAdder loadTime = new LongAdder();
+
+    private final LongAccumulator maxLoadTime = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 提交一个 {@link Source} 的加载。
+     * 取消返回的 {@link CompletableFuture} 时，如果还在排队则不会加载，
+     * 如果正在加载则加载完成后释放资源。
+     *
+     * @param source   {@link Source}
+     * @param context  {@link DownloadContext}
+     * @param executor 执行加载的线程池，为 null 时使用 {@link ForkJoinPool#commonPool()}
+     * @return 加载完成后返回 {@link Source}
+     */
+    public CompletableFuture<Source> schedule(Source source, DownloadContext context, Executor executor) {
+        String host = getHost(source);
+        Task task = new Task(source, context, executor == null ? ForkJoinPool.commonPool() : executor,
+                host == null ? NO_HOST : host);
+        synchronized (this) {
+            waiting.computeIfAbsent(task.host, k -> new ArrayDeque<>()).add(task);
+            pending++;
+        }
+        dispatch();
+        return task.future;
+    }
+
+    /**
+     * 获得 {@link Source} 的主机，用于限制每个主机的并发数。
+     * 默认使用 {@link HttpSource} 的地址中的主机和端口。
+     *
+     * @param source {@link Source}
+     * @return 主机，没有主机时返回 null
+     */
+    protected String getHost(Source source) {
+        if (source instanceof HttpSource) {
+            String url = ((HttpSource) source).getUrl();
+            if (url != null) {
+                try {
+                    return new URL(url).getAuthority();
+                } catch (MalformedURLException ignore) {
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在并发数允许的情况下提交排队的任务。
+     */
+    private void dispatch() {
+        List<Task> tasks = new ArrayList<>();
+        synchronized (this) {
+            Task task;
+            while ((parallelism <= 0 || running < parallelism) && (task = next()) != null) {
+                running++;
+                hostRunning.merge(task.host, 1, Integer::sum);
+                tasks.add(task);
+            }
+        }
+        for (Task task : tasks) {
+            try {
+                task.executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                release(task);
+                task.future.completeExceptionally(e);
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * 依次查找每个主机的队列，取出第一个可以执行的任务，并将该主机移到最后。
+     * 跳过已经被取消的任务。
+     */
+    private Task next() {
+        Iterator<Map.Entry<String, Deque<Task>>> iterator = waiting.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Deque<Task>> entry = iterator.next();
+            String host = entry.getKey();
+            if (!NO_HOST.equals(host) && hostParallelism > 0 &&
+                    hostRunning.getOrDefault(host, 0) >= hostParallelism) {
+                continue;
+            }
+            Deque<Task> queue = entry.getValue();
+            Task task;
+            while ((task = queue.poll()) != null) {
+                pending--;
+                if (!task.future.isDone()) {
+                    break;
+                }
+            }
+            iterator.remove();
+            if (!queue.isEmpty()) {
+                waiting.put(host, queue);
+            }
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void release(Task task) {
+        running--;
+        hostRunning.computeIfPresent(task.host, (k, v) -> v > 1 ? v - 1 : null);
+    }
+
+    /**
+     * 正在加载的数量。
+     *
+     * @return 正在加载的数量
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * 排队的数量，可能包括已经取消的任务。
+     *
+     * @return 排队的数量
+     */
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * 加载成功的数量。
+     *
+     * @return 加载成功的数量
+     */
+    public long getLoadedCount() {
+        return loadedCount.sum();
+    }
+
+    /**
+     * 加载失败的数量。
+     *
+     * @return 加载失败的数量
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 所有 {@link Source} 排队的总耗时，纳秒。
+     *
+     * @return 排队的总耗时
+     */
+    public long getTotalWaitTime() {
+        return waitTime.sum();
+    }
+
+    /**
+     * 所有 {@link Source} 加载的总耗时，纳秒。
+     *
+     * @return 加载的总耗时
+     */
+    public long getTotalLoadTime() {
+        return loadTime.sum();
+    }
+
+    /**
+     * 单个 {@link Source} 加载的最大耗时，纳秒。
+     *
+     * @return 加载的最大耗时
+     */
+    public long getMaxLoadTime() {
+        return maxLoadTime.get();
+    }
+
+    private class Task implements Runnable {
+
+        private final Source source;
+
+        private final DownloadContext context;
+
+        private final Executor executor;
+
+        private final String host;
+
+        private final CompletableFuture<Source> future = new CompletableFuture<>();
+
+        private final long scheduleTime = System.nanoTime();
+
+        Task(Source source, DownloadContext context, Executor executor, String host) {
+            this.source = source;
+            this.context = context;
+            this.executor = executor;
+            this.host = host;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                release(this);
+                dispatch();
+                return;
+            }
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                source.load(context);
+            } catch (Throwable e) {
+                error = e;
+            }
+            long end = System.nanoTime();
+            release(this);
+            dispatch();
+            long wait = start - scheduleTime;
+            long load = end - start;
+            waitTime.add(wait);
+            loadTime.add(load);
+            maxLoadTime.accumulate(load);
+            if (error == null) {
+                loadedCount.increment();
+            } else {
+                failedCount.increment();
+            }
+            DownloadEventPublisher publisher = DownloadEventPublisher.get(context);
+            publisher.publish(new SourceLoadLatencyEvent(context, source, wait, load, error == null));
+            if (error == null) {
+                //已经被取消，不会再被使用
+                if (!future.complete(source)) {
+                    source.release();
+                }
+            } else {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+}
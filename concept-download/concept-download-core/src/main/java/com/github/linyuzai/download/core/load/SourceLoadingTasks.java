@@ -0,0 +1,139 @@
+package com.github.linyuzai.download.core.load;
+
+import com.github.linyuzai.download.core.concept.Part;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.exception.DownloadException;
+import com.github.linyuzai.download.core.source.Source;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一次下载中正在并发加载的 {@link Source}。
+ * <p>
+ * 不等待所有的 {@link Source} 加载完成时会设置到 {@link DownloadContext} 中，
+ * 使用 {@link Source} 之前通过 {@link #await(Part, DownloadContext)} 等待对应的 {@link Source} 加载完成，
+ * 如压缩时每个 {@link Part} 加载完成后就可以开始压缩，不需要等待其他的 {@link Source}。
+ */
+public class SourceLoadingTasks {
+
+    private final Map<Source, CompletableFuture<Source>> futures = new IdentityHashMap<>();
+
+    private final CompletableFuture<Void> all = new CompletableFuture<>();
+
+    public SourceLoadingTasks(Map<Source, CompletableFuture<Source>> futures) {
+        this.futures.putAll(futures);
+        //和 allOf 不同，有一个失败时直接完成
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (CompletableFuture<Source> future : futures.values()) {
+            future.whenComplete((source, e) -> {
+                if (e == null) {
+                    if (remaining.decrementAndGet() == 0) {
+                        all.complete(null);
+                    }
+                } else {
+                    all.completeExceptionally(e);
+                }
+            });
+        }
+        if (futures.isEmpty()) {
+            all.complete(null);
+        }
+    }
+
+    /**
+     * 所有的 {@link Source} 加载完成或有 {@link Source} 加载失败时完成。
+     *
+     * @return {@link CompletableFuture}
+     */
+    public CompletableFuture<Void> getFuture() {
+        return all;
+    }
+
+    /**
+     * 等待 {@link Part} 对应的 {@link Source} 加载完成，不是并发加载的 {@link Source} 则直接返回。
+     *
+     * @param part {@link Part}
+     */
+    public void await(Part part) throws IOException {
+        CompletableFuture<Source> future = futures.get(part);
+        if (future != null) {
+            await(future);
+        }
+    }
+
+    /**
+     * 等待所有的 {@link Source} 加载完成。
+     */
+    public void awaitAll() throws IOException {
+        await(all);
+    }
+
+    /**
+     * 取消还没有开始加载的 {@link Source}，正在加载的 {@link Source} 加载完成后释放资源。
+     */
+    public void cancel() {
+        futures.values().forEach(it -> it.cancel(false));
+    }
+
+    /**
+     * 获得所有并发加载的 {@link Source}。
+     *
+     * @return 并发加载的 {@link Source}
+     */
+    public Collection<Source> getSources() {
+        return futures.keySet();
+    }
+
+    private static void await(CompletableFuture<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading source");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new DownloadException(cause);
+            }
+        }
+    }
+
+    /**
+     * 如果 {@link DownloadContext} 中存在 {@link SourceLoadingTasks}，
+     * 则等待 {@link Part} 对应的 {@link Source} 加载完成。
+     *
+     * @param part    {@link Part}
+     * @param context {@link DownloadContext}
+     */
+    public static void await(Part part, DownloadContext context) throws IOException {
+        SourceLoadingTasks tasks = context.get(SourceLoadingTasks.class);
+        if (tasks != null) {
+            tasks.await(part);
+        }
+    }
+
+    /**
+     * 如果 {@link DownloadContext} 中存在 {@link SourceLoadingTasks}，则等待所有的 {@link Source} 加载完成。
+     *
+     * @param context {@link DownloadContext}
+     */
+    public static void awaitAll(DownloadContext context) throws IOException {
+        SourceLoadingTasks tasks = context.get(SourceLoadingTasks.class);
+        if (tasks != null) {
+            tasks.awaitAll();
+        }
+    }
+}
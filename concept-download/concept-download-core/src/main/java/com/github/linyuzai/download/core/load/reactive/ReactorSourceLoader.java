@@ -2,6 +2,7 @@ package com.github.linyuzai.download.core.load.reactive;
 
 import com.github.linyuzai.download.core.context.DownloadContext;
 import com.github.linyuzai.download.core.load.CompletableFutureSourceLoader;
+import com.github.linyuzai.download.core.load.SourceLoadScheduler;
 import com.github.linyuzai.download.core.load.SourceLoader;
 import com.github.linyuzai.download.core.load.reactive.ReactiveSourceLoader;
 import com.github.linyuzai.download.core.source.Source;
@@ -19,6 +20,16 @@ public class ReactorSourceLoader implements ReactiveSourceLoader {
         this(new CompletableFutureSourceLoader());
     }
 
+    public ReactorSourceLoader(SourceLoadScheduler scheduler) {
+        this(newSourceLoader(scheduler));
+    }
+
+    private static SourceLoader newSourceLoader(SourceLoadScheduler scheduler) {
+        CompletableFutureSourceLoader loader = new CompletableFutureSourceLoader();
+        loader.setScheduler(scheduler);
+        return loader;
+    }
+
     @Override
     public void load(Source source, DownloadContext context) {
         sourceLoader.load(source, context);
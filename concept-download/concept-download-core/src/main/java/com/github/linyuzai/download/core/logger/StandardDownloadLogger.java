@@ -6,13 +6,16 @@ import com.github.linyuzai.download.core.event.DownloadCompletedEvent;
 import com.github.linyuzai.download.core.event.DownloadContextEvent;
 import com.github.linyuzai.download.core.event.DownloadStartedEvent;
 import com.github.linyuzai.download.core.load.SourceAlreadyLoadedEvent;
+import com.github.linyuzai.download.core.load.SourceLoadLatencyEvent;
 import com.github.linyuzai.download.core.load.SourceLoadedEvent;
 import com.github.linyuzai.download.core.load.SourceLoadedUsingCacheEvent;
 import com.github.linyuzai.download.core.source.*;
 import com.github.linyuzai.download.core.utils.DownloadUtils;
+import com.github.linyuzai.download.core.web.ResponseNotModifiedEvent;
 import com.github.linyuzai.download.core.web.ResponseWrittenEvent;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 标准流程日志。
@@ -41,6 +44,12 @@ public class StandardDownloadLogger extends LoggingDownloadEventListener {
                 log(context, "Source created: " + source.getDescription());
             } else if (event instanceof SourceLoadedEvent) {
                 log(context, "Source loaded");
+            } else if (event instanceof SourceLoadLatencyEvent) {
+                SourceLoadLatencyEvent sle = (SourceLoadLatencyEvent) event;
+                log(context, "Source " + (sle.isSuccess() ? "loaded" : "load failed") + ": " +
+                        sle.getSource().getDescription() + " in " +
+                        TimeUnit.NANOSECONDS.toMillis(sle.getLoadTime()) + "ms, waited " +
+                        TimeUnit.NANOSECONDS.toMillis(sle.getWaitTime()) + "ms");
             } else if (event instanceof SourceAlreadyLoadedEvent) {
                 log(context, "Source load skip for already loaded");
             } else if (event instanceof SourceLoadedUsingCacheEvent) {
@@ -51,6 +60,12 @@ public class StandardDownloadLogger extends LoggingDownloadEventListener {
                 Compression compression = ((SourceCompressedEvent) event).getCompression();
                 log(context, "Source compressed " +
                         DownloadUtils.formatCompressedSize(source, compression));
+            } else if (event instanceof SourceCompressionStatisticsEvent) {
+                CompressionStatistics statistics = ((SourceCompressionStatisticsEvent) event).getStatistics();
+                log(context, "Source compressed " + statistics.getEntries() + " entries (" +
+                        statistics.getStoredEntries() + " stored), saved " +
+                        DownloadUtils.format(Math.max(statistics.getSavedBytes(), 0)) + " in " +
+                        TimeUnit.NANOSECONDS.toMillis(statistics.getTime()) + "ms");
             } else if (event instanceof SourceNoCompressionEvent) {
                 log(context, "Source compress skip");
             } else if (event instanceof SourceCompressedUsingCacheEvent) {
@@ -64,8 +79,17 @@ public class StandardDownloadLogger extends LoggingDownloadEventListener {
                 log(context, "Source compress with file '" + file.getAbsolutePath() + "'");
             } else if (event instanceof SourceMemoryCompressionEvent) {
                 log(context, "Source compress in memory");
+            } else if (event instanceof SourceStreamingCompressionEvent) {
+                File cache = ((SourceStreamingCompressionEvent) event).getCache();
+                if (cache == null) {
+                    log(context, "Source compress streaming");
+                } else {
+                    log(context, "Source compress streaming with cache '" + cache.getAbsolutePath() + "'");
+                }
             } else if (event instanceof ResponseWrittenEvent) {
                 log(context, "Response written");
+            } else if (event instanceof ResponseNotModifiedEvent) {
+                log(context, "Response not modified");
             } else if (event instanceof SourceCacheDeletedEvent) {
                 log(context, "Source cache deleted");
             } else if (event instanceof SourceReleasedEvent) {
@@ -40,6 +40,12 @@ public interface ConfigurableDownloadOptions extends DownloadOptions {
 
     void setCompressCacheDelete(boolean delete);
 
+    void setCompressStreaming(boolean streaming);
+
+    void setCompressLevel(int level);
+
+    void setRateLimit(long rateLimit);
+
     void setCharset(Charset charset);
 
     void setHeaders(Map<String, String> headers);
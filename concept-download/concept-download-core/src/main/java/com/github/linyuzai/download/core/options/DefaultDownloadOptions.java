@@ -99,6 +99,22 @@ public class DefaultDownloadOptions implements ConfigurableDownloadOptions {
      */
     boolean compressCacheDelete;
 
+    /**
+     * 是否流式压缩，边压缩边写入响应
+     * 不需要等待压缩完成，响应没有 Content-Length
+     */
+    boolean compressStreaming;
+
+    /**
+     * 压缩级别，0-9，-1 为默认级别
+     */
+    int compressLevel = -1;
+
+    /**
+     * 每秒最多写入响应的字节数，小于等于 0 不限速
+     */
+    long rateLimit;
+
     /**
      * 如果指定了编码，会使用字符流的方式读
      */
@@ -97,6 +97,22 @@ public interface DownloadOptions {
      */
     boolean isCompressCacheDelete();
 
+    /**
+     * 是否流式压缩，边压缩边写入响应
+     * 不需要等待压缩完成，响应没有 Content-Length
+     */
+    boolean isCompressStreaming();
+
+    /**
+     * 压缩级别，0-9，-1 为默认级别
+     */
+    int getCompressLevel();
+
+    /**
+     * 每秒最多写入响应的字节数，小于等于 0 不限速
+     */
+    long getRateLimit();
+
     /**
      * 如果指定了编码，会使用字符流的方式读
      */
@@ -0,0 +1,196 @@
+package com.github.linyuzai.download.core.source.file;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 文件或目录的快照。
+ * <p>
+ * 通过一次 {@link Files#walkFileTree(Path, Set, int, FileVisitor)} 获得所有文件的大小，修改时间和目录结构，
+ * 之后的大小，进度和压缩都使用快照而不再重复遍历目录。
+ * 和 {@link File#listFiles()} 一致，会跟随符号链接，无法访问的目录和循环链接作为空目录。
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+public class DirectorySnapshot {
+
+    /**
+     * 根节点
+     */
+    private final Entry root;
+
+    /**
+     * 文件数量，不包括目录
+     */
+    private final int fileCount;
+
+    /**
+     * 快照的时间
+     */
+    private final long timestamp;
+
+    /**
+     * 获得所有文件的总大小。
+     *
+     * @return 总大小
+     */
+    public long getLength() {
+        return root.getLength();
+    }
+
+    /**
+     * 获得所有文件和目录中最新的修改时间。
+     *
+     * @return 最新的修改时间
+     */
+    public long getLastModified() {
+        return root.getLastModified();
+    }
+
+    /**
+     * 遍历文件或目录获得快照。
+     *
+     * @param file 文件或目录
+     * @return {@link DirectorySnapshot}
+     */
+    public static DirectorySnapshot take(File file) throws IOException {
+        return take(file, null);
+    }
+
+    /**
+     * 遍历文件或目录获得快照，每个目录在读取之前回调。
+     *
+     * @param file        文件或目录
+     * @param onDirectory 目录的回调，可以为 null
+     * @return {@link DirectorySnapshot}
+     */
+    public static DirectorySnapshot take(File file, Consumer<Path> onDirectory) throws IOException {
+        long timestamp = System.currentTimeMillis();
+        SnapshotVisitor visitor = new SnapshotVisitor(onDirectory);
+        Files.walkFileTree(file.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, visitor);
+        if (visitor.root == null) {
+            throw new NoSuchFileException(file.getAbsolutePath());
+        }
+        return new DirectorySnapshot(visitor.root, visitor.fileCount, timestamp);
+    }
+
+    /**
+     * 快照中的文件或目录。
+     */
+    @Getter
+    public static class Entry {
+
+        /**
+         * 文件或目录
+         */
+        private final File file;
+
+        /**
+         * 是否是文件
+         */
+        private final boolean regularFile;
+
+        /**
+         * 文件大小，目录为所有子文件的大小
+         */
+        private long length;
+
+        /**
+         * 修改时间，目录为所有子文件和目录中最新的修改时间
+         */
+        private long lastModified;
+
+        /**
+         * 子文件和目录
+         */
+        private final List<Entry> children;
+
+        protected Entry(File file, boolean regularFile, long length, long lastModified) {
+            this.file = file;
+            this.regularFile = regularFile;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.children = regularFile ? Collections.emptyList() : new ArrayList<>();
+        }
+
+        protected void add(Entry child) {
+            children.add(child);
+            length += child.length;
+            lastModified = Math.max(lastModified, child.lastModified);
+        }
+
+        @Override
+        public String toString() {
+            return "Entry(" + file.getAbsolutePath() + ")";
+        }
+    }
+
+    private static class SnapshotVisitor extends SimpleFileVisitor<Path> {
+
+        private final Consumer<Path> onDirectory;
+
+        private final Deque<Entry> directories = new ArrayDeque<>();
+
+        private Entry root;
+
+        private int fileCount;
+
+        private SnapshotVisitor(Consumer<Path> onDirectory) {
+            this.onDirectory = onDirectory;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (onDirectory != null) {
+                onDirectory.accept(dir);
+            }
+            directories.push(new Entry(dir.toFile(), false, 0, attrs.lastModifiedTime().toMillis()));
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            boolean regularFile = attrs.isRegularFile();
+            if (regularFile) {
+                fileCount++;
+            }
+            add(new Entry(file.toFile(), regularFile, regularFile ? attrs.size() : 0,
+                    attrs.lastModifiedTime().toMillis()));
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            if (e instanceof NoSuchFileException && directories.isEmpty()) {
+                //根节点不存在
+                return FileVisitResult.TERMINATE;
+            }
+            //作为空目录
+            add(new Entry(file.toFile(), false, 0, 0));
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+            add(directories.pop());
+            return FileVisitResult.CONTINUE;
+        }
+
+        private void add(Entry entry) {
+            Entry parent = directories.peek();
+            if (parent == null) {
+                root = entry;
+            } else {
+                parent.add(entry);
+            }
+        }
+    }
+}
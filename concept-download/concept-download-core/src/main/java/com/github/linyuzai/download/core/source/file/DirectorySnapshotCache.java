@@ -0,0 +1,259 @@
+package com.github.linyuzai.download.core.source.file;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * 跨请求缓存 {@link DirectorySnapshot}，通过 {@link WatchService} 监听目录变化。
+ * <p>
+ * 遍历时在读取每个目录之前注册监听，目录中的文件或子目录发生任何变化都会使快照失效，
+ * 下次获取时重新遍历。超过最大数量时移除最久没有使用的快照并取消监听。
+ * 监听不可用时不缓存，每次都重新遍历。
+ * 开始下载时设置到 {@link DownloadContext} 中，由 {@link FileSourceFactory} 设置给 {@link FileSource}。
+ */
+public class DirectorySnapshotCache implements DownloadLifecycleListener, Closeable {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    /**
+     * 最多缓存的目录数量
+     */
+    @Getter
+    private final int maxSize;
+
+    private final Map<File, Holder> holders;
+
+    private final Map<WatchKey, Set<Holder>> watchers = new HashMap<>();
+
+    private WatchService watchService;
+
+    private boolean closed;
+
+    public DirectorySnapshotCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public DirectorySnapshotCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.holders = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 获得目录的快照，存在有效的缓存时直接返回，否则遍历目录并缓存。
+     * 遍历过程中目录发生变化时，返回这次遍历的快照但不缓存。
+     *
+     * @param directory 目录
+     * @return {@link DirectorySnapshot}
+     */
+    public DirectorySnapshot get(File directory) throws IOException {
+        File key = directory.getAbsoluteFile();
+        Holder holder = null;
+        synchronized (this) {
+            Holder exist = holders.get(key);
+            if (exist != null && exist.snapshot != null) {
+                return exist.snapshot;
+            }
+            if (!closed && startWatching()) {
+                holder = new Holder(key, watchService);
+                if (exist != null) {
+                    //正在遍历，使用新的
+                    invalidate(exist);
+                }
+                holders.put(key, holder);
+                evict();
+            }
+        }
+        if (holder == null) {
+            return DirectorySnapshot.take(key);
+        }
+        return take(holder);
+    }
+
+    private DirectorySnapshot take(Holder holder) throws IOException {
+        File key = holder.directory;
+        DirectorySnapshot snapshot;
+        try {
+            snapshot = DirectorySnapshot.take(key, dir -> register(holder, dir));
+        } catch (UncheckedIOException e) {
+            discard(holder);
+            return DirectorySnapshot.take(key);
+        } catch (Throwable e) {
+            discard(holder);
+            throw e;
+        }
+        synchronized (this) {
+            if (!holder.invalid) {
+                holder.snapshot = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 使目录的快照失效。
+     *
+     * @param directory 目录
+     */
+    public synchronized void invalidate(File directory) {
+        Holder holder = holders.get(directory.getAbsoluteFile());
+        if (holder != null) {
+            invalidate(holder);
+        }
+    }
+
+    /**
+     * 获得当前缓存的目录数量。
+     *
+     * @return 缓存的目录数量
+     */
+    public synchronized int size() {
+        return holders.size();
+    }
+
+    /**
+     * 设置到 {@link DownloadContext} 中。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onStart(DownloadContext context) {
+        context.set(DirectorySnapshotCache.class, this);
+    }
+
+    private void register(Holder holder, Path dir) {
+        WatchKey key;
+        try {
+            key = dir.register(holder.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClosedWatchServiceException e) {
+            throw new UncheckedIOException(new IOException(e));
+        }
+        synchronized (this) {
+            if (holder.invalid) {
+                if (!watchers.containsKey(key)) {
+                    key.cancel();
+                }
+                return;
+            }
+            holder.keys.add(key);
+            watchers.computeIfAbsent(key, k -> new HashSet<>()).add(holder);
+        }
+    }
+
+    private boolean startWatching() {
+        if (watchService != null) {
+            return true;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (Throwable e) {
+            return false;
+        }
+        WatchService service = watchService;
+        Thread thread = new Thread(() -> watch(service), "concept-download-snapshot-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private void watch(WatchService service) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            //丢弃事件，只需要知道发生了变化
+            key.pollEvents();
+            synchronized (this) {
+                Set<Holder> set = watchers.get(key);
+                if (set != null) {
+                    for (Holder holder : new ArrayList<>(set)) {
+                        invalidate(holder);
+                    }
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private void evict() {
+        Iterator<Holder> iterator = holders.values().iterator();
+        while (holders.size() > maxSize && iterator.hasNext()) {
+            Holder holder = iterator.next();
+            iterator.remove();
+            holder.invalid = true;
+            unwatch(holder);
+        }
+    }
+
+    private synchronized void discard(Holder holder) {
+        invalidate(holder);
+    }
+
+    private void invalidate(Holder holder) {
+        holder.invalid = true;
+        holder.snapshot = null;
+        holders.remove(holder.directory, holder);
+        unwatch(holder);
+    }
+
+    private void unwatch(Holder holder) {
+        for (WatchKey key : holder.keys) {
+            Set<Holder> set = watchers.get(key);
+            if (set != null) {
+                set.remove(holder);
+                if (set.isEmpty()) {
+                    watchers.remove(key);
+                    key.cancel();
+                }
+            }
+        }
+        holder.keys.clear();
+    }
+
+    /**
+     * 清空缓存并停止监听。
+     */
+    @Override
+    public void close() throws IOException {
+        WatchService service;
+        synchronized (this) {
+            closed = true;
+            for (Holder holder : new ArrayList<>(holders.values())) {
+                invalidate(holder);
+            }
+            service = watchService;
+            watchService = null;
+        }
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Holder {
+
+        private final File directory;
+
+        private final WatchService watchService;
+
+        private final List<WatchKey> keys = new ArrayList<>();
+
+        private DirectorySnapshot snapshot;
+
+        private boolean invalid;
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.linyuzai.download.core.source.file;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 持有 {@link FileChannel} 的 {@link InputStream}。
+ * <p>
+ * 可以通过 {@link #getChannel()} 直接操作文件通道，
+ * {@link #skip(long)} 通过移动通道位置实现，不会读取被跳过的数据。
+ */
+@Getter
+@RequiredArgsConstructor
+public class FileChannelInputStream extends InputStream {
+
+    /**
+     * 持有的 {@link FileChannel}
+     */
+    @NonNull
+    private final FileChannel channel;
+
+    /**
+     * 以只读的方式打开文件。
+     *
+     * @param file 文件
+     * @return {@link FileChannelInputStream}
+     */
+    public static FileChannelInputStream open(File file) throws IOException {
+        return new FileChannelInputStream(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n == 1 ? b[0] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        return channel.read(ByteBuffer.wrap(b, off, len));
+    }
+
+    /**
+     * 移动通道的位置，最多移动到文件末尾。
+     *
+     * @param n 跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long position = channel.position();
+        long newPosition = Math.min(channel.size(), position + n);
+        if (newPosition <= position) {
+            return 0;
+        }
+        channel.position(newPosition);
+        return newPosition - position;
+    }
+
+    @Override
+    public int available() throws IOException {
+        long remaining = channel.size() - channel.position();
+        return (int) Math.max(0, Math.min(remaining, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -4,23 +4,20 @@ import com.github.linyuzai.download.core.concept.AbstractPart;
 import com.github.linyuzai.download.core.concept.Part;
 import com.github.linyuzai.download.core.web.ContentType;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * 支持 {@link File} 的 {@link Part}。
  */
 @Getter
-@RequiredArgsConstructor
 public class FilePart extends AbstractPart {
 
     /**
@@ -39,14 +36,48 @@ public class FilePart extends AbstractPart {
     protected final String path;
 
     /**
-     * 如果 {@link File#isFile()} 则返回 {@link FileInputStream}，
+     * 快照中对应的节点，为 null 时实时获取文件信息
+     */
+    protected final DirectorySnapshot.Entry entry;
+
+    /**
+     * 子节点
+     */
+    protected Collection<Part> children;
+
+    public FilePart(File file, String name, String path) {
+        this(file, name, path, null);
+    }
+
+    public FilePart(DirectorySnapshot.Entry entry, String name, String path) {
+        this(entry.getFile(), name, path, entry);
+    }
+
+    protected FilePart(File file, String name, String path, DirectorySnapshot.Entry entry) {
+        this.file = file;
+        this.name = name;
+        this.path = path;
+        this.entry = entry;
+    }
+
+    /**
+     * 是否是文件，存在快照时使用快照中的信息。
+     *
+     * @return 如果是文件则返回 true
+     */
+    public boolean isFile() {
+        return entry == null ? file.isFile() : entry.isRegularFile();
+    }
+
+    /**
+     * 如果 {@link File#isFile()} 则返回 {@link FileChannelInputStream}，
      * 否则返回 {@link EmptyInputStream}。
      *
-     * @return {@link FileInputStream} 或 {@link EmptyInputStream}
+     * @return {@link FileChannelInputStream} 或 {@link EmptyInputStream}
      */
     @Override
     public InputStream openInputStream() throws IOException {
-        return file.isFile() ? Files.newInputStream(file.toPath()) : new EmptyInputStream();
+        return isFile() ? FileChannelInputStream.open(file) : new EmptyInputStream();
     }
 
     /**
@@ -66,7 +97,7 @@ public class FilePart extends AbstractPart {
      */
     @Override
     public String getPath() {
-        return file.isFile() ? path : path + File.separator;
+        return isFile() ? path : path + File.separator;
     }
 
     /**
@@ -76,7 +107,7 @@ public class FilePart extends AbstractPart {
      */
     @Override
     public String getContentType() {
-        return file.isFile() ? ContentType.file(file) : null;
+        return isFile() ? ContentType.file(file) : null;
     }
 
     /**
@@ -90,23 +121,49 @@ public class FilePart extends AbstractPart {
     }
 
     /**
-     * 如果 {@link File#isFile()} 则返回 {@link File#length()}，否则返回 null。
+     * 如果 {@link File#isFile()} 则返回 {@link File#length()}，否则返回 null，
+     * 存在快照时返回快照中的大小。
      *
      * @return {@link File#length()} 或 null
      */
     @Override
     public Long getLength() {
-        return file.isFile() ? file.length() : null;
+        if (!isFile()) {
+            return null;
+        }
+        return entry == null ? file.length() : entry.getLength();
     }
 
     /**
-     * 获得子目录。
-     * 如果 {@link File#isFile()} 则返回 {@link Collections#emptyList()}。
+     * 获得子目录，第一次获取后缓存起来。
+     * 如果 {@link File#isFile()} 则返回 {@link Collections#emptyList()}，
+     * 存在快照时使用快照中的子节点。
      *
      * @return 子目录
      */
     @Override
     public Collection<Part> getChildren() {
+        if (children == null) {
+            children = entry == null ? listChildren() : snapshotChildren();
+        }
+        return children;
+    }
+
+    protected Collection<Part> snapshotChildren() {
+        List<DirectorySnapshot.Entry> entries = entry.getChildren();
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Collection<Part> parts = new ArrayList<>(entries.size());
+        for (DirectorySnapshot.Entry e : entries) {
+            String childName = e.getFile().getName();
+            String childPath = path + File.separator + childName;
+            parts.add(new FilePart(e, childName, childPath));
+        }
+        return parts;
+    }
+
+    protected Collection<Part> listChildren() {
         if (file.isFile()) {
             return Collections.emptyList();
         }
@@ -125,6 +182,15 @@ public class FilePart extends AbstractPart {
         }
     }
 
+    /**
+     * 获得修改时间，存在快照时使用快照中的修改时间，目录为其中最新的修改时间。
+     *
+     * @return 修改时间
+     */
+    public long getLastModified() {
+        return entry == null ? file.lastModified() : entry.getLastModified();
+    }
+
     @Override
     public String toString() {
         return "FilePart(" + file.getAbsolutePath() + ")";
@@ -2,16 +2,15 @@ package com.github.linyuzai.download.core.source.file;
 
 import com.github.linyuzai.download.core.concept.Part;
 import com.github.linyuzai.download.core.concept.Resource;
+import com.github.linyuzai.download.core.exception.DownloadException;
 import com.github.linyuzai.download.core.source.AbstractSource;
 import com.github.linyuzai.download.core.source.Source;
 import com.github.linyuzai.download.core.web.ContentType;
 import lombok.*;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -36,14 +35,26 @@ public class FileSource extends AbstractSource {
     protected Part part;
 
     /**
-     * 如果 {@link File#isFile()} 则返回 {@link FileInputStream}，
+     * 跨请求缓存目录快照，可以为 null
+     */
+    @Setter(AccessLevel.PROTECTED)
+    protected DirectorySnapshotCache snapshotCache;
+
+    /**
+     * 目录快照
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile DirectorySnapshot snapshot;
+
+    /**
+     * 如果 {@link File#isFile()} 则返回 {@link FileChannelInputStream}，
      * 否则返回 {@link EmptyInputStream}。
      *
-     * @return {@link FileInputStream} 或 {@link EmptyInputStream}
+     * @return {@link FileChannelInputStream} 或 {@link EmptyInputStream}
      */
     @Override
     public InputStream openInputStream() throws IOException {
-        return file.isFile() ? Files.newInputStream(file.toPath()) : new EmptyInputStream();
+        return file.isFile() ? FileChannelInputStream.open(file) : new EmptyInputStream();
     }
 
     /**
@@ -75,29 +86,54 @@ public class FileSource extends AbstractSource {
     }
 
     /**
-     * 如果是文件则返回文件大小，如果是文件夹则返回整个文件夹的大小。
+     * 如果是文件则返回文件大小，如果是文件夹则返回快照中整个文件夹的大小，
+     * 文件不存在时返回 0。
      *
      * @return 文件或整个文件夹大小
      */
     @Override
     public Long getLength() {
-        return length0(file);
+        if (!file.isDirectory()) {
+            return file.length();
+        }
+        return getSnapshot().getLength();
     }
 
-    private long length0(File file) {
-        if (file.isFile()) {
-            return file.length();
-        } else {
-            File[] files = file.listFiles();
-            if (files == null || files.length == 0) {
-                return 0;
-            }
-            long length = 0;
-            for (File f : files) {
-                length += length0(f);
+    /**
+     * 如果是文件则返回修改时间，如果是文件夹则返回快照中最新的修改时间，
+     * 文件不存在时返回 0。
+     *
+     * @return 修改时间
+     */
+    public long getLastModified() {
+        if (!file.isDirectory()) {
+            return file.lastModified();
+        }
+        return getSnapshot().getLastModified();
+    }
+
+    /**
+     * 获得文件夹的快照，第一次获取时遍历文件夹，
+     * 存在 {@link DirectorySnapshotCache} 时使用缓存的快照，
+     * 之后的大小和目录结构都使用同一个快照。
+     *
+     * @return {@link DirectorySnapshot}
+     * @throws DownloadException 遍历文件夹失败，如文件夹不存在
+     */
+    public DirectorySnapshot getSnapshot() {
+        if (snapshot == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    try {
+                        snapshot = snapshotCache == null ?
+                                DirectorySnapshot.take(file) : snapshotCache.get(file);
+                    } catch (IOException e) {
+                        throw new DownloadException("Snapshot failed: '" + file.getAbsolutePath() + "'", e);
+                    }
+                }
             }
-            return length;
         }
+        return snapshot;
     }
 
     /**
@@ -146,7 +182,7 @@ public class FileSource extends AbstractSource {
     }
 
     /**
-     * 实时返回文件目录的结构。
+     * 返回文件目录的结构，文件夹使用快照中的结构。
      *
      * @return 一个文件或整个目录结构
      */
@@ -156,14 +192,18 @@ public class FileSource extends AbstractSource {
             part.release();
         }
         String name = getName();
-        part = new FilePart(file, name, name);
+        if (file.isFile()) {
+            part = new FilePart(file, name, name);
+        } else {
+            part = new FilePart(getSnapshot().getRoot(), name, name);
+        }
         List<Part> parts = new ArrayList<>();
         Resource.addPart(part, parts);
         return parts;
     }
 
     /**
-     * 释放资源。
+     * 释放资源，下次使用时重新获取快照。
      */
     @Override
     public void release() {
@@ -172,6 +212,7 @@ public class FileSource extends AbstractSource {
             part.release();
             part = null;
         }
+        snapshot = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -179,14 +220,22 @@ public class FileSource extends AbstractSource {
 
         private File file;
 
+        private DirectorySnapshotCache snapshotCache;
+
         public B file(File file) {
             this.file = file;
             return (B) this;
         }
 
+        public B snapshotCache(DirectorySnapshotCache snapshotCache) {
+            this.snapshotCache = snapshotCache;
+            return (B) this;
+        }
+
         @Override
         protected T build(T target) {
             target.setFile(file);
+            target.setSnapshotCache(snapshotCache);
             return super.build(target);
         }
 
@@ -30,6 +30,7 @@ public class FileSourceFactory implements SourceFactory {
         return new FileSource.Builder<>()
                 .file(file)
                 .charset(charset)
+                .snapshotCache(context.get(DirectorySnapshotCache.class))
                 .build();
     }
 }
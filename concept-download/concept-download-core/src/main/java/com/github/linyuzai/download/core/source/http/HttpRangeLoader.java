@@ -0,0 +1,303 @@
+package com.github.linyuzai.download.core.source.http;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadEventPublisher;
+import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
+import com.github.linyuzai.download.core.exception.DownloadException;
+import com.github.linyuzai.download.core.load.SourceLoadingProgressEvent;
+import com.github.linyuzai.download.core.write.Progress;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 通过 http 的 Range 请求分块并行加载 {@link HttpSource}。
+ * <p>
+ * 先发送 HEAD 请求获得长度，支持 Range 并且长度不小于 {@link #threshold} 时，
+ * 预先分配缓存文件的大小，每个下载最多 {@link #parallelism} 个线程依次获取分块，
+ * 通过 {@link FileChannel} 写入分块对应的位置。
+ * 分块失败时从已经写入的位置继续请求，最多重试 {@link #retries} 次。
+ * 所有的下载共用 {@link #executor}，线程数即所有下载的总并发数。
+ * 连接通过 {@link HttpURLConnection} 的 keep-alive 缓存复用，
+ * 每个地址缓存的连接数可以通过系统属性 http.maxConnections 配置。
+ */
+@Getter
+@Setter
+public class HttpRangeLoader implements DownloadLifecycleListener {
+
+    /**
+     * 默认的总并发数
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private static volatile ExecutorService defaultExecutor;
+
+    /**
+     * 长度不小于该值时才分块加载
+     */
+    private long threshold = 8 * 1024 * 1024;
+
+    /**
+     * 分块大小
+     */
+    private long chunkSize = 4 * 1024 * 1024;
+
+    /**
+     * 每个下载最多同时请求的分块数
+     */
+    private int parallelism = 4;
+
+    /**
+     * 每个分块最多重试次数
+     */
+    private int retries = 3;
+
+    /**
+     * 执行请求的线程池，为 null 时使用默认的线程池
+     */
+    private Executor executor;
+
+    /**
+     * 获得默认的线程池，线程数为 {@link #DEFAULT_MAX_CONCURRENCY}。
+     *
+     * @return 默认的线程池
+     */
+    public static Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (HttpRangeLoader.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = newExecutor(DEFAULT_MAX_CONCURRENCY);
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * 新建一个固定线程数的线程池，线程空闲时会被回收。
+     *
+     * @param threads 线程数，即总并发数
+     * @return 线程池
+     */
+    public static ExecutorService newExecutor(int threads) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "download-http-range-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 尝试分块并行加载到缓存文件。
+     *
+     * @param source  {@link HttpSource}
+     * @param cache   缓存文件
+     * @param context {@link DownloadContext}
+     * @return 如果不支持 Range 或长度太小则返回 false，此时不会写入缓存文件
+     */
+    public boolean load(HttpSource source, File cache, DownloadContext context) throws IOException {
+        Probe probe = probe(source);
+        if (probe == null || probe.length < threshold || probe.length <= chunkSize) {
+            return false;
+        }
+        Queue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+        for (long start = 0; start < probe.length; start += chunkSize) {
+            chunks.add(new Chunk(start, Math.min(start + chunkSize, probe.length) - 1));
+        }
+        Progress progress = new Progress(probe.length);
+        AtomicBoolean failed = new AtomicBoolean();
+        try (RandomAccessFile file = new RandomAccessFile(cache, "rw")) {
+            file.setLength(probe.length);
+            FileChannel channel = file.getChannel();
+            Executor executorToUse = executor == null ? getDefaultExecutor() : executor;
+            int workers = Math.max(1, Math.min(parallelism, chunks.size()));
+            List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    Chunk chunk;
+                    while (!failed.get() && (chunk = chunks.poll()) != null) {
+                        try {
+                            fetch(source, probe, chunk, channel, progress, failed, context);
+                        } catch (IOException e) {
+                            failed.set(true);
+                            throw new UncheckedIOException(e);
+                        } catch (Throwable e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                    }
+                }, executorToUse));
+            }
+            await(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])), failed);
+        }
+        return true;
+    }
+
+    /**
+     * 发送 HEAD 请求获得长度和校验值。
+     *
+     * @param source {@link HttpSource}
+     * @return 如果不支持 Range 或长度未知则返回 null
+     */
+    protected Probe probe(HttpSource source) throws IOException {
+        HttpURLConnection connection = source.openConnection("HEAD");
+        int code = connection.getResponseCode();
+        drain(connection, code);
+        if (code != HttpURLConnection.HTTP_OK) {
+            return null;
+        }
+        String acceptRanges = connection.getHeaderField("Accept-Ranges");
+        long length = connection.getContentLengthLong();
+        if (acceptRanges == null || !acceptRanges.toLowerCase().contains("bytes") || length <= 0) {
+            return null;
+        }
+        //弱 ETag 不能用于 If-Range
+        String validator = connection.getHeaderField("ETag");
+        if (validator == null || validator.startsWith("W/")) {
+            validator = connection.getHeaderField("Last-Modified");
+        }
+        return new Probe(length, validator);
+    }
+
+    private void fetch(HttpSource source, Probe probe, Chunk chunk, FileChannel channel,
+                       Progress progress, AtomicBoolean failed, DownloadContext context) throws IOException {
+        int attempt = 0;
+        while (chunk.position <= chunk.end) {
+            try {
+                transfer(source, probe, chunk, channel, progress, context);
+            } catch (IOException e) {
+                if (failed.get() || ++attempt > retries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 从分块已经写入的位置开始请求剩余的部分。
+     */
+    private void transfer(HttpSource source, Probe probe, Chunk chunk, FileChannel channel,
+                          Progress progress, DownloadContext context) throws IOException {
+        HttpURLConnection connection = source.openConnection("GET");
+        connection.setRequestProperty("Range", "bytes=" + chunk.position + "-" + chunk.end);
+        if (probe.validator != null) {
+            connection.setRequestProperty("If-Range", probe.validator);
+        }
+        int code = connection.getResponseCode();
+        if (code == HttpURLConnection.HTTP_OK) {
+            //资源已经改变，重试没有意义，不读取完整的响应
+            connection.disconnect();
+            throw new DownloadException("Resource changed while loading: " + source.getUrl());
+        }
+        if (code != HttpURLConnection.HTTP_PARTIAL) {
+            drain(connection, code);
+            throw new IOException("code: " + code + ", range: " + chunk.position + "-" + chunk.end);
+        }
+        DownloadEventPublisher publisher = DownloadEventPublisher.get(context);
+        byte[] bytes = new byte[64 * 1024];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try (InputStream is = connection.getInputStream()) {
+            int n;
+            while (chunk.position <= chunk.end && (n = is.read(bytes)) != -1) {
+                int len = (int) Math.min(n, chunk.end - chunk.position + 1);
+                buffer.clear();
+                buffer.limit(len);
+                long position = chunk.position;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                chunk.position = position;
+                Progress freeze;
+                synchronized (progress) {
+                    progress.update(len);
+                    freeze = progress.freeze();
+                }
+                publisher.publish(new SourceLoadingProgressEvent(context, source, freeze));
+            }
+        }
+        if (chunk.position <= chunk.end) {
+            throw new EOFException("Unexpected end of range: " + chunk.position + "-" + chunk.end);
+        }
+    }
+
+    /**
+     * 读完并关闭响应，使连接可以被复用。
+     */
+    private static void drain(HttpURLConnection connection, int code) {
+        try (InputStream is = code >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            if (is != null) {
+                byte[] bytes = new byte[8 * 1024];
+                while (is.read(bytes) != -1) {
+                }
+            }
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future, AtomicBoolean failed) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            failed.set(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading ranges");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new DownloadException(cause);
+            }
+        }
+    }
+
+    /**
+     * 将 {@link HttpRangeLoader} 设置到 {@link DownloadContext} 中。
+     *
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void onStart(DownloadContext context) {
+        context.set(HttpRangeLoader.class, this);
+    }
+
+    protected static class Probe {
+
+        protected final long length;
+
+        protected final String validator;
+
+        protected Probe(long length, String validator) {
+            this.length = length;
+            this.validator = validator;
+        }
+    }
+
+    private static class Chunk {
+
+        private final long end;
+
+        private long position;
+
+        Chunk(long start, long end) {
+            this.position = start;
+            this.end = end;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.github.linyuzai.download.core.write.DownloadWriterAdapter;
 import lombok.*;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -101,12 +102,40 @@ public class HttpSource extends RemoteLoadableSource {
         }
     }
 
+    /**
+     * 如果存在 {@link HttpRangeLoader} 则尝试分块并行加载到缓存文件，
+     * 不支持时按照原来的方式加载。
+     *
+     * @param cache   缓存文件
+     * @param context {@link DownloadContext}
+     */
+    @Override
+    public void doLoad(File cache, DownloadContext context) throws IOException {
+        HttpRangeLoader loader = context.get(HttpRangeLoader.class);
+        if (loader == null || !loader.load(this, cache, context)) {
+            super.doLoad(cache, context);
+        }
+    }
+
     private HttpURLConnection getConnection() throws IOException {
+        HttpURLConnection connection = openConnection("GET");
+        connection.setDoOutput(true);
+        connection.connect();
+        return connection;
+    }
+
+    /**
+     * 创建一个设置了请求头和超时时间的连接，还没有连接。
+     * 读完并关闭 {@link InputStream} 后连接会被 {@link HttpURLConnection} 复用。
+     *
+     * @param method 请求方法
+     * @return {@link HttpURLConnection}
+     */
+    public HttpURLConnection openConnection(String method) throws IOException {
         URL u = new URL(url);
         HttpURLConnection connection = (HttpURLConnection) u.openConnection();
-        connection.setRequestMethod("GET");
+        connection.setRequestMethod(method);
         connection.setDoInput(true);
-        connection.setDoOutput(true);
         if (headers != null) {
             for (Map.Entry<String, String> entry : headers.entrySet()) {
                 connection.setRequestProperty(entry.getKey(), entry.getValue());
@@ -114,7 +143,6 @@ public class HttpSource extends RemoteLoadableSource {
         }
         connection.setConnectTimeout(connectTimeout);
         connection.setReadTimeout(readTimeout);
-        connection.connect();
         return connection;
     }
 
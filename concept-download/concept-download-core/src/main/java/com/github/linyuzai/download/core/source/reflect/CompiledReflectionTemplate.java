@@ -0,0 +1,261 @@
+package com.github.linyuzai.download.core.source.reflect;
+
+import com.github.linyuzai.download.core.source.Source;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 编译访问器的反射模版。
+ * <p>
+ * 创建模版时将模型的方法和字段编译为 {@link Reflector}，
+ * 每种 {@link Source} 第一次设置时查找对应的方法或字段并编译为 {@link Accessor} 缓存起来，
+ * 之后转换模型不再查找方法和字段。
+ * 公共的方法通过 {@link LambdaMetafactory} 生成实现，其他通过 {@link MethodHandle} 调用。
+ */
+public class CompiledReflectionTemplate extends ReflectionTemplate {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType REFLECTOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * {@link Source} 类型对应的 {@link Accessor}
+     */
+    protected final Map<Class<?>, Accessor[]> accessorMap = new ConcurrentHashMap<>();
+
+    public CompiledReflectionTemplate(Class<?> clazz) {
+        this(clazz, isReflectSuper(clazz));
+    }
+
+    public CompiledReflectionTemplate(Class<?> clazz, boolean reflectSuper) {
+        super(clazz, reflectSuper);
+        reflectorMap.replaceAll((annotation, reflector) -> compile(reflector));
+    }
+
+    /**
+     * 通过缓存的 {@link Accessor} 将模型的值设置到 {@link Source}，
+     * 如果值类型不匹配则尝试进行值转换。
+     *
+     * @param model  模型
+     * @param source {@link Source}
+     */
+    @Override
+    public void reflect(Object model, Source source) {
+        Accessor[] accessors = accessorMap.computeIfAbsent(source.getClass(), this::newAccessors);
+        for (Accessor accessor : accessors) {
+            Object value = accessor.getReflector().reflect(model);
+            Class<?> type = accessor.getType();
+            if (value != null && !type.isInstance(value)) {
+                value = convertValue(value, type);
+            }
+            accessor.getSetter().accept(source, value);
+        }
+    }
+
+    /**
+     * 查找 {@link Source} 中对应的方法或字段，优先使用方法。
+     *
+     * @param sourceClass {@link Source} 类型
+     * @return {@link Accessor} 数组
+     */
+    protected Accessor[] newAccessors(Class<?> sourceClass) {
+        List<Accessor> accessors = new ArrayList<>();
+        for (Map.Entry<Class<? extends Annotation>, Reflector> entry : reflectorMap.entrySet()) {
+            SourceReflection reflection = entry.getKey().getAnnotation(SourceReflection.class);
+            Accessor accessor = newAccessor(reflection, sourceClass, entry.getValue());
+            if (accessor != null) {
+                accessors.add(accessor);
+            }
+        }
+        return accessors.toArray(new Accessor[0]);
+    }
+
+    protected Accessor newAccessor(SourceReflection reflection, Class<?> sourceClass, Reflector reflector) {
+        String methodName = reflection.methodName();
+        if (!methodName.isEmpty()) {
+            Class<?> parameterType = reflection.methodParameterType();
+            Method method = getReflectMethod(sourceClass, methodName, parameterType);
+            if (method != null) {
+                return new Accessor(reflector, compileSetter(method), parameterType);
+            }
+        }
+        String fieldName = reflection.fieldName();
+        if (!fieldName.isEmpty()) {
+            Field field = getReflectField(sourceClass, fieldName);
+            if (field != null) {
+                return new Accessor(reflector, compileSetter(field), field.getType());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 编译模型的 {@link Reflector}。
+     *
+     * @param reflector {@link FieldReflector} 或 {@link MethodReflector}
+     * @return 编译后的 {@link Reflector}，不支持时返回原来的 {@link Reflector}
+     */
+    protected Reflector compile(Reflector reflector) {
+        try {
+            if (reflector instanceof MethodReflector) {
+                Method method = ((MethodReflector) reflector).getMethod();
+                MethodHandle handle = LOOKUP.unreflect(method);
+                if (isLambdaSupported(method)) {
+                    return lambda(Reflector.class, "reflect", REFLECTOR_TYPE, handle, handle.type().wrap());
+                }
+                return new MethodHandleReflector(handle.asType(REFLECTOR_TYPE));
+            } else if (reflector instanceof FieldReflector) {
+                Field field = ((FieldReflector) reflector).getField();
+                return new MethodHandleReflector(LOOKUP.unreflectGetter(field).asType(REFLECTOR_TYPE));
+            }
+        } catch (Throwable ignore) {
+        }
+        return reflector;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected BiConsumer<Object, Object> compileSetter(Method method) {
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (isLambdaSupported(method)) {
+                MethodType instantiated = handle.type().wrap().changeReturnType(void.class);
+                return lambda(BiConsumer.class, "accept", SETTER_TYPE, handle, instantiated);
+            }
+            return new MethodHandleSetter(handle.asType(SETTER_TYPE));
+        } catch (Throwable e) {
+            return new MethodSetter(method);
+        }
+    }
+
+    protected BiConsumer<Object, Object> compileSetter(Field field) {
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        try {
+            return new MethodHandleSetter(LOOKUP.unreflectSetter(field).asType(SETTER_TYPE));
+        } catch (Throwable e) {
+            //final 字段
+            return new FieldSetter(field);
+        }
+    }
+
+    /**
+     * 公共类中的公共方法，并且类加载器可以加载到该类时可以生成实现。
+     *
+     * @param method 方法
+     * @return 如果可以生成实现则返回 true
+     */
+    protected boolean isLambdaSupported(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) ||
+                !Modifier.isPublic(declaringClass.getModifiers())) {
+            return false;
+        }
+        try {
+            ClassLoader classLoader = CompiledReflectionTemplate.class.getClassLoader();
+            return Class.forName(declaringClass.getName(), false, classLoader) == declaringClass;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T lambda(Class<T> type, String name, MethodType samType, MethodHandle handle,
+                           MethodType instantiatedType) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, name, MethodType.methodType(type),
+                samType, handle, instantiatedType);
+        return (T) site.getTarget().invoke();
+    }
+
+    /**
+     * 模型的值和 {@link Source} 的设置方式。
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Accessor {
+
+        /**
+         * 获得模型的值
+         */
+        private final Reflector reflector;
+
+        /**
+         * 设置 {@link Source} 的值
+         */
+        private final BiConsumer<Object, Object> setter;
+
+        /**
+         * 需要设置的值的类型
+         */
+        private final Class<?> type;
+    }
+
+    @RequiredArgsConstructor
+    private static class MethodHandleReflector implements Reflector {
+
+        private final MethodHandle handle;
+
+        @SneakyThrows
+        @Override
+        public Object reflect(Object model) {
+            return handle.invokeExact(model);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class MethodHandleSetter implements BiConsumer<Object, Object> {
+
+        private final MethodHandle handle;
+
+        @SneakyThrows
+        @Override
+        public void accept(Object target, Object value) {
+            handle.invokeExact(target, value);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class MethodSetter implements BiConsumer<Object, Object> {
+
+        private final Method method;
+
+        @SneakyThrows
+        @Override
+        public void accept(Object target, Object value) {
+            method.invoke(target, value);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class FieldSetter implements BiConsumer<Object, Object> {
+
+        private final Field field;
+
+        @SneakyThrows
+        @Override
+        public void accept(Object target, Object value) {
+            field.set(target, value);
+        }
+    }
+}
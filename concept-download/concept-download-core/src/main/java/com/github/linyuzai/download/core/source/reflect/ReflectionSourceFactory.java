@@ -4,6 +4,8 @@ import com.github.linyuzai.download.core.context.DownloadContext;
 import com.github.linyuzai.download.core.source.Source;
 import com.github.linyuzai.download.core.source.SourceFactory;
 import com.github.linyuzai.download.core.source.SourceFactoryAdapter;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,10 +13,17 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * 支持反射 {@link SourceFactory}。
  */
+@Getter
+@Setter
 public class ReflectionSourceFactory implements SourceFactory {
 
     private final Map<Class<?>, ReflectionTemplate> reflectionTemplateMap = new ConcurrentHashMap<>();
 
+    /**
+     * 是否使用 {@link CompiledReflectionTemplate}
+     */
+    private boolean compiled = true;
+
     /**
      * 类上是否标记了 {@link SourceModel}。
      *
@@ -49,12 +58,13 @@ public class ReflectionSourceFactory implements SourceFactory {
     }
 
     /**
-     * 新建一个 {@link ReflectionTemplate}。
+     * 新建一个 {@link ReflectionTemplate}，
+     * 如果 compiled 为 true 则新建 {@link CompiledReflectionTemplate}。
      *
      * @param clazz 模型类
      * @return 新建的 {@link ReflectionTemplate}
      */
     protected ReflectionTemplate newTemplate(Class<?> clazz) {
-        return new ReflectionTemplate(clazz);
+        return compiled ? new CompiledReflectionTemplate(clazz) : new ReflectionTemplate(clazz);
     }
 }
@@ -13,6 +13,15 @@ public interface DownloadRequest {
      */
     String getHeader(String name);
 
+    /**
+     * 获得请求方法。
+     *
+     * @return 请求方法，未知时返回 null
+     */
+    default String getMethod() {
+        return null;
+    }
+
     /**
      * 通过 'Range' 请求头获得 {@link Range}。
      *
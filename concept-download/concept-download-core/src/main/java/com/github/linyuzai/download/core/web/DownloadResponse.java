@@ -1,5 +1,7 @@
 package com.github.linyuzai.download.core.web;
 
+import com.github.linyuzai.download.core.compress.Compression;
+import com.github.linyuzai.download.core.write.DownloadWriter;
 import lombok.SneakyThrows;
 import reactor.core.publisher.Mono;
 
@@ -22,6 +24,23 @@ public interface DownloadResponse {
      */
     Object write(Consumer<OutputStream> consumer, Supplier<Object> next, Runnable onComplete) throws IOException;
 
+    /**
+     * 直接写入 {@link Compression}，不经过 {@link OutputStream}。
+     * 只在不需要转码和限速的时候调用，
+     * 返回 null 表示不支持，将通过 {@link #write(Consumer, Supplier, Runnable)} 写入。
+     *
+     * @param compression {@link Compression}
+     * @param range       {@link Range}
+     * @param callback    回调当前进度和增长的大小
+     * @param next        下一个处理器
+     * @param onComplete  写入完成的回调
+     * @return {@link Void} 的 {@link Mono} 或 null
+     */
+    default Object write(Compression compression, Range range, DownloadWriter.Callback callback,
+                         Supplier<Object> next, Runnable onComplete) throws IOException {
+        return null;
+    }
+
     /**
      * 设置状态码。
      *
@@ -0,0 +1,138 @@
+package com.github.linyuzai.download.core.web;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * 下载内容的验证器，对应 'ETag' 和 'Last-Modified' 响应头。
+ * <p>
+ * 响应的数据和资源完全一致时使用强验证器，支持 'If-Range'；
+ * 压缩等数据可能不完全一致时使用弱验证器，只用于判断是否需要重新下载。
+ */
+@Getter
+@ToString
+public class DownloadValidator {
+
+    private static final DateTimeFormatter HTTP_DATE =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    /**
+     * 不包括引号和弱验证器前缀的标签
+     */
+    private final String tag;
+
+    /**
+     * 是否是弱验证器
+     */
+    private final boolean weak;
+
+    /**
+     * 最后修改时间，毫秒，可能为 null
+     */
+    private final Long lastModified;
+
+    public DownloadValidator(String tag, boolean weak, Long lastModified) {
+        this.tag = tag;
+        this.weak = weak;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 获得 'ETag' 响应头的值。
+     *
+     * @return 如 "abc" 或 W/"abc"
+     */
+    public String getETag() {
+        return (weak ? "W/\"" : "\"") + tag + "\"";
+    }
+
+    /**
+     * 获得 'Last-Modified' 响应头的值。
+     *
+     * @return HTTP 日期或 null
+     */
+    public String getLastModifiedHeader() {
+        return lastModified == null ? null : HTTP_DATE.format(Instant.ofEpochMilli(lastModified));
+    }
+
+    /**
+     * 根据 'If-None-Match' 和 'If-Modified-Since' 请求头判断客户端的数据是否没有变化。
+     * 存在 'If-None-Match' 时忽略 'If-Modified-Since'。
+     *
+     * @param request {@link DownloadRequest}
+     * @return 如果没有变化则返回 true
+     */
+    public boolean isNotModified(DownloadRequest request) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch);
+        }
+        String ifModifiedSince = request.getHeader("If-Modified-Since");
+        if (ifModifiedSince != null && lastModified != null) {
+            Long since = parseDate(ifModifiedSince);
+            return since != null && lastModified / 1000 <= since / 1000;
+        }
+        return false;
+    }
+
+    /**
+     * 使用弱比较判断 'If-None-Match' 中是否存在匹配的标签。
+     *
+     * @param ifNoneMatch 'If-None-Match' 请求头
+     * @return 如果匹配则返回 true
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        for (String value : ifNoneMatch.split(",")) {
+            String et = value.trim();
+            if (et.startsWith("W/")) {
+                et = et.substring(2);
+            }
+            if (et.equals("\"" + tag + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 根据 'If-Range' 请求头判断是否可以按照 'Range' 返回部分数据。
+     * 标签使用强比较，日期需要和最后修改时间一致，弱验证器都不匹配。
+     *
+     * @param ifRange 'If-Range' 请求头
+     * @return 如果可以返回部分数据则返回 true
+     */
+    public boolean matchesRange(String ifRange) {
+        if (weak) {
+            return false;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(getETag());
+        }
+        Long date = parseDate(value);
+        return date != null && lastModified != null && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * 解析 HTTP 日期。
+     *
+     * @param value 日期
+     * @return 毫秒或 null
+     */
+    public static Long parseDate(String value) {
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+}
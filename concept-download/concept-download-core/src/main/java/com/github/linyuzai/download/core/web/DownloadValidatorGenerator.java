@@ -0,0 +1,21 @@
+package com.github.linyuzai.download.core.web;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.source.Source;
+
+/**
+ * {@link DownloadValidator} 生成器，在加载 {@link Source} 之前调用。
+ *
+ * @see MetadataDownloadValidatorGenerator
+ */
+public interface DownloadValidatorGenerator {
+
+    /**
+     * 生成 {@link DownloadValidator}。
+     *
+     * @param source  {@link Source}
+     * @param context {@link DownloadContext}
+     * @return {@link DownloadValidator}，无法生成时返回 null
+     */
+    DownloadValidator generate(Source source, DownloadContext context);
+}
@@ -0,0 +1,97 @@
+package com.github.linyuzai.download.core.web;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.exception.DownloadException;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.file.FileSource;
+import com.github.linyuzai.download.core.source.multiple.MultipleSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 基于元数据的 {@link DownloadValidatorGenerator}。
+ * <p>
+ * 只支持不需要加载就能获得修改时间的本地文件和目录，其他 {@link Source} 不生成。
+ * 不压缩时使用大小和修改时间作为强验证器；
+ * 需要压缩时对资源描述，大小，修改时间，压缩格式和密码计算摘要作为弱验证器。
+ */
+public class MetadataDownloadValidatorGenerator implements DownloadValidatorGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public DownloadValidator generate(Source source, DownloadContext context) {
+        Long lastModified = getLastModified(source);
+        if (lastModified == null) {
+            return null;
+        }
+        Long length = source.getLength();
+        if (length == null) {
+            return null;
+        }
+        DownloadOptions options = DownloadOptions.get(context);
+        if (source.isSingle() && !options.isForceCompress()) {
+            String tag = Long.toHexString(lastModified) + "-" + Long.toHexString(length);
+            return new DownloadValidator(tag, false, lastModified);
+        }
+        MessageDigest digest = newDigest();
+        update(digest, source.getDescription());
+        update(digest, String.valueOf(length));
+        update(digest, String.valueOf(lastModified));
+        update(digest, options.getCompressFormat());
+        update(digest, options.getCompressPassword());
+        return new DownloadValidator(hex(digest.digest()), true, lastModified);
+    }
+
+    /**
+     * 获得修改时间，{@link MultipleSource} 为其中最新的修改时间。
+     *
+     * @param source {@link Source}
+     * @return 修改时间，不支持时返回 null
+     */
+    protected Long getLastModified(Source source) {
+        if (source instanceof FileSource) {
+            FileSource fs = (FileSource) source;
+            return fs.getFile().exists() ? fs.getLastModified() : null;
+        } else if (source instanceof MultipleSource) {
+            long lastModified = 0;
+            for (Source s : ((MultipleSource) source).getSources()) {
+                Long l = getLastModified(s);
+                if (l == null) {
+                    return null;
+                }
+                lastModified = Math.max(lastModified, l);
+            }
+            return lastModified;
+        } else {
+            return null;
+        }
+    }
+
+    protected MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DownloadException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
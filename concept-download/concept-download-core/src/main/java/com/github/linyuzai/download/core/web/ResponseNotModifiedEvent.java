@@ -0,0 +1,19 @@
+package com.github.linyuzai.download.core.web;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadContextEvent;
+import lombok.Getter;
+
+/**
+ * 客户端的数据没有变化，响应 304 后会发布该事件。
+ */
+@Getter
+public class ResponseNotModifiedEvent extends DownloadContextEvent {
+
+    private final DownloadValidator validator;
+
+    public ResponseNotModifiedEvent(DownloadContext context, DownloadValidator validator) {
+        super(context);
+        this.validator = validator;
+    }
+}
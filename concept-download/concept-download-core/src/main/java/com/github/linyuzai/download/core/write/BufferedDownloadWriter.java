@@ -22,6 +22,17 @@ public class BufferedDownloadWriter implements DownloadWriter {
 
     private int maxBufferSize = 8 * 1024 * 1024;
 
+    /**
+     * 有编码时使用的转码写入器 / Writer used to transcode if the charset is existed
+     */
+    @NonNull
+    private DownloadWriter transcodingWriter = new TranscodingDownloadWriter();
+
+    public BufferedDownloadWriter(int minBufferSize, int maxBufferSize) {
+        this.minBufferSize = minBufferSize;
+        this.maxBufferSize = maxBufferSize;
+    }
+
     /**
      * 返回true / Return true
      *
@@ -36,7 +47,7 @@ public class BufferedDownloadWriter implements DownloadWriter {
 
     /**
      * 如果编码为 null 则使用字节流处理 / Byte stream is used if the charset is null
-     * 如果有编码则使用字符流处理 / Char stream is used if the charset is existed
+     * 如果有编码则使用 {@link #transcodingWriter} 处理 / {@link #transcodingWriter} is used if the charset is existed
      *
      * @param is      输入流 / Input stream
      * @param os      输出流 / Output stream
@@ -83,20 +94,8 @@ public class BufferedDownloadWriter implements DownloadWriter {
                 }
             }
         } else {
-            InputStreamReader isr = new InputStreamReader(is, charset);
-            BufferedReader br = new BufferedReader(isr, minBufferSize);
-            int len;
-            char[] chars = new char[minBufferSize];
-            char[] result = new char[0];
-            while ((len = br.read(chars)) > 0) {
-                result = concat(result, chars, len);
-            }
-            String string = new String(result);
-            byte[] bytes = string.getBytes(charset);
-            if (callback != null) {
-                callback.onWrite(bytes.length, bytes.length);
-            }
-            os.write(bytes);
+            //流式转码 / Transcode as a stream
+            transcodingWriter.write(is, os, range, charset, length, callback);
         }
     }
 
@@ -130,11 +129,4 @@ public class BufferedDownloadWriter implements DownloadWriter {
             return buffer;
         }
     }
-
-    private char[] concat(char[] current, char[] append, int length) {
-        char[] newChars = new char[current.length + length];
-        System.arraycopy(current, 0, newChars, 0, current.length);
-        System.arraycopy(append, 0, newChars, current.length, length);
-        return newChars;
-    }
 }
@@ -0,0 +1,172 @@
+package com.github.linyuzai.download.core.write;
+
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.event.DownloadLifecycleListener;
+import com.github.linyuzai.download.core.options.DownloadOptions;
+import lombok.Getter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 下载限速 / Download rate limiter
+ * 包装响应的输出流，所有的写入器都会被限速 / Wrap the output stream of response so that all writers are limited
+ * 单个下载的限速来自 {@link DownloadOptions#getRateLimit()} / Rate of each download is from {@link DownloadOptions#getRateLimit()}
+ * 全局限速由所有同时进行的下载共享 / Global rate is shared by all concurrent downloads
+ * 同时进行的下载平分全局的速率 / Concurrent downloads share the global rate fairly
+ * 没有限速时不会包装输出流 / Output stream is not wrapped if not limited
+ */
+public class DownloadRateLimiter implements DownloadLifecycleListener {
+
+    /**
+     * 所有下载共享的每秒最多写入的字节数 / Max bytes per second shared by all downloads
+     */
+    @Getter
+    private long globalRate;
+
+    private volatile TokenBucket globalBucket;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * 设置全局限速，小于等于 0 不限速 / Set the global rate, not limited if less than or equal to 0
+     *
+     * @param globalRate 每秒最多写入的字节数 / Max bytes per second
+     */
+    public void setGlobalRate(long globalRate) {
+        this.globalRate = globalRate;
+        this.globalBucket = globalRate > 0 ? new TokenBucket(globalRate) : null;
+    }
+
+    /**
+     * 包装输出流，写入结束后需要关闭返回的输出流 / Wrap the output stream, the returned one should be closed after writing
+     *
+     * @param os      输出流 / Output stream
+     * @param context 下载上下文 / Context of download
+     * @return 限速的输出流，没有限速时返回原输出流 / Rate limited output stream, or the original if not limited
+     */
+    public OutputStream wrap(OutputStream os, DownloadContext context) {
+        if (!isLimited(context)) {
+            return os;
+        }
+        return new RateLimitedOutputStream(os, getRate(context));
+    }
+
+    /**
+     * 下载是否需要限速 / Whether the download is rate limited
+     *
+     * @param context 下载上下文 / Context of download
+     * @return 需要限速则返回 true / Return true if limited
+     */
+    public boolean isLimited(DownloadContext context) {
+        return getRate(context) > 0 || globalBucket != null;
+    }
+
+    private long getRate(DownloadContext context) {
+        DownloadOptions options = DownloadOptions.get(context);
+        return options == null ? 0 : options.getRateLimit();
+    }
+
+    /**
+     * 获得正在写入的限速的下载数量 / Get the count of rate limited downloads being written
+     *
+     * @return 正在写入的下载数量 / Count of downloads being written
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * 设置到下载上下文中 / Set into the context of download
+     *
+     * @param context 下载上下文 / Context of download
+     */
+    @Override
+    public void onStart(DownloadContext context) {
+        context.set(DownloadRateLimiter.class, this);
+    }
+
+    /**
+     * 限速的输出流 / Rate limited output stream
+     * 按照单个下载的速率和平分的全局速率中较小的一个控制写入的间隔 / Pace the writing by the smaller of the rate of download and the fair share of the global rate
+     * 同时从全局的令牌桶获取令牌，保证总速率不超过全局限速 / Tokens are also acquired from the global bucket so that the total rate does not exceed the global limit
+     */
+    public class RateLimitedOutputStream extends FilterOutputStream {
+
+        /**
+         * 单个下载每秒最多写入的字节数 / Max bytes per second of this download
+         */
+        private final long rate;
+
+        /**
+         * 每次最多写入的字节数 / Max bytes written each time
+         */
+        private final int quantum;
+
+        /**
+         * 下一次可以写入的时间 / Time of the next writing allowed
+         */
+        private long next = System.nanoTime();
+
+        private boolean closed;
+
+        public RateLimitedOutputStream(OutputStream os, long rate) {
+            super(os);
+            this.rate = rate > 0 ? rate : Long.MAX_VALUE;
+            long min = globalRate > 0 ? Math.min(this.rate, globalRate) : this.rate;
+            this.quantum = (int) Math.max(1024, Math.min(64 * 1024, min / 50));
+            active.incrementAndGet();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            acquire(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, quantum);
+                acquire(n);
+                out.write(b, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void acquire(int permits) throws IOException {
+            TokenBucket global = globalBucket;
+            long rateToUse = rate;
+            if (global != null) {
+                rateToUse = Math.min(rateToUse, global.getRate() / Math.max(1, active.get()));
+            }
+            long now = System.nanoTime();
+            if (next < now) {
+                next = now;
+            }
+            long wait = next - now;
+            if (rateToUse != Long.MAX_VALUE) {
+                next += permits * TimeUnit.SECONDS.toNanos(1) / Math.max(1, rateToUse);
+            }
+            if (global != null) {
+                wait = Math.max(wait, global.reserve(permits));
+            }
+            TokenBucket.sleep(wait);
+        }
+
+        /**
+         * 不关闭被包装的输出流，只结束限速 / The wrapped output stream is not closed, only the limiting is finished
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                active.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.linyuzai.download.core.write;
+
+import com.github.linyuzai.download.core.compress.FileCompression;
+import com.github.linyuzai.download.core.compress.NoCompression;
+import com.github.linyuzai.download.core.concept.Resource;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.source.file.FileChannelInputStream;
+import com.github.linyuzai.download.core.web.Range;
+import lombok.*;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * 使用 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 的写入器 / Writer using FileChannel#transferTo
+ * 数据不经过堆内存，Range 通过移动通道位置处理 / Bytes bypass the heap and range is served by seeking
+ * 不是文件或需要编码时使用 {@link BufferedDownloadWriter} / Fallback to BufferedDownloadWriter if not a file or charset is existed
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FileChannelDownloadWriter implements DownloadWriter {
+
+    /**
+     * 每次传输的最大字节数，每次传输后回调进度 / Max bytes per transfer, progress is called back after each transfer
+     */
+    private long transferSize = 8 * 1024 * 1024;
+
+    /**
+     * 回退的写入器 / Writer to fallback
+     */
+    @NonNull
+    private DownloadWriter delegate = new BufferedDownloadWriter();
+
+    /**
+     * 文件压缩和不压缩时可能持有文件 / File compression and no compression may hold files
+     *
+     * @param resource 可下载的资源 / Resource can be downloaded
+     * @param context  下载上下文 / Context of download
+     * @return 是否可能持有文件 / Whether may hold files
+     */
+    @Override
+    public boolean support(Resource resource, DownloadContext context) {
+        return resource instanceof FileCompression || resource instanceof NoCompression;
+    }
+
+    /**
+     * 如果是 {@link FileChannelInputStream} 并且编码为 null 则直接传输文件通道 / Transfer the file channel directly if the input stream is FileChannelInputStream and the charset is null
+     * 否则使用回退的写入器 / Otherwise use the fallback writer
+     *
+     * @param is      输入流 / Input stream
+     * @param os      输出流 / Output stream
+     * @param range   写入的范围 / Range of writing
+     * @param charset 编码 / Charset
+     * @param length  总字节数，可能为0 / Total bytes count, may be 0
+     */
+    @Override
+    public void write(InputStream is, OutputStream os, Range range, Charset charset, Long length, Callback callback) throws IOException {
+        if (charset == null && is instanceof FileChannelInputStream) {
+            transfer(((FileChannelInputStream) is).getChannel(), os, range, callback);
+        } else {
+            delegate.write(is, os, range, charset, length, callback);
+        }
+    }
+
+    private void transfer(FileChannel channel, OutputStream os, Range range, Callback callback) throws IOException {
+        long size = channel.size();
+        long position = channel.position();
+        long count = size - position;
+        if (range != null) {
+            if (range.hasStart()) {
+                position += range.getStart();
+                count = range.hasEnd() ? range.getLength() : size - position;
+            } else if (range.hasEnd()) {
+                //后缀范围，最后的 n 个字节 / Suffix range, the last n bytes
+                position = Math.max(position, size - range.getEnd());
+                count = size - position;
+            }
+        }
+        count = Math.min(count, size - position);
+        if (count <= 0) {
+            return;
+        }
+        //输出流不需要关闭 / Output stream need not be closed
+        WritableByteChannel target = os instanceof FileOutputStream ?
+                ((FileOutputStream) os).getChannel() : Channels.newChannel(os);
+        long current = 0;
+        while (current < count) {
+            long transferred = channel.transferTo(position + current,
+                    Math.min(transferSize, count - current), target);
+            if (transferred <= 0) {
+                //文件被截断 / File is truncated
+                if (position + current >= channel.size()) {
+                    break;
+                }
+                continue;
+            }
+            current += transferred;
+            if (callback != null) {
+                callback.onWrite(current, transferred);
+            }
+        }
+        channel.position(position + current);
+    }
+}
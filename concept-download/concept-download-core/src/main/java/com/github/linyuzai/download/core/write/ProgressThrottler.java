@@ -0,0 +1,112 @@
+package com.github.linyuzai.download.core.write;
+
+import lombok.Getter;
+
+/**
+ * 进度节流，合并频繁的进度更新。
+ * <p>
+ * 每次写入只更新同一个 {@link Progress}，不会创建新的对象，
+ * 距离上次发布超过最小间隔并且增长超过最小字节数和最小百分比时才需要发布，
+ * 进度到达总大小时一定会发布一次，结束时可以通过 {@link #isPending()} 判断是否还有未发布的进度。
+ * 都为 0 时每次进度增长都需要发布。
+ * <p>
+ * 非线程安全，只能在一个线程中更新。
+ */
+public class ProgressThrottler {
+
+    /**
+     * 更新的进度
+     */
+    @Getter
+    private final Progress progress;
+
+    /**
+     * 最小发布间隔，纳秒
+     */
+    @Getter
+    private final long interval;
+
+    /**
+     * 最小增长字节数
+     */
+    @Getter
+    private final long minBytes;
+
+    /**
+     * 最小增长百分比，总大小未知时忽略
+     */
+    @Getter
+    private final double minPercent;
+
+    private long lastTime;
+
+    private long lastCurrent;
+
+    private boolean completed;
+
+    /**
+     * @param total      总大小，可能为 null
+     * @param interval   最小发布间隔，毫秒
+     * @param minBytes   最小增长字节数
+     * @param minPercent 最小增长百分比，如 1 表示 1%
+     */
+    public ProgressThrottler(Long total, long interval, long minBytes, double minPercent) {
+        this.progress = new Progress(total);
+        this.interval = interval * 1000000L;
+        this.minBytes = minBytes;
+        this.minPercent = minPercent;
+        this.lastTime = System.nanoTime();
+    }
+
+    /**
+     * 更新进度并判断是否需要发布，需要发布时会记录本次发布。
+     *
+     * @param increase 增长大小
+     * @return 如果需要发布则返回 true
+     */
+    public boolean update(long increase) {
+        progress.update(increase);
+        long current = progress.getCurrent();
+        if (current == lastCurrent) {
+            return false;
+        }
+        if (!completed && progress.hasTotal() && current >= progress.getTotal()) {
+            completed = true;
+            return published(System.nanoTime(), current);
+        }
+        long time = System.nanoTime();
+        if (time - lastTime < interval) {
+            return false;
+        }
+        long delta = current - lastCurrent;
+        if (delta < minBytes) {
+            return false;
+        }
+        if (minPercent > 0 && progress.hasTotal() && delta * 100.0 < minPercent * progress.getTotal()) {
+            return false;
+        }
+        return published(time, current);
+    }
+
+    /**
+     * 是否有未发布的进度。
+     *
+     * @return 如果当前进度还没有发布则返回 true
+     */
+    public boolean isPending() {
+        return progress.getCurrent() != lastCurrent;
+    }
+
+    /**
+     * 记录当前进度已经发布。
+     */
+    public void flush() {
+        published(System.nanoTime(), progress.getCurrent());
+    }
+
+    private boolean published(long time, long current) {
+        lastTime = time;
+        lastCurrent = current;
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.linyuzai.download.core.write;
+
+import lombok.Getter;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌桶，限制每秒写入的字节数 / Token bucket limiting the bytes written per second
+ * 令牌不足时预支令牌并返回需要等待的时间，先预支的先获得令牌 / Tokens are borrowed when insufficient and the waiting time is returned, first come first served
+ * 线程安全 / Thread safe
+ */
+@Getter
+public class TokenBucket {
+
+    /**
+     * 每秒生成的令牌数，即字节数 / Tokens generated per second, i.e. bytes
+     */
+    private final long rate;
+
+    /**
+     * 最多保存的令牌数，即允许的突发字节数 / Max tokens kept, i.e. burst bytes allowed
+     */
+    private final long capacity;
+
+    private double tokens;
+
+    private long last;
+
+    public TokenBucket(long rate) {
+        this(rate, rate);
+    }
+
+    public TokenBucket(long rate, long capacity) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be greater than 0");
+        }
+        this.rate = rate;
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+        this.last = System.nanoTime();
+    }
+
+    /**
+     * 预支令牌 / Reserve tokens
+     *
+     * @param permits 令牌数 / Tokens count
+     * @return 需要等待的纳秒数 / Nanos to wait
+     */
+    public synchronized long reserve(long permits) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - last) * (double) rate / TimeUnit.SECONDS.toNanos(1));
+        last = now;
+        tokens -= permits;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) (-tokens * TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    /**
+     * 获取令牌，不足时等待 / Acquire tokens and wait if insufficient
+     *
+     * @param permits 令牌数 / Tokens count
+     */
+    public void acquire(long permits) throws InterruptedIOException {
+        sleep(reserve(permits));
+    }
+
+    /**
+     * 等待指定的纳秒数 / Wait for the nanos
+     *
+     * @param nanos 纳秒数 / Nanos
+     */
+    public static void sleep(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for tokens");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.linyuzai.download.core.write;
+
+import com.github.linyuzai.download.core.concept.Resource;
+import com.github.linyuzai.download.core.context.DownloadContext;
+import com.github.linyuzai.download.core.web.Range;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+
+/**
+ * 流式转码的写入器 / Writer transcoding as a stream
+ * 通过 {@link CharsetDecoder} 和 {@link CharsetEncoder} 边读边转码，只使用固定大小的缓冲区 / Decode and encode while reading with fixed size buffers
+ * 被缓冲区截断的多字节字符会保留到下一次解码 / Multi-byte sequences split by the buffer are kept for the next decoding
+ * 范围作用于转码后的数据 / Range applies to the transcoded data
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TranscodingDownloadWriter implements DownloadWriter {
+
+    /**
+     * 缓冲区大小 / Buffer size
+     */
+    private int bufferSize = 8 * 1024;
+
+    /**
+     * 目标编码，为 null 时使用原编码 / Target charset, the original charset is used if null
+     */
+    private Charset targetCharset;
+
+    /**
+     * 资源有编码时支持 / Support if the resource has charset
+     *
+     * @param resource 可下载的资源 / Resource can be downloaded
+     * @param context  下载上下文 / Context of download
+     * @return 如果资源有编码则返回 true / Return true if the resource has charset
+     */
+    @Override
+    public boolean support(Resource resource, DownloadContext context) {
+        return resource.getCharset() != null;
+    }
+
+    /**
+     * 如果编码为 null 则直接写入字节 / Bytes are written directly if the charset is null
+     * 否则转码为目标编码 / Otherwise transcode to the target charset
+     *
+     * @param is      输入流 / Input stream
+     * @param os      输出流 / Output stream
+     * @param range   写入的范围 / Range of writing
+     * @param charset 编码 / Charset
+     * @param length  总字节数，可能为 null / Total bytes count, may be null
+     */
+    @Override
+    public void write(InputStream is, OutputStream os, Range range, Charset charset, Long length, Callback callback) throws IOException {
+        RangeOutput output = new RangeOutput(os, range, length, callback);
+        if (charset == null) {
+            copy(is, output);
+        } else {
+            transcode(is, output, charset, targetCharset == null ? charset : targetCharset);
+        }
+    }
+
+    private void copy(InputStream is, RangeOutput output) throws IOException {
+        byte[] bytes = new byte[bufferSize];
+        int len;
+        while (!output.isFinished() && (len = is.read(bytes)) != -1) {
+            output.write(bytes, 0, len);
+        }
+    }
+
+    private void transcode(InputStream is, RangeOutput output, Charset from, Charset to) throws IOException {
+        CharsetDecoder decoder = from.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharsetEncoder encoder = to.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        int size = Math.max(bufferSize, 16);
+        ByteBuffer in = ByteBuffer.allocate(size);
+        CharBuffer chars = CharBuffer.allocate(size);
+        ByteBuffer out = ByteBuffer.allocate((int) Math.ceil(size * (double) encoder.maxBytesPerChar()));
+        boolean eof = false;
+        while (!eof && !output.isFinished()) {
+            int n = is.read(in.array(), in.position(), in.remaining());
+            if (n == -1) {
+                eof = true;
+            } else {
+                in.position(in.position() + n);
+            }
+            in.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(in, chars, eof);
+                encode(encoder, chars, out, output, false);
+            } while (result.isOverflow());
+            //保留未解码的字节 / Keep the bytes not decoded
+            in.compact();
+        }
+        if (output.isFinished()) {
+            return;
+        }
+        while (decoder.flush(chars).isOverflow()) {
+            encode(encoder, chars, out, output, false);
+        }
+        encode(encoder, chars, out, output, true);
+        while (encoder.flush(out).isOverflow()) {
+            drain(out, output);
+        }
+        drain(out, output);
+    }
+
+    private static void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer out,
+                               RangeOutput output, boolean endOfInput) throws IOException {
+        chars.flip();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, out, endOfInput);
+            drain(out, output);
+        } while (result.isOverflow());
+        //保留未编码的字符，如代理对的高位 / Keep the chars not encoded, such as the high surrogate
+        chars.compact();
+    }
+
+    private static void drain(ByteBuffer out, RangeOutput output) throws IOException {
+        out.flip();
+        output.write(out.array(), 0, out.limit());
+        out.clear();
+    }
+
+    /**
+     * 跳过范围之前的数据，写入范围内的数据 / Skip the data before the range and write the data in the range
+     */
+    private static class RangeOutput {
+
+        private final OutputStream os;
+
+        private final Callback callback;
+
+        private long skip;
+
+        private long remaining = Long.MAX_VALUE;
+
+        private long current;
+
+        RangeOutput(OutputStream os, Range range, Long length, Callback callback) {
+            this.os = os;
+            this.callback = callback;
+            if (range != null) {
+                if (range.hasStart()) {
+                    skip = range.getStart();
+                    if (range.hasEnd()) {
+                        remaining = range.getLength();
+                    }
+                } else if (range.hasEnd()) {
+                    //后缀范围，按照原长度计算 / Suffix range, calculated by the original length
+                    if (length != null) {
+                        skip = Math.max(0, length - range.getEnd());
+                    }
+                    remaining = range.getEnd();
+                }
+            }
+        }
+
+        boolean isFinished() {
+            return remaining <= 0;
+        }
+
+        void write(byte[] b, int off, int len) throws IOException {
+            if (skip > 0) {
+                int n = (int) Math.min(skip, len);
+                skip -= n;
+                off += n;
+                len -= n;
+            }
+            int n = (int) Math.min(remaining, len);
+            if (n <= 0) {
+                return;
+            }
+            os.write(b, off, n);
+            remaining -= n;
+            current += n;
+            if (callback != null) {
+                callback.onWrite(current, n);
+            }
+        }
+    }
+}
@@ -3,30 +3,35 @@ package com.github.linyuzai.download.coroutines.loader
 import com.github.linyuzai.download.core.context.DownloadContext
 import com.github.linyuzai.download.core.executor.DownloadExecutor
 import com.github.linyuzai.download.core.load.ConcurrentSourceLoader
+import com.github.linyuzai.download.core.load.SourceLoadScheduler
 import com.github.linyuzai.download.core.load.SourceLoader
 import com.github.linyuzai.download.core.source.Source
 import kotlinx.coroutines.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
 
 /**
  * 基于协程调度的 [SourceLoader]。
+ *
+ * 通过 [SourceLoadScheduler] 在协程的调度器中加载，并发数的限制和其他 [ConcurrentSourceLoader] 相同。
  */
 open class CoroutinesSourceLoader : ConcurrentSourceLoader() {
 
     override fun concurrentLoad(sources: Collection<Source>, context: DownloadContext) {
-        val results = mutableListOf<Source>()
         val dispatcher = getCoroutineDispatcher(context)
-        runBlocking {
-            val deferredList = mutableListOf<Deferred<Source>>()
-            sources.forEach {
-                val deferred = async(dispatcher) {
-                    it.load(context)
-                    return@async it
-                }
-                deferredList.add(deferred)
-            }
-            deferredList.forEach {
-                results.add(it.await())
+        val tasks = schedule(sources, context, dispatcher.asExecutor())
+        if (isEarlyStart) {
+            return
+        }
+        try {
+            runBlocking {
+                tasks.future.awaitCompletion()
             }
+        } catch (e: Throwable) {
+            tasks.cancel()
+            throw e
         }
     }
 
@@ -34,4 +39,16 @@ open class CoroutinesSourceLoader : ConcurrentSourceLoader() {
         val executor = DownloadExecutor.getExecutor(context)
         return executor?.asCoroutineDispatcher() ?: Dispatchers.IO
     }
-}
\ No newline at end of file
+
+    private suspend fun CompletableFuture<*>.awaitCompletion() {
+        suspendCancellableCoroutine<Unit> { continuation ->
+            whenComplete { _, e ->
+                if (e == null) {
+                    continuation.resume(Unit)
+                } else {
+                    continuation.resumeWithException(if (e is CompletionException && e.cause != null) e.cause!! else e)
+                }
+            }
+        }
+    }
+}
@@ -9,12 +9,19 @@ import com.github.linyuzai.download.autoconfigure.web.DownloadHttpMessageConvert
 import com.github.linyuzai.download.autoconfigure.web.mock.DownloadMock;
 import com.github.linyuzai.download.core.cache.CacheNameGenerator;
 import com.github.linyuzai.download.core.cache.CacheNameGeneratorInitializer;
+import com.github.linyuzai.download.core.cache.CompressionCacheManager;
+import com.github.linyuzai.download.core.cache.ContentHashCacheNameGenerator;
 import com.github.linyuzai.download.core.cache.TimestampCacheNameGenerator;
+import com.github.linyuzai.download.core.compress.AdaptiveCompressionPolicy;
+import com.github.linyuzai.download.core.compress.CompressionPolicy;
 import com.github.linyuzai.download.core.compress.DefaultSourceCompressorAdapter;
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
 import com.github.linyuzai.download.core.compress.SourceCompressor;
 import com.github.linyuzai.download.core.compress.SourceCompressorAdapter;
 import com.github.linyuzai.download.core.compress.tar.TarArchiveSourceCompressor;
+import com.github.linyuzai.download.core.compress.tar.gz.ParallelTarGzArchiveSourceCompressor;
 import com.github.linyuzai.download.core.compress.tar.gz.TarGzArchiveSourceCompressor;
+import com.github.linyuzai.download.core.compress.zip.ParallelZipSourceCompressor;
 import com.github.linyuzai.download.core.compress.zip.Zip4jSourceCompressor;
 import com.github.linyuzai.download.core.compress.zip.ZipArchiveSourceCompressor;
 import com.github.linyuzai.download.core.compress.zip.ZipSourceCompressor;
@@ -28,28 +35,38 @@ import com.github.linyuzai.download.core.executor.DownloadExecutorInitializer;
 import com.github.linyuzai.download.core.handler.DownloadHandler;
 import com.github.linyuzai.download.core.handler.impl.*;
 import com.github.linyuzai.download.core.load.CompletableFutureSourceLoader;
+import com.github.linyuzai.download.core.load.SourceLoadScheduler;
 import com.github.linyuzai.download.core.load.SourceLoader;
 import com.github.linyuzai.download.core.logger.*;
 import com.github.linyuzai.download.core.source.DefaultSourceFactoryAdapter;
 import com.github.linyuzai.download.core.source.SourceFactory;
 import com.github.linyuzai.download.core.source.SourceFactoryAdapter;
+import com.github.linyuzai.download.core.source.file.DirectorySnapshotCache;
 import com.github.linyuzai.download.core.source.file.FilePrefixSourceFactory;
 import com.github.linyuzai.download.core.source.file.FileSourceFactory;
 import com.github.linyuzai.download.core.source.file.UserHomeSourceFactory;
+import com.github.linyuzai.download.core.source.http.HttpRangeLoader;
 import com.github.linyuzai.download.core.source.http.HttpSourceFactory;
 import com.github.linyuzai.download.core.source.multiple.ArraySourceFactory;
 import com.github.linyuzai.download.core.source.multiple.CollectionSourceFactory;
 import com.github.linyuzai.download.core.source.original.OriginalSourceFactory;
 import com.github.linyuzai.download.core.source.reflect.ReflectionSourceFactory;
 import com.github.linyuzai.download.core.source.text.TextSourceFactory;
+import com.github.linyuzai.download.core.web.DownloadValidatorGenerator;
+import com.github.linyuzai.download.core.web.MetadataDownloadValidatorGenerator;
 import com.github.linyuzai.download.core.write.BufferedDownloadWriter;
 import com.github.linyuzai.download.core.write.DefaultDownloadWriterAdapter;
+import com.github.linyuzai.download.core.write.DownloadRateLimiter;
 import com.github.linyuzai.download.core.write.DownloadWriter;
 import com.github.linyuzai.download.core.write.DownloadWriterAdapter;
+import com.github.linyuzai.download.core.write.FileChannelDownloadWriter;
+import com.github.linyuzai.download.core.write.TranscodingDownloadWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -57,6 +74,8 @@ import org.springframework.core.annotation.Order;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * 基础组件的配置。
@@ -131,8 +150,34 @@ public class DownloadConceptCoreAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public BufferedDownloadWriter bufferedDownloadWriter() {
-        return new BufferedDownloadWriter();
+    public BufferedDownloadWriter bufferedDownloadWriter(TranscodingDownloadWriter transcodingDownloadWriter) {
+        BufferedDownloadWriter writer = new BufferedDownloadWriter();
+        writer.setTranscodingWriter(transcodingDownloadWriter);
+        return writer;
+    }
+
+    @Bean
+    @Order(0)
+    @ConditionalOnMissingBean
+    public FileChannelDownloadWriter fileChannelDownloadWriter(BufferedDownloadWriter bufferedDownloadWriter) {
+        FileChannelDownloadWriter writer = new FileChannelDownloadWriter();
+        writer.setDelegate(bufferedDownloadWriter);
+        return writer;
+    }
+
+    @Bean
+    @Order(0)
+    @ConditionalOnMissingBean
+    public TranscodingDownloadWriter transcodingDownloadWriter() {
+        return new TranscodingDownloadWriter();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DownloadRateLimiter downloadRateLimiter(DownloadProperties properties) {
+        DownloadRateLimiter limiter = new DownloadRateLimiter();
+        limiter.setGlobalRate(properties.getResponse().getGlobalRateLimit());
+        return limiter;
     }
 
     @Bean
@@ -204,11 +249,45 @@ public class DownloadConceptCoreAutoConfiguration {
         return new HttpSourceFactory();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("concept.download.source.snapshot.cache-enabled")
+    public DirectorySnapshotCache directorySnapshotCache(DownloadProperties properties) {
+        return new DirectorySnapshotCache(properties.getSource().getSnapshot().getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CompressionPolicy.class)
+    @ConditionalOnProperty(name = "concept.download.compress.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+    public AdaptiveCompressionPolicy adaptiveCompressionPolicy(DownloadProperties properties) {
+        DownloadProperties.CompressAdaptiveProperties adaptive = properties.getCompress().getAdaptive();
+        AdaptiveCompressionPolicy policy = new AdaptiveCompressionPolicy();
+        policy.setSampleSize(adaptive.getSampleSize());
+        policy.setEntropyThreshold(adaptive.getEntropyThreshold());
+        return policy;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("concept.download.source.http-range.enabled")
+    public HttpRangeLoader httpRangeLoader(DownloadProperties properties) {
+        DownloadProperties.HttpRangeProperties httpRange = properties.getSource().getHttpRange();
+        HttpRangeLoader loader = new HttpRangeLoader();
+        loader.setThreshold(httpRange.getThreshold());
+        loader.setChunkSize(httpRange.getChunkSize());
+        loader.setParallelism(httpRange.getParallelism());
+        loader.setRetries(httpRange.getRetries());
+        loader.setExecutor(HttpRangeLoader.newExecutor(httpRange.getMaxConcurrency()));
+        return loader;
+    }
+
     @Bean
     @Order(100)
     @ConditionalOnMissingBean
-    public ReflectionSourceFactory reflectionSourceFactory() {
-        return new ReflectionSourceFactory();
+    public ReflectionSourceFactory reflectionSourceFactory(DownloadProperties properties) {
+        ReflectionSourceFactory factory = new ReflectionSourceFactory();
+        factory.setCompiled(properties.getSource().getReflection().isCompiled());
+        return factory;
     }
 
     @Bean
@@ -226,16 +305,41 @@ public class DownloadConceptCoreAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public SourceLoader sourceLoader() {
-        return new CompletableFutureSourceLoader();
+    public SourceLoadScheduler sourceLoadScheduler(DownloadProperties properties) {
+        DownloadProperties.SourceLoadProperties load = properties.getSource().getLoad();
+        SourceLoadScheduler scheduler = new SourceLoadScheduler();
+        scheduler.setParallelism(load.getParallelism());
+        scheduler.setHostParallelism(load.getHostParallelism());
+        return scheduler;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SourceLoader sourceLoader(SourceLoadScheduler scheduler, DownloadProperties properties) {
+        CompletableFutureSourceLoader loader = new CompletableFutureSourceLoader();
+        loader.setScheduler(scheduler);
+        loader.setEarlyStart(properties.getSource().getLoad().isEarlyStart());
+        return loader;
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public CacheNameGenerator cacheNameGenerator() {
+    public CacheNameGenerator cacheNameGenerator(DownloadProperties properties) {
+        if (properties.getCompress().getCache().isContentHash()) {
+            return new ContentHashCacheNameGenerator();
+        }
         return new TimestampCacheNameGenerator();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public CompressionCacheManager compressionCacheManager(DownloadProperties properties) {
+        CompressionCacheManager manager = new CompressionCacheManager();
+        manager.setMaxSize(properties.getCompress().getCache().getMaxSize());
+        manager.setMaxAge(properties.getCompress().getCache().getMaxAge());
+        return manager;
+    }
+
     @Bean
     public CacheNameGeneratorInitializer cacheNameGeneratorInitializer(CacheNameGenerator generator) {
         return new CacheNameGeneratorInitializer(generator);
@@ -288,6 +392,59 @@ public class DownloadConceptCoreAutoConfiguration {
         }
     }
 
+    @Configuration
+    @ConditionalOnProperty(name = "concept.download.compress.parallel.enabled", havingValue = "true")
+    public static class ParallelCompressAutoConfiguration {
+
+        /**
+         * zip 和 tar.gz 共用一个线程池，线程数小于等于 0 时为 CPU 核数，随容器关闭。
+         */
+        @Bean(destroyMethod = "shutdown")
+        @ConditionalOnMissingBean(name = "downloadCompressExecutor")
+        public ExecutorService downloadCompressExecutor(DownloadProperties properties) {
+            int threads = properties.getCompress().getParallel().getThreads();
+            if (threads <= 0) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+            return ParallelCompressionOutputStream.newExecutor(threads);
+        }
+
+        @Bean
+        @Order(0)
+        @ConditionalOnMissingBean
+        public ParallelZipSourceCompressor parallelZipSourceCompressor(
+                DownloadProperties properties,
+                @Qualifier("downloadCompressExecutor") Executor downloadCompressExecutor) {
+            DownloadProperties.ParallelProperties parallel = properties.getCompress().getParallel();
+            ParallelZipSourceCompressor compressor = new ParallelZipSourceCompressor();
+            compressor.setExecutor(downloadCompressExecutor);
+            compressor.setBlockSize(parallel.getBlockSize());
+            compressor.setMaxPendingBlocks(parallel.getMaxPendingBlocks());
+            compressor.setLevel(parallel.getLevel());
+            return compressor;
+        }
+
+        @Configuration
+        @ConditionalOnClass(name = "org.apache.commons.compress.archivers.tar.TarArchiveOutputStream")
+        public static class ParallelArchiveAutoConfiguration {
+
+            @Bean
+            @Order(0)
+            @ConditionalOnMissingBean
+            public ParallelTarGzArchiveSourceCompressor parallelTarGzArchiveSourceCompressor(
+                    DownloadProperties properties,
+                    @Qualifier("downloadCompressExecutor") Executor downloadCompressExecutor) {
+                DownloadProperties.ParallelProperties parallel = properties.getCompress().getParallel();
+                ParallelTarGzArchiveSourceCompressor compressor = new ParallelTarGzArchiveSourceCompressor();
+                compressor.setExecutor(downloadCompressExecutor);
+                compressor.setBlockSize(parallel.getBlockSize());
+                compressor.setMaxPendingBlocks(parallel.getMaxPendingBlocks());
+                compressor.setLevel(parallel.getLevel());
+                return compressor;
+            }
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SourceCompressorAdapter sourceCompressorAdapter(List<SourceCompressor> compressors) {
@@ -301,6 +458,20 @@ public class DownloadConceptCoreAutoConfiguration {
         return new CreateSourceHandler(adapter);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public DownloadValidatorGenerator downloadValidatorGenerator() {
+        return new MetadataDownloadValidatorGenerator();
+    }
+
+    @Bean
+    @Order(DownloadHandler.ORDER_CONDITIONAL_REQUEST)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "concept.download.response.conditional", havingValue = "true", matchIfMissing = true)
+    public ConditionalRequestHandler conditionalRequestHandler(DownloadValidatorGenerator generator) {
+        return new ConditionalRequestHandler(generator);
+    }
+
     @Bean
     @Order(DownloadHandler.ORDER_LOAD_SOURCE)
     @ConditionalOnMissingBean
@@ -318,8 +489,13 @@ public class DownloadConceptCoreAutoConfiguration {
     @Bean
     @Order(DownloadHandler.ORDER_WRITE_RESPONSE)
     @ConditionalOnMissingBean
-    public WriteResponseHandler writeResponseHandler(DownloadWriterAdapter adapter) {
-        return new WriteResponseHandler(adapter);
+    public WriteResponseHandler writeResponseHandler(DownloadWriterAdapter adapter, DownloadProperties properties) {
+        DownloadProperties.ResponseProgressProperties progress = properties.getResponse().getProgress();
+        WriteResponseHandler handler = new WriteResponseHandler(adapter);
+        handler.setProgressInterval(progress.getInterval());
+        handler.setProgressMinBytes(progress.getMinBytes());
+        handler.setProgressMinPercent(progress.getMinPercent());
+        return handler;
     }
 
     @Bean
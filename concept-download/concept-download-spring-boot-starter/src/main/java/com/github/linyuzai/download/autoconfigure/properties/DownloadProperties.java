@@ -4,17 +4,23 @@ import com.github.linyuzai.download.core.annotation.CompressCache;
 import com.github.linyuzai.download.core.annotation.Download;
 import com.github.linyuzai.download.core.annotation.SourceCache;
 import com.github.linyuzai.download.core.cache.Cacheable;
+import com.github.linyuzai.download.core.compress.AdaptiveCompressionPolicy;
 import com.github.linyuzai.download.core.compress.CompressFormat;
 import com.github.linyuzai.download.core.compress.Compression;
+import com.github.linyuzai.download.core.compress.ParallelCompressionOutputStream;
 import com.github.linyuzai.download.core.exception.DownloadException;
+import com.github.linyuzai.download.core.load.SourceLoadScheduler;
 import com.github.linyuzai.download.core.options.ConfigurableDownloadOptions;
 import com.github.linyuzai.download.core.options.DefaultDownloadOptions;
 import com.github.linyuzai.download.core.options.DownloadOptions;
 import com.github.linyuzai.download.core.source.Source;
+import com.github.linyuzai.download.core.source.file.DirectorySnapshotCache;
+import com.github.linyuzai.download.core.source.http.HttpRangeLoader;
 import com.github.linyuzai.download.core.utils.DownloadUtils;
 import com.github.linyuzai.download.core.web.DownloadRequest;
 import com.github.linyuzai.download.core.web.DownloadResponse;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.core.MethodParameter;
 import org.springframework.util.StringUtils;
@@ -23,6 +29,7 @@ import org.springframework.util.StringValueResolver;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.zip.Deflater;
 
 /**
  * 全局下载配置。
@@ -46,12 +53,137 @@ public class DownloadProperties {
          * 额外的响应头
          */
         private Map<String, String> headers;
+
+        private ResponseProgressProperties progress = new ResponseProgressProperties();
+
+        /**
+         * 每个下载每秒最多写入的字节数，小于等于 0 不限速
+         */
+        private long rateLimit;
+
+        /**
+         * 所有下载共享的每秒最多写入的字节数，小于等于 0 不限速
+         */
+        private long globalRateLimit;
+
+        /**
+         * webflux 中每个 DataBuffer 的字节数
+         */
+        private int bufferSize = 8192;
+
+        /**
+         * 是否处理条件请求，设置 ETag 和 Last-Modified，客户端的数据没有变化时响应 304
+         */
+        private boolean conditional = true;
+    }
+
+    @Data
+    public static class ResponseProgressProperties {
+
+        /**
+         * 写入进度的最小发布间隔，毫秒，都为 0 时每次写入都会发布
+         */
+        private long interval;
+
+        /**
+         * 写入进度的最小增长字节数
+         */
+        private long minBytes;
+
+        /**
+         * 写入进度的最小增长百分比，如 1 表示 1%
+         */
+        private double minPercent;
     }
 
     @Data
     public static class SourceProperties {
 
         private CacheProperties cache = new CacheProperties();
+
+        private HttpRangeProperties httpRange = new HttpRangeProperties();
+
+        private SourceLoadProperties load = new SourceLoadProperties();
+
+        private SourceReflectionProperties reflection = new SourceReflectionProperties();
+
+        private SourceSnapshotProperties snapshot = new SourceSnapshotProperties();
+    }
+
+    @Data
+    public static class SourceSnapshotProperties {
+
+        /**
+         * 是否跨请求缓存目录快照，目录变化时自动失效
+         */
+        private boolean cacheEnabled;
+
+        /**
+         * 最多缓存的目录数量
+         */
+        private int maxSize = DirectorySnapshotCache.DEFAULT_MAX_SIZE;
+    }
+
+    @Data
+    public static class SourceReflectionProperties {
+
+        /**
+         * 是否将 @SourceModel 的反射编译为访问器
+         */
+        private boolean compiled = true;
+    }
+
+    @Data
+    public static class SourceLoadProperties {
+
+        /**
+         * 所有下载同时加载的最大数量，小于等于 0 不限制
+         */
+        private int parallelism = SourceLoadScheduler.DEFAULT_PARALLELISM;
+
+        /**
+         * 每个主机同时加载的最大数量，小于等于 0 不限制
+         */
+        private int hostParallelism = SourceLoadScheduler.DEFAULT_HOST_PARALLELISM;
+
+        /**
+         * 是否不等待所有资源加载完成就开始压缩
+         */
+        private boolean earlyStart;
+    }
+
+    @Data
+    public static class HttpRangeProperties {
+
+        /**
+         * 是否通过 Range 请求分块并行加载 http 资源
+         */
+        private boolean enabled;
+
+        /**
+         * 长度不小于该值时才分块加载
+         */
+        private long threshold = 8 * 1024 * 1024;
+
+        /**
+         * 分块大小
+         */
+        private long chunkSize = 4 * 1024 * 1024;
+
+        /**
+         * 每个下载最多同时请求的分块数
+         */
+        private int parallelism = 4;
+
+        /**
+         * 所有下载总的最大并发数
+         */
+        private int maxConcurrency = HttpRangeLoader.DEFAULT_MAX_CONCURRENCY;
+
+        /**
+         * 每个分块最多重试次数
+         */
+        private int retries = 3;
     }
 
     @Data
@@ -64,7 +196,69 @@ public class DownloadProperties {
 
         private String password;
 
-        private CacheProperties cache = new CacheProperties();
+        /**
+         * 是否流式压缩，边压缩边写入响应
+         */
+        private boolean streaming;
+
+        /**
+         * 压缩级别，0-9，-1 为默认级别
+         */
+        private int level = Deflater.DEFAULT_COMPRESSION;
+
+        private CompressAdaptiveProperties adaptive = new CompressAdaptiveProperties();
+
+        private CompressCacheProperties cache = new CompressCacheProperties();
+
+        private ParallelProperties parallel = new ParallelProperties();
+    }
+
+    @Data
+    public static class CompressAdaptiveProperties {
+
+        /**
+         * 是否只存储已经压缩过的条目，如图片，音视频和压缩包，支持 zip
+         */
+        private boolean enabled = true;
+
+        /**
+         * 通过扩展名和 Content-Type 无法判断时采样的字节数，小于等于 0 时不采样
+         */
+        private int sampleSize = AdaptiveCompressionPolicy.DEFAULT_SAMPLE_SIZE;
+
+        /**
+         * 采样数据每字节的熵超过该值时只存储，最大为 8
+         */
+        private double entropyThreshold = AdaptiveCompressionPolicy.DEFAULT_ENTROPY_THRESHOLD;
+    }
+
+    @Data
+    public static class ParallelProperties {
+
+        /**
+         * 是否启用并行压缩，支持 zip 和 tar.gz
+         */
+        private boolean enabled;
+
+        /**
+         * 压缩线程数，小于等于 0 时使用 CPU 核数
+         */
+        private int threads;
+
+        /**
+         * 数据块大小，字节
+         */
+        private int blockSize = ParallelCompressionOutputStream.DEFAULT_BLOCK_SIZE;
+
+        /**
+         * 最多未写出的数据块数量
+         */
+        private int maxPendingBlocks = ParallelCompressionOutputStream.DEFAULT_MAX_PENDING_BLOCKS;
+
+        /**
+         * 压缩级别，-1 为默认级别
+         */
+        private int level = Deflater.DEFAULT_COMPRESSION;
     }
 
     @Data
@@ -86,6 +280,26 @@ public class DownloadProperties {
         private boolean delete;
     }
 
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class CompressCacheProperties extends CacheProperties {
+
+        /**
+         * 缓存的最大总字节数，超过时淘汰最久没有使用的缓存，小于等于 0 不限制
+         */
+        private long maxSize;
+
+        /**
+         * 缓存最长多久没有使用会被淘汰，毫秒，小于等于 0 不限制
+         */
+        private long maxAge;
+
+        /**
+         * 是否使用内容摘要作为缓存名称，同时作用于数据源的缓存
+         */
+        private boolean contentHash;
+    }
+
     @Data
     public static class LoggerProperties {
 
@@ -203,6 +417,11 @@ public class DownloadProperties {
         options.setCompressFormat(buildCompressFormat(download, properties, resolver));
         options.setCompressPassword(buildCompressPassword(download, properties, resolver));
         options.setForceCompress(download.forceCompress());
+        options.setCompressStreaming(download.compressStreaming() || properties.getCompress().isStreaming());
+        options.setCompressLevel(download.compressLevel() < 0 ?
+                properties.getCompress().getLevel() : download.compressLevel());
+        options.setRateLimit(download.rateLimit() < 0 ?
+                properties.getResponse().getRateLimit() : download.rateLimit());
         options.setCharset(buildCharset(download, resolver));
         options.setHeaders(buildHeaders(download, properties, resolver));
         options.setExtra(resolver.resolveStringValue(download.extra()));
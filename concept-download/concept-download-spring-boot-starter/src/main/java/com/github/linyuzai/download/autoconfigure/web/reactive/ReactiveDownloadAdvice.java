@@ -75,7 +75,9 @@ public class ReactiveDownloadAdvice implements HandlerResultHandler, EmbeddedVal
     }
 
     protected DownloadResponse getResponse(ServerWebExchange exchange) {
-        return new ReactiveDownloadResponse(exchange.getResponse());
+        ReactiveDownloadResponse response = new ReactiveDownloadResponse(exchange.getResponse());
+        response.setBufferSize(properties.getResponse().getBufferSize());
+        return response;
     }
 
     @Override
@@ -18,4 +18,9 @@ public class ReactiveDownloadRequest implements DownloadRequest {
     public String getHeader(String name) {
         return request.getHeaders().getFirst(name);
     }
+
+    @Override
+    public String getMethod() {
+        return request.getMethodValue();
+    }
 }
@@ -1,10 +1,17 @@
 package com.github.linyuzai.download.autoconfigure.web.reactive;
 
+import com.github.linyuzai.download.core.compress.Compression;
+import com.github.linyuzai.download.core.compress.FileCompression;
+import com.github.linyuzai.download.core.concept.Part;
+import com.github.linyuzai.download.core.source.file.FilePart;
 import com.github.linyuzai.download.core.web.DownloadResponse;
+import com.github.linyuzai.download.core.web.Range;
+import com.github.linyuzai.download.core.write.DownloadWriter;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -12,20 +19,45 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * 持有 {@link ServerHttpResponse} 的 {@link DownloadResponse}，用于 webflux。
+ * <p>
+ * 不需要边压缩边写入时，直接将 {@link Compression} 读取为按需请求的 {@link DataBuffer}，
+ * 文件通过 {@link AsynchronousFileChannel} 读取，其他通过 {@link InputStream} 读取，
+ * 内存占用取决于预取的 {@link DataBuffer} 数量而不是文件大小。
  */
 @Getter
 public class ReactiveDownloadResponse implements DownloadResponse {
 
     private final ServerHttpResponse response;
 
+    /**
+     * 用于分配 {@link DataBuffer}，默认使用 {@link ServerHttpResponse#bufferFactory()}，
+     * 在 netty 中为池化的 {@link DataBufferFactory}
+     */
+    @Setter
+    private DataBufferFactory bufferFactory;
+
+    /**
+     * 每个 {@link DataBuffer} 的字节数
+     */
+    @Setter
+    private int bufferSize = 8192;
+
     private OutputStream os;
 
     private Mono<Void> mono;
@@ -34,22 +66,138 @@ public class ReactiveDownloadResponse implements DownloadResponse {
         this.response = response;
     }
 
+    /**
+     * 获得用于分配 {@link DataBuffer} 的 {@link DataBufferFactory}。
+     *
+     * @return {@link DataBufferFactory}
+     */
+    public DataBufferFactory getBufferFactory() {
+        return bufferFactory == null ? response.bufferFactory() : bufferFactory;
+    }
+
+    /**
+     * 通过 {@link FluxSinkOutputStream} 写入，
+     * 在 {@link Schedulers#boundedElastic()} 中执行阻塞的写入，
+     * 下游没有请求数据时写入会等待。
+     */
     @Override
     public Object write(Consumer<OutputStream> consumer, Supplier<Object> next, Runnable onComplete) {
-        /*DataBufferUtils.readInputStream(new Callable<InputStream>() {
-                @Override
-                public InputStream call() throws Exception {
-                    return null;
-                }
-        })*/
-        return response.writeWith(Flux.create(sink -> {
-                    os = new FluxSinkOutputStream(sink, response);
+        return response.writeWith(Flux.<DataBuffer>create(sink -> {
+                    os = new FluxSinkOutputStream(sink, getBufferFactory());
                     consumer.accept(os);
-                }))
+                }).subscribeOn(Schedulers.boundedElastic()))
                 .doOnSuccess(unused -> onComplete.run())
                 .switchIfEmpty((Mono<Void>) next.get());
     }
 
+    /**
+     * 将 {@link Compression} 的所有 {@link Part} 依次读取为 {@link DataBuffer} 并写入，
+     * 只有一个 {@link Part} 时从 {@link Range} 的开始位置读取，
+     * 否则跳过开始位置之前的数据。
+     */
+    @Override
+    public Object write(Compression compression, Range range, DownloadWriter.Callback callback,
+                        Supplier<Object> next, Runnable onComplete) {
+        Collection<Part> parts = compression.getParts();
+        long position = range == null ? 0 : getStart(range, compression.getLength());
+        long count = range == null ? -1 : range.getLength();
+        Flux<DataBuffer> flux;
+        if (parts.size() == 1) {
+            flux = read(parts.iterator().next(), position, count);
+        } else {
+            flux = Flux.fromIterable(parts).concatMap(part -> read(part, 0, -1), 1);
+            if (range != null) {
+                flux = DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(flux, position), count);
+            }
+        }
+        AtomicLong current = new AtomicLong();
+        flux = flux.doOnNext(buffer -> {
+            int increase = buffer.readableByteCount();
+            callback.onWrite(current.addAndGet(increase), increase);
+        });
+        @SuppressWarnings("unchecked")
+        Mono<Void> nextMono = (Mono<Void>) next.get();
+        return response.writeWith(flux)
+                .doOnSuccess(unused -> onComplete.run())
+                .switchIfEmpty(nextMono);
+    }
+
+    /**
+     * 读取 {@link Part}，
+     * 文件使用 {@link DataBufferUtils#readAsynchronousFileChannel(java.util.concurrent.Callable, long, DataBufferFactory, int)}，
+     * 其他使用 {@link DataBufferUtils#readInputStream(java.util.concurrent.Callable, DataBufferFactory, int)}，
+     * 在 {@link Schedulers#boundedElastic()} 中阻塞读取。
+     *
+     * @param part     {@link Part}
+     * @param position 开始位置
+     * @param count    读取的字节数，小于 0 读取全部
+     * @return {@link DataBuffer} 的 {@link Flux}
+     */
+    protected Flux<DataBuffer> read(Part part, long position, long count) {
+        DataBufferFactory factory = getBufferFactory();
+        File file = getFile(part);
+        Flux<DataBuffer> flux;
+        if (file == null) {
+            flux = DataBufferUtils.readInputStream(() -> skip(part.getInputStream(), position), factory, bufferSize)
+                    .subscribeOn(Schedulers.boundedElastic());
+        } else if (file.isFile()) {
+            flux = DataBufferUtils.readAsynchronousFileChannel(() ->
+                    AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.READ), position, factory, bufferSize);
+        } else {
+            //目录
+            return Flux.empty();
+        }
+        return count < 0 ? flux : DataBufferUtils.takeUntilByteCount(flux, count);
+    }
+
+    /**
+     * 获得 {@link Part} 对应的文件。
+     *
+     * @param part {@link Part}
+     * @return 文件或 null
+     */
+    protected File getFile(Part part) {
+        if (part instanceof FilePart) {
+            return ((FilePart) part).getFile();
+        }
+        if (part instanceof FileCompression) {
+            return ((FileCompression) part).getFile();
+        }
+        return null;
+    }
+
+    /**
+     * 获得 {@link Range} 的开始位置，只有结束位置时为最后的字节数。
+     *
+     * @param range  {@link Range}
+     * @param length 总大小
+     * @return 开始位置
+     */
+    protected long getStart(Range range, Long length) {
+        if (range.hasStart()) {
+            return range.getStart();
+        } else if (range.hasEnd() && length != null) {
+            return length - range.getEnd();
+        } else {
+            return 0;
+        }
+    }
+
+    private static InputStream skip(InputStream is, long n) throws IOException {
+        long remaining = n;
+        while (remaining > 0) {
+            long skip = is.skip(remaining);
+            if (skip <= 0) {
+                if (is.read() < 0) {
+                    break;
+                }
+                skip = 1;
+            }
+            remaining -= skip;
+        }
+        return is;
+    }
+
     @Override
     public void setStatusCode(int statusCode) {
         response.setStatusCode(HttpStatus.valueOf(statusCode));
@@ -87,29 +235,52 @@ public class ReactiveDownloadResponse implements DownloadResponse {
         }
     }
 
+    /**
+     * 将写入的数据发送到 {@link FluxSink} 的 {@link OutputStream}。
+     * <p>
+     * 下游没有请求数据时阻塞写入的线程，取消或结束后写入会抛出异常，
+     * 每次写入从 {@link DataBufferFactory} 分配一个 {@link DataBuffer}。
+     */
     @Getter
-    @RequiredArgsConstructor
     public static class FluxSinkOutputStream extends OutputStream {
 
         private final FluxSink<DataBuffer> fluxSink;
 
-        private final ServerHttpResponse response;
+        private final DataBufferFactory bufferFactory;
+
+        private final Object lock = new Object();
+
+        private volatile boolean disposed;
+
+        public FluxSinkOutputStream(FluxSink<DataBuffer> fluxSink, DataBufferFactory bufferFactory) {
+            this.fluxSink = fluxSink;
+            this.bufferFactory = bufferFactory;
+            fluxSink.onRequest(n -> signal());
+            fluxSink.onDispose(() -> {
+                disposed = true;
+                signal();
+            });
+        }
 
         @Override
         public void write(byte[] b) throws IOException {
-            writeSink(b);
+            write(b, 0, b.length);
         }
 
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
-            byte[] bytes = new byte[len];
-            System.arraycopy(b, off, bytes, 0, len);
-            writeSink(bytes);
+            if (len == 0) {
+                return;
+            }
+            awaitDemand();
+            DataBuffer buffer = bufferFactory.allocateBuffer(len);
+            buffer.write(b, off, len);
+            fluxSink.next(buffer);
         }
 
         @Override
         public void write(int b) throws IOException {
-            writeSink((byte) b);
+            write(new byte[]{(byte) b}, 0, 1);
         }
 
         @Override
@@ -117,11 +288,26 @@ public class ReactiveDownloadResponse implements DownloadResponse {
             fluxSink.complete();
         }
 
-        public void writeSink(byte... bytes) {
-            DataBuffer buffer = response.bufferFactory().wrap(bytes);
-            fluxSink.next(buffer);
-            //在这里可能有问题，但是目前没有没有需要释放的数据
-            DataBufferUtils.release(buffer);
+        private void awaitDemand() throws IOException {
+            synchronized (lock) {
+                while (!disposed && fluxSink.requestedFromDownstream() <= 0) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+            }
+            if (disposed) {
+                throw new IOException("Response is cancelled or completed");
+            }
+        }
+
+        private void signal() {
+            synchronized (lock) {
+                lock.notifyAll();
+            }
         }
     }
 }
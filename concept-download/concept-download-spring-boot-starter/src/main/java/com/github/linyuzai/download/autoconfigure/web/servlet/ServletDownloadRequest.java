@@ -20,4 +20,9 @@ public class ServletDownloadRequest implements DownloadRequest {
     public String getHeader(String name) {
         return request.getHeaders().getFirst(name);
     }
+
+    @Override
+    public String getMethod() {
+        return request.getMethodValue();
+    }
 }
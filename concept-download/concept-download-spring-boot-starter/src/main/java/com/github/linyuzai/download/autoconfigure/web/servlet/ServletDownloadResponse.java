@@ -3,6 +3,7 @@ package com.github.linyuzai.download.autoconfigure.web.servlet;
 import com.github.linyuzai.download.core.web.DownloadResponse;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.ServerHttpResponse;
@@ -57,4 +58,13 @@ public class ServletDownloadResponse implements DownloadResponse {
     public void addHeader(String name, String value) {
         response.getHeaders().add(name, value);
     }
+
+    /**
+     * 写入状态码和响应头，用于没有响应体的情况。
+     */
+    @SneakyThrows
+    @Override
+    public void flush() {
+        response.flush();
+    }
 }
@@ -0,0 +1,26 @@
+package com.github.linyuzai.event.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 运行事件相关的基准测试
+ * <p>
+ * 附加 {@link GCProfiler}，通过 gc.alloc.rate.norm 查看每次操作的分配字节数；
+ * 支持 jmh 命令行参数，如 LocalEventBenchmark -p mode=SYNC,BLOCKING
+ */
+public class EventBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(cmd)
+                .addProfiler(GCProfiler.class);
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.linyuzai.event.benchmark;
+
+import com.github.linyuzai.event.core.concept.EventConcept;
+import com.github.linyuzai.event.core.concept.EventConceptImpl;
+import com.github.linyuzai.event.core.context.MapEventContextFactory;
+import com.github.linyuzai.event.core.exchange.EventExchange;
+import com.github.linyuzai.event.core.template.EventTemplate;
+import com.github.linyuzai.event.local.endpoint.LocalEventEndpoint;
+import com.github.linyuzai.event.local.engine.LocalEventEngine;
+import com.github.linyuzai.event.local.exchange.LocalEndpointExchange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过 {@link EventConcept} 发布事件到多个没有监听器的本地端点
+ * <p>
+ * 只统计路由和准备上下文的开销；
+ * context 为模版上下文中自定义属性的数量，
+ * exchange 为 ALL 时发布到所有端点，为 ENDPOINT 时每次发布都新建一个指定所有端点的交换机
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventConceptPublishBenchmark {
+
+    @Param({"1", "16"})
+    public int endpoints;
+
+    @Param({"4", "32"})
+    public int context;
+
+    @Param({"ALL", "ENDPOINT"})
+    public String exchange;
+
+    private EventConcept concept;
+
+    private EventTemplate template;
+
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EventConceptImpl impl = new EventConceptImpl();
+        impl.setContextFactory(new MapEventContextFactory());
+        impl.setErrorHandler((e, endpoint, ctx) -> e.printStackTrace());
+        LocalEventEngine engine = new LocalEventEngine();
+        names = new String[endpoints];
+        for (int i = 0; i < endpoints; i++) {
+            names[i] = "endpoint" + i;
+            engine.addEndpoints(new LocalEventEndpoint(names[i], engine));
+        }
+        impl.addEngines(engine);
+        concept = impl;
+        template = concept.template();
+        for (int i = 0; i < context; i++) {
+            template.context("key" + i, i);
+        }
+    }
+
+    @Benchmark
+    public void publish() {
+        if ("ALL".equals(exchange)) {
+            template.exchange(EventExchange.ALL).publish("event");
+        } else {
+            template.exchange(new LocalEndpointExchange(names)).publish("event");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.linyuzai.event.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.linyuzai.event.core.codec.JacksonEventDecoder;
+import com.github.linyuzai.event.core.context.EventContext;
+import com.github.linyuzai.event.core.context.MapEventContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比每次新建 {@link TypeReference} 解析和 {@link JacksonEventDecoder} 缓存 ObjectReader 解析
+ * <p>
+ * LEGACY 为原来每次解码都通过 {@link ObjectMapper#readValue(String, TypeReference)} 解析字符串；
+ * STRING 和 BYTES 为 {@link JacksonEventDecoder} 解析字符串和字节数组
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonEventDecoderBenchmark {
+
+    @Param({"LEGACY", "STRING", "BYTES"})
+    public String mode;
+
+    @Param({"OBJECT", "LIST"})
+    public String type;
+
+    private ObjectMapper objectMapper;
+
+    private JacksonEventDecoder decoder;
+
+    private EventContext context;
+
+    private Type targetType;
+
+    private String json;
+
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper();
+        decoder = new JacksonEventDecoder(objectMapper);
+        Object value;
+        if ("LIST".equals(type)) {
+            List<Payload> payloads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                payloads.add(new Payload(i));
+            }
+            value = payloads;
+            targetType = new TypeReference<List<Payload>>() {
+            }.getType();
+        } else {
+            value = new Payload(1);
+            targetType = Payload.class;
+        }
+        json = objectMapper.writeValueAsString(value);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        context = new MapEventContext();
+        context.put(Type.class, targetType);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        switch (mode) {
+            case "LEGACY":
+                return objectMapper.readValue(json, new TypeReference<Object>() {
+                    @Override
+                    public Type getType() {
+                        return targetType;
+                    }
+                });
+            case "BYTES":
+                return decoder.decode(bytes, null, context);
+            default:
+                return decoder.decode(json, null, context);
+        }
+    }
+
+    public static class Payload {
+
+        public long id;
+
+        public String name;
+
+        public String description;
+
+        public boolean enabled;
+
+        public List<String> tags;
+
+        public Payload() {
+        }
+
+        public Payload(long id) {
+            this.id = id;
+            this.name = "payload" + id;
+            this.description = "payload description " + id;
+            this.enabled = id % 2 == 0;
+            this.tags = new ArrayList<>();
+            this.tags.add("a" + id);
+            this.tags.add("b" + id);
+        }
+    }
+}
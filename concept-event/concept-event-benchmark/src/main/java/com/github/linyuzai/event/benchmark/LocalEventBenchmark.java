@@ -0,0 +1,169 @@
+package com.github.linyuzai.event.benchmark;
+
+import com.github.linyuzai.event.core.concept.EventConcept;
+import com.github.linyuzai.event.core.concept.EventConceptImpl;
+import com.github.linyuzai.event.core.context.EventContext;
+import com.github.linyuzai.event.core.context.MapEventContext;
+import com.github.linyuzai.event.core.endpoint.EventEndpoint;
+import com.github.linyuzai.event.core.error.EventErrorHandler;
+import com.github.linyuzai.event.core.listener.EventListener;
+import com.github.linyuzai.event.core.subscriber.Subscription;
+import com.github.linyuzai.event.local.endpoint.LocalEventEndpoint;
+import com.github.linyuzai.event.local.engine.LocalEventEngine;
+import com.github.linyuzai.event.local.ring.OverflowPolicy;
+import com.github.linyuzai.event.local.ring.ProducerType;
+import com.github.linyuzai.event.local.ring.RingBufferEventDispatcher;
+import com.github.linyuzai.event.local.ring.WaitStrategyType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比同步回调和环形缓冲区异步回调的本地事件端点
+ * <p>
+ * publish 只统计发布一批事件的耗时，即发布线程的延迟，上一批事件在每次调用之前消费完成；
+ * publishAndAwait 统计发布一批事件并等待所有监听器处理完成的耗时，即端到端的吞吐量。
+ * work 为每个监听器处理每个事件消耗的 {@link Blackhole#consumeCPU(long)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalEventBenchmark {
+
+    private static final int BURST = 256;
+
+    @Param({"SYNC", "BLOCKING", "SLEEPING", "YIELDING"})
+    public Dispatch mode;
+
+    @Param({"1", "4"})
+    public int listeners;
+
+    @Param({"0", "1000"})
+    public long work;
+
+    private LocalEventEndpoint endpoint;
+
+    private EventContext context;
+
+    private List<CountingListener> counters;
+
+    private List<Subscription> subscriptions;
+
+    private long published;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EventConcept concept = new EventConceptImpl();
+        endpoint = new LocalEventEndpoint("benchmark", new LocalEventEngine());
+        if (mode.waitStrategy != null) {
+            endpoint.setDispatcher(new RingBufferEventDispatcher("benchmark", ProducerType.MULTI,
+                    1024, mode.waitStrategy.create(), OverflowPolicy.BLOCK, 64));
+        }
+        context = newContext(concept);
+        counters = new ArrayList<>();
+        subscriptions = new ArrayList<>();
+        for (int i = 0; i < listeners; i++) {
+            CountingListener listener = new CountingListener(work);
+            counters.add(listener);
+            subscriptions.add(endpoint.subscribe(listener, newContext(concept)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        subscriptions.forEach(Subscription::unsubscribe);
+    }
+
+    /**
+     * 等待上一批事件消费完成，不计入 publish 的耗时
+     */
+    @Setup(Level.Invocation)
+    public void drain() {
+        await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void publish() {
+        for (int i = 0; i < BURST; i++) {
+            endpoint.publish(published++, context);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void publishAndAwait() {
+        for (int i = 0; i < BURST; i++) {
+            endpoint.publish(published++, context);
+        }
+        await();
+    }
+
+    private void await() {
+        for (CountingListener counter : counters) {
+            while (counter.count < published) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private static EventContext newContext(EventConcept concept) {
+        EventContext context = new MapEventContext();
+        context.put(EventConcept.class, concept);
+        context.put(EventErrorHandler.class, (EventErrorHandler) (e, endpoint, ctx) -> e.printStackTrace());
+        return context;
+    }
+
+    public enum Dispatch {
+
+        SYNC(null),
+
+        BLOCKING(WaitStrategyType.BLOCKING),
+
+        SLEEPING(WaitStrategyType.SLEEPING),
+
+        YIELDING(WaitStrategyType.YIELDING),
+
+        BUSY_SPIN(WaitStrategyType.BUSY_SPIN);
+
+        private final WaitStrategyType waitStrategy;
+
+        Dispatch(WaitStrategyType waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+    }
+
+    /**
+     * 每个监听器只在一个线程中回调，计数不需要原子操作
+     */
+    private static class CountingListener implements EventListener {
+
+        private final long work;
+
+        private volatile long count;
+
+        private CountingListener(long work) {
+            this.work = work;
+        }
+
+        @Override
+        public void onEvent(Object event, EventEndpoint endpoint, EventContext context) {
+            if (work > 0) {
+                Blackhole.consumeCPU(work);
+            }
+            count++;
+        }
+
+        @Override
+        public Type getType() {
+            return Object.class;
+        }
+    }
+}
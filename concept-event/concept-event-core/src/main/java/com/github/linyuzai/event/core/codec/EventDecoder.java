@@ -3,6 +3,9 @@ package com.github.linyuzai.event.core.codec;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.endpoint.EventEndpoint;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 事件解码器
  * <p>
@@ -19,4 +22,22 @@ public interface EventDecoder {
      * @return 解码后的事件
      */
     Object decode(Object event, EventEndpoint endpoint, EventContext context);
+
+    /**
+     * 批量解码
+     * <p>
+     * 默认依次解码每个事件
+     *
+     * @param events   事件
+     * @param endpoint 事件端点
+     * @param context  事件上下文
+     * @return 解码后的事件
+     */
+    default List<Object> decodeAll(List<Object> events, EventEndpoint endpoint, EventContext context) {
+        List<Object> decoded = new ArrayList<>(events.size());
+        for (Object event : events) {
+            decoded.add(decode(event, endpoint, context));
+        }
+        return decoded;
+    }
 }
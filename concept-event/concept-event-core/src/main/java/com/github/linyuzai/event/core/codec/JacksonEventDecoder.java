@@ -2,29 +2,48 @@ package com.github.linyuzai.event.core.codec;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.endpoint.EventEndpoint;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
 
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 基于 Jackson 的 json 解码器
+ * <p>
+ * 每种类型只解析一次 {@link com.fasterxml.jackson.databind.JavaType} 并缓存对应的 {@link ObjectReader}；
+ * 字节数组和 {@link ByteBuffer} 直接从字节解析，不会先转换为字符串，
+ * 如 Kafka 可以配置 ByteArrayDeserializer，RabbitMQ 默认就是消息体的字节数组
  */
 @Getter
 @Setter
-@AllArgsConstructor
 public class JacksonEventDecoder implements EventDecoder {
 
     private ObjectMapper objectMapper;
 
+    /**
+     * 类型对应的 {@link ObjectReader}
+     */
+    @Setter(AccessLevel.NONE)
+    private final Map<Type, ObjectReader> readerCache = new ConcurrentHashMap<>();
+
     public JacksonEventDecoder() {
         this(new ObjectMapper());
     }
 
+    public JacksonEventDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /**
      * 如果未指定类型则直接返回
      * <p>
@@ -32,28 +51,72 @@ public class JacksonEventDecoder implements EventDecoder {
      * <p>
      * 否则尝试解析 json 为指定类型的对象
      */
-    @SneakyThrows
     @Override
     public Object decode(Object event, EventEndpoint endpoint, EventContext context) {
         Type type = context.get(Type.class);
         if (type == null) {
             return event;
         }
+        return decode(event, type);
+    }
+
+    /**
+     * 批量解码，同一批事件只获取一次类型
+     */
+    @Override
+    public List<Object> decodeAll(List<Object> events, EventEndpoint endpoint, EventContext context) {
+        Type type = context.get(Type.class);
+        if (type == null) {
+            return events;
+        }
+        List<Object> decoded = new ArrayList<>(events.size());
+        for (Object event : events) {
+            decoded.add(decode(event, type));
+        }
+        return decoded;
+    }
+
+    @SneakyThrows
+    protected Object decode(Object event, Type type) {
         if (event instanceof String) {
             if (type == String.class) {
                 return event;
             }
-            return objectMapper.readValue((String) event, newTypeReference(type));
+            return getReader(type).readValue((String) event);
         }
         if (event instanceof byte[]) {
             if (type == byte[].class) {
                 return event;
             }
-            return objectMapper.readValue((byte[]) event, newTypeReference(type));
+            return getReader(type).readValue((byte[]) event);
+        }
+        if (event instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) event;
+            if (type == ByteBuffer.class) {
+                return event;
+            }
+            if (buffer.hasArray()) {
+                return getReader(type).readValue(buffer.array(),
+                        buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return getReader(type).readValue(bytes);
         }
         throw new IllegalArgumentException("String required but " + event.getClass());
     }
 
+    /**
+     * 获得类型对应的 {@link ObjectReader}，不存在时创建并缓存
+     */
+    public ObjectReader getReader(Type type) {
+        return readerCache.computeIfAbsent(type, this::newReader);
+    }
+
+    protected ObjectReader newReader(Type type) {
+        return objectMapper.readerFor(newTypeReference(type));
+    }
+
     protected TypeReference<?> newTypeReference(Type type) {
         return new TypeReference<Object>() {
             @Override
@@ -62,4 +125,12 @@ public class JacksonEventDecoder implements EventDecoder {
             }
         };
     }
+
+    /**
+     * 更换 {@link ObjectMapper} 时清空缓存
+     */
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.readerCache.clear();
+    }
 }
@@ -2,6 +2,7 @@ package com.github.linyuzai.event.core.concept;
 
 import com.github.linyuzai.event.core.codec.EventDecoder;
 import com.github.linyuzai.event.core.codec.EventEncoder;
+import com.github.linyuzai.event.core.context.ChildEventContext;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.context.EventContextFactory;
 import com.github.linyuzai.event.core.endpoint.EventEndpoint;
@@ -16,12 +17,15 @@ import com.github.linyuzai.event.core.subscriber.EventSubscriber;
 import com.github.linyuzai.event.core.subscriber.Subscription;
 import com.github.linyuzai.event.core.template.ContextEventTemplate;
 import com.github.linyuzai.event.core.template.EventTemplate;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 事件概念实现
@@ -40,6 +44,22 @@ public class EventConceptImpl implements EventConcept {
      */
     protected final List<EventConceptLifecycleListener> lifecycleListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * 路由缓存，key 为 {@link EventExchange#getRoutingKey()}
+     */
+    protected final Map<Object, Route> routeCache = new ConcurrentHashMap<>();
+
+    /**
+     * 引擎的版本，添加或移除引擎之后递增
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 最多缓存的路由数量，超过时清空
+     */
+    private int maxRouteCacheSize = 256;
+
     /**
      * 事件上下文工厂
      */
@@ -107,15 +127,40 @@ public class EventConceptImpl implements EventConcept {
         EventExchange exchange = applyExchange(context);
         EventPublisher publisher = context.get(EventPublisher.class);
         //确定需要发布事件的端点
-        Collection<? extends EventEndpoint> endpoints = exchange.exchange(getEngines(), context);
+        Collection<? extends EventEndpoint> endpoints = route(exchange, context);
+        //所有端点共享一个副本
+        EventContext duplicate = context.duplicate();
         for (EventEndpoint endpoint : endpoints) {
-            //准备上下文为每个事件端点生成一个上下文副本
-            EventContext prepare = prepareContext(context, endpoint);
+            //准备上下文为每个事件端点生成一个子上下文
+            EventContext prepare = prepareContext(duplicate, endpoint);
             prepare.put(EventPublisher.class, usePublisher(endpoint, publisher));
             endpoint.publish(event, prepare);
         }
     }
 
+    /**
+     * 批量发布事件
+     * <p>
+     * 只确定一次事件端点，每个端点只准备一次上下文
+     *
+     * @param events  事件
+     * @param context 事件上下文
+     */
+    protected void publishAllWithContext(Collection<?> events, EventContext context) {
+        if (events.isEmpty()) {
+            return;
+        }
+        EventExchange exchange = applyExchange(context);
+        EventPublisher publisher = context.get(EventPublisher.class);
+        Collection<? extends EventEndpoint> endpoints = route(exchange, context);
+        EventContext duplicate = context.duplicate();
+        for (EventEndpoint endpoint : endpoints) {
+            EventContext prepare = prepareContext(duplicate, endpoint);
+            prepare.put(EventPublisher.class, usePublisher(endpoint, publisher));
+            endpoint.publishAll(events, prepare);
+        }
+    }
+
     /**
      * 订阅事件
      *
@@ -126,11 +171,13 @@ public class EventConceptImpl implements EventConcept {
         EventExchange exchange = applyExchange(context);
         EventSubscriber subscriber = context.get(EventSubscriber.class);
         //确定需要订阅事件的端点
-        Collection<? extends EventEndpoint> endpoints = exchange.exchange(getEngines(), context);
+        Collection<? extends EventEndpoint> endpoints = route(exchange, context);
+        //所有端点共享一个副本
+        EventContext duplicate = context.duplicate();
         List<Subscription> subscriptions = new ArrayList<>();
         for (EventEndpoint endpoint : endpoints) {
-            //准备上下文为每个事件端点生成一个上下文副本
-            EventContext prepare = prepareContext(context, endpoint);
+            //准备上下文为每个事件端点生成一个子上下文
+            EventContext prepare = prepareContext(duplicate, endpoint);
             prepare.put(EventSubscriber.class, useSubscriber(endpoint, subscriber));
             Subscription subscription = endpoint.subscribe(listener, prepare);
             subscriptions.add(subscription);
@@ -146,17 +193,69 @@ public class EventConceptImpl implements EventConcept {
     protected EventExchange applyExchange(EventContext context) {
         EventExchange exchange = context.get(EventExchange.class);
         EventExchange exchangeToUse = useExchange(exchange);
-        context.put(EventExchange.class, exchangeToUse);
+        //没有变化时不写入，避免复制共享的上下文
+        if (exchange != exchangeToUse) {
+            context.put(EventExchange.class, exchangeToUse);
+        }
         return exchangeToUse;
     }
 
+    /**
+     * 确定事件端点
+     * <p>
+     * 交换机提供了 key 并且所有引擎都支持版本时使用缓存，
+     * 引擎或端点发生变化后重新计算
+     */
+    protected Collection<? extends EventEndpoint> route(EventExchange exchange, EventContext context) {
+        Object key = exchange.getRoutingKey();
+        if (key == null) {
+            return exchange.exchange(getEngines(), context);
+        }
+        //先获得版本再计算，计算期间发生变化时版本不一致
+        long engineVersion = version.get();
+        long endpointVersion = getEndpointVersion();
+        if (endpointVersion < 0) {
+            return exchange.exchange(getEngines(), context);
+        }
+        Route route = routeCache.get(key);
+        if (route != null && route.engineVersion == engineVersion && route.endpointVersion == endpointVersion) {
+            return route.endpoints;
+        }
+        Collection<? extends EventEndpoint> endpoints =
+                Collections.unmodifiableList(new ArrayList<>(exchange.exchange(getEngines(), context)));
+        if (routeCache.size() >= maxRouteCacheSize) {
+            routeCache.clear();
+        }
+        routeCache.put(key, new Route(engineVersion, endpointVersion, endpoints));
+        return endpoints;
+    }
+
+    /**
+     * 所有引擎的端点版本之和
+     * <p>
+     * 引擎不变时每个版本只增不减，所以和也只增不减
+     *
+     * @return 版本之和，存在不支持版本的引擎时返回 -1
+     */
+    protected long getEndpointVersion() {
+        long sum = 0;
+        for (EventEngine engine : engineMap.values()) {
+            long v = engine.getVersion();
+            if (v < 0) {
+                return -1;
+            }
+            sum += v;
+        }
+        return sum;
+    }
+
     /**
      * 准备事件上下文
      * <p>
-     * 进行复制，基于对应的端点设置事件上下文
+     * 基于共享的副本创建子上下文，只保存对应端点的组件，不复制整个上下文
      */
     protected EventContext prepareContext(EventContext context, EventEndpoint endpoint) {
-        EventContext duplicate = context.duplicate();
+        EventContext duplicate = new ChildEventContext(context);
         duplicate.put(EventConcept.class, this);
         EventEncoder encoder = duplicate.get(EventEncoder.class);
         duplicate.put(EventEncoder.class, useEncoder(endpoint, encoder));
@@ -182,6 +281,8 @@ public class EventConceptImpl implements EventConcept {
         for (EventEngine engine : engines) {
             this.engineMap.put(engine.getName(), engine);
         }
+        version.incrementAndGet();
+        routeCache.clear();
     }
 
     @Override
@@ -189,6 +290,8 @@ public class EventConceptImpl implements EventConcept {
         for (String engine : engines) {
             this.engineMap.remove(engine);
         }
+        version.incrementAndGet();
+        routeCache.clear();
     }
 
     @Override
@@ -340,6 +443,19 @@ public class EventConceptImpl implements EventConcept {
         return null;
     }
 
+    /**
+     * 缓存的路由
+     */
+    @RequiredArgsConstructor
+    protected static class Route {
+
+        private final long engineVersion;
+
+        private final long endpointVersion;
+
+        private final Collection<? extends EventEndpoint> endpoints;
+    }
+
     /**
      * 事件模版的实现
      */
@@ -360,6 +476,11 @@ public class EventConceptImpl implements EventConcept {
             publishWithContext(event, context);
         }
 
+        @Override
+        public void publishAll(Collection<?> events) {
+            publishAllWithContext(events, context);
+        }
+
         @Override
         public Subscription subscribe(EventListener listener) {
             return subscribeWithContext(listener, context);
@@ -0,0 +1,62 @@
+package com.github.linyuzai.event.core.context;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 子事件上下文
+ * <p>
+ * 只保存自己添加的属性，获取不到时从父上下文中获取，
+ * 用于批量处理时为每个事件提供上下文而不复制父上下文
+ */
+@Getter
+public class ChildEventContext implements EventContext {
+
+    /**
+     * 父上下文
+     */
+    private final EventContext parent;
+
+    private final Map<Object, Object> map = new LinkedHashMap<>(8);
+
+    public ChildEventContext(EventContext parent) {
+        this.parent = parent;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V get(Object key) {
+        Object value = map.get(key);
+        if (value == null && !map.containsKey(key)) {
+            return parent.get(key);
+        }
+        return (V) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        map.put(key, value);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return map.containsKey(key) || parent.contains(key);
+    }
+
+    /**
+     * 只清空自己添加的属性
+     */
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public EventContext duplicate() {
+        EventContext duplicate = parent.duplicate();
+        map.forEach(duplicate::put);
+        return duplicate;
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.linyuzai.event.core.context;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.util.LinkedHashMap;
@@ -9,18 +8,29 @@ import java.util.function.Supplier;
 
 /**
  * 基于 Map 的事件上下文
+ * <p>
+ * 复制时和副本共享同一个 Map，任意一方写入时才复制
  */
 @Getter
-@AllArgsConstructor
 public class MapEventContext implements EventContext {
 
-    private final Map<Object, Object> map;
+    private Map<Object, Object> map;
 
     /**
      * 用于获得 Map 实例
      */
     private final Supplier<Map<Object, Object>> supplier;
 
+    /**
+     * 是否和其他上下文共享 Map
+     */
+    private boolean shared;
+
+    public MapEventContext(Map<Object, Object> map, Supplier<Map<Object, Object>> supplier) {
+        this.map = map;
+        this.supplier = supplier;
+    }
+
     public MapEventContext() {
         this(LinkedHashMap::new);
     }
@@ -38,6 +48,16 @@ public class MapEventContext implements EventContext {
 
     @Override
     public void put(Object key, Object value) {
+        if (shared) {
+            //值没有变化时不需要复制
+            if (map.get(key) == value && (value != null || map.containsKey(key))) {
+                return;
+            }
+            Map<Object, Object> copy = supplier.get();
+            copy.putAll(map);
+            map = copy;
+            shared = false;
+        }
         map.put(key, value);
     }
 
@@ -48,13 +68,19 @@ public class MapEventContext implements EventContext {
 
     @Override
     public void clear() {
-        map.clear();
+        if (shared) {
+            map = supplier.get();
+            shared = false;
+        } else {
+            map.clear();
+        }
     }
 
     @Override
     public EventContext duplicate() {
-        MapEventContext duplicate = new MapEventContext(supplier);
-        duplicate.map.putAll(this.map);
+        MapEventContext duplicate = new MapEventContext(map, supplier);
+        duplicate.shared = true;
+        this.shared = true;
         return duplicate;
     }
 }
@@ -7,6 +7,7 @@ import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.engine.EventEngine;
 import com.github.linyuzai.event.core.error.EventErrorHandler;
 import com.github.linyuzai.event.core.exception.EventException;
+import com.github.linyuzai.event.core.listener.BatchEventListener;
 import com.github.linyuzai.event.core.listener.EventListener;
 import com.github.linyuzai.event.core.publisher.EventPublisher;
 import com.github.linyuzai.event.core.subscriber.EventSubscriber;
@@ -17,6 +18,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -69,12 +73,51 @@ public abstract class AbstractEventEndpoint extends AbstractInstanceConfig imple
         throw new EventException("EventPublisher is null");
     }
 
+    /**
+     * 先编码所有事件再交给事件发布器批量发布
+     * <p>
+     * 任意一个事件编码失败时整批都不发布
+     */
+    @Override
+    public void publishAll(Collection<?> events, EventContext context) {
+        EventErrorHandler errorHandler = context.get(EventErrorHandler.class);
+        try {
+            EventEncoder encoder = context.get(EventEncoder.class);
+            //编码事件
+            List<Object> encoded = new ArrayList<>(events.size());
+            for (Object event : events) {
+                encoded.add(encoder == null ? event : encoder.encode(event, this, context));
+            }
+            EventPublisher publisher = context.get(EventPublisher.class);
+            if (publisher == null) {
+                //如果没有发布器进行默认批量发布
+                defaultPublishAll(encoded, context);
+            } else {
+                publisher.publishAll(encoded, this, context);
+            }
+        } catch (Throwable e) {
+            errorHandler.onError(e, this, context);
+        }
+    }
+
+    /**
+     * 默认批量发布
+     * <p>
+     * 默认逐个调用 {@link #defaultPublish(Object, EventContext)}
+     */
+    public void defaultPublishAll(List<Object> events, EventContext context) {
+        for (Object event : events) {
+            defaultPublish(event, context);
+        }
+    }
+
     @Override
     public Subscription subscribe(EventListener listener, EventContext context) {
         EventErrorHandler errorHandler = context.get(EventErrorHandler.class);
         try {
             context.put(Type.class, listener.getType());
-            EventListener decodeListener = new EventListener() {
+            EventListener decodeListener = listener instanceof BatchEventListener ?
+                    new BatchDecodeEventListener((BatchEventListener) listener) : new EventListener() {
 
                 @Override
                 public void onEvent(Object event, EventEndpoint endpoint, EventContext context) {
@@ -129,4 +172,26 @@ public abstract class AbstractEventEndpoint extends AbstractInstanceConfig imple
                 engine.equals(((EventEndpoint) obj).getEngine()) &&
                 name.equals(((EventEndpoint) obj).getName());
     }
+
+    /**
+     * 批量解码事件后回调批量事件监听器
+     */
+    @RequiredArgsConstructor
+    public static class BatchDecodeEventListener implements BatchEventListener {
+
+        private final BatchEventListener listener;
+
+        @Override
+        public void onEvents(List<Object> events, List<EventContext> contexts, EventEndpoint endpoint, EventContext context) {
+            EventDecoder decoder = context.get(EventDecoder.class);
+            //解码事件
+            List<Object> decoded = decoder == null ? events : decoder.decodeAll(events, endpoint, context);
+            listener.onEvents(decoded, contexts, endpoint, context);
+        }
+
+        @Override
+        public Type getType() {
+            return listener.getType();
+        }
+    }
 }
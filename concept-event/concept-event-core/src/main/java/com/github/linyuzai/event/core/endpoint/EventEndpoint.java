@@ -6,6 +6,8 @@ import com.github.linyuzai.event.core.engine.EventEngine;
 import com.github.linyuzai.event.core.listener.EventListener;
 import com.github.linyuzai.event.core.subscriber.Subscription;
 
+import java.util.Collection;
+
 /**
  * 事件端点
  * <p>
@@ -28,6 +30,17 @@ public interface EventEndpoint extends InstanceConfig {
      */
     void publish(Object event, EventContext context);
 
+    /**
+     * 批量发布事件
+     * <p>
+     * 默认逐个发布
+     */
+    default void publishAll(Collection<?> events, EventContext context) {
+        for (Object event : events) {
+            publish(event, context);
+        }
+    }
+
     /**
      * 订阅事件
      */
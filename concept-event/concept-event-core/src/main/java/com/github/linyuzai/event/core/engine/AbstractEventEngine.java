@@ -2,6 +2,7 @@ package com.github.linyuzai.event.core.engine;
 
 import com.github.linyuzai.event.core.config.AbstractInstanceConfig;
 import com.github.linyuzai.event.core.endpoint.EventEndpoint;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 事件端点的抽象类
@@ -31,6 +33,12 @@ public abstract class AbstractEventEngine extends AbstractInstanceConfig impleme
      */
     private final Map<String, EventEndpoint> endpointMap = new ConcurrentHashMap<>();
 
+    /**
+     * 端点的版本
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong version = new AtomicLong();
+
     @Override
     public EventEndpoint getEndpoint(String name) {
         return endpointMap.get(name);
@@ -46,6 +54,7 @@ public abstract class AbstractEventEngine extends AbstractInstanceConfig impleme
         for (EventEndpoint endpoint : endpoints) {
             this.endpointMap.put(endpoint.getName(), endpoint);
         }
+        version.incrementAndGet();
     }
 
     @Override
@@ -53,6 +62,12 @@ public abstract class AbstractEventEngine extends AbstractInstanceConfig impleme
         for (String endpoint : endpoints) {
             this.endpointMap.remove(endpoint);
         }
+        version.incrementAndGet();
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
     }
 
     /**
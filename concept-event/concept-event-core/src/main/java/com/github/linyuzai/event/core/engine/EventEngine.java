@@ -51,4 +51,15 @@ public interface EventEngine extends InstanceConfig {
      * 根据名称移除事件端点
      */
     void removeEndpoints(Collection<String> endpoints);
+
+    /**
+     * 获得端点的版本
+     * <p>
+     * 添加或移除端点之后递增，用于判断路由缓存是否失效
+     * <p>
+     * 返回负数表示不支持，不缓存路由
+     */
+    default long getVersion() {
+        return -1;
+    }
 }
@@ -6,8 +6,10 @@ import com.github.linyuzai.event.core.engine.EventEngine;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +32,23 @@ public class ComposeEventExchange implements EventExchange {
         this(Arrays.asList(exchanges));
     }
 
+    /**
+     * 所有交换机的 key，存在不缓存的交换机时不缓存
+     */
+    @Override
+    public Object getRoutingKey() {
+        List<Object> keys = new ArrayList<>();
+        keys.add(getClass());
+        for (EventExchange exchange : exchanges) {
+            Object key = exchange.getRoutingKey();
+            if (key == null) {
+                return null;
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
+
     @Override
     public Collection<? extends EventEndpoint> exchange(Collection<? extends EventEngine> engines, EventContext context) {
         return exchanges.stream()
@@ -41,6 +41,18 @@ public class EndpointExchange implements EventExchange {
         this.endpoints = new HashSet<>(endpoints);
     }
 
+    /**
+     * 类型，引擎交换机的 key 和端点名称
+     */
+    @Override
+    public Object getRoutingKey() {
+        Object key = engine.getRoutingKey();
+        if (key == null) {
+            return null;
+        }
+        return Arrays.asList(getClass(), key, new HashSet<>(endpoints));
+    }
+
     @Override
     public Collection<? extends EventEndpoint> exchange(Collection<? extends EventEngine> engines, EventContext context) {
         return engine.exchange(engines, context)
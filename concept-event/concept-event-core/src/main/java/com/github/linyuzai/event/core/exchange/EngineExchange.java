@@ -30,6 +30,14 @@ public class EngineExchange implements EventExchange {
         this.engines = new HashSet<>(engines);
     }
 
+    /**
+     * 类型和引擎名称
+     */
+    @Override
+    public Object getRoutingKey() {
+        return Arrays.asList(getClass(), new HashSet<>(engines));
+    }
+
     @Override
     public Collection<? extends EventEndpoint> exchange(Collection<? extends EventEngine> engines, EventContext context) {
         return engines.stream()
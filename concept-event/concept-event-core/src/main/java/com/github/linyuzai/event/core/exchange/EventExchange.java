@@ -17,13 +17,35 @@ public interface EventExchange {
     /**
      * 所有端点
      */
-    EventExchange ALL = (engines, context) -> engines
-            .stream()
-            .flatMap(it -> it.getEndpoints().stream())
-            .collect(Collectors.toList());
+    EventExchange ALL = new EventExchange() {
+
+        @Override
+        public Collection<? extends EventEndpoint> exchange(Collection<? extends EventEngine> engines, EventContext context) {
+            return engines
+                    .stream()
+                    .flatMap(it -> it.getEndpoints().stream())
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public Object getRoutingKey() {
+            return this;
+        }
+    };
 
     /**
      * 提供发布或订阅操作所对应的事件端点
      */
     Collection<? extends EventEndpoint> exchange(Collection<? extends EventEngine> engines, EventContext context);
+
+    /**
+     * 用于缓存路由结果的 key
+     * <p>
+     * key 相同的交换机在引擎和端点不变时必须得到相同的端点
+     * <p>
+     * 返回 null 表示结果依赖上下文，不缓存
+     */
+    default Object getRoutingKey() {
+        return null;
+    }
 }
@@ -0,0 +1,36 @@
+package com.github.linyuzai.event.core.listener;
+
+import com.github.linyuzai.event.core.context.EventContext;
+import com.github.linyuzai.event.core.endpoint.EventEndpoint;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量事件监听器
+ * <p>
+ * 支持批量订阅的事件订阅器会将一批消息一起解码后回调，
+ * 其他事件订阅器每个事件回调一次
+ * <p>
+ * 每个事件对应一个上下文，可以获得消息本身的信息，如 Kafka 的 ConsumerRecord
+ */
+public interface BatchEventListener extends EventListener {
+
+    /**
+     * 批量监听事件
+     *
+     * @param events   事件
+     * @param contexts 每个事件对应的上下文
+     * @param endpoint 事件端点
+     * @param context  事件上下文
+     */
+    void onEvents(List<Object> events, List<EventContext> contexts, EventEndpoint endpoint, EventContext context);
+
+    /**
+     * 单个事件作为一批
+     */
+    @Override
+    default void onEvent(Object event, EventEndpoint endpoint, EventContext context) {
+        onEvents(Collections.singletonList(event), Collections.singletonList(context), endpoint, context);
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.linyuzai.event.core.listener;
+
+import com.github.linyuzai.event.core.context.EventContext;
+import com.github.linyuzai.event.core.endpoint.EventEndpoint;
+import com.github.linyuzai.event.core.utils.GenericProvider;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 基于泛型的批量事件监听器
+ *
+ * @param <T> 事件类型
+ */
+public abstract class GenericBatchEventListener<T> implements BatchEventListener, GenericProvider<Object> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onEvents(List<Object> events, List<EventContext> contexts, EventEndpoint endpoint, EventContext context) {
+        onGenericEvents((List<T>) (List<?>) events, contexts, endpoint, context);
+    }
+
+    /**
+     * 基于反射获得事件类型
+     */
+    @Override
+    public Type getType() {
+        return getGenericType();
+    }
+
+    /**
+     * 指定 {@link GenericBatchEventListener} 上的泛型
+     */
+    @Override
+    public Class<?> getTarget() {
+        return GenericBatchEventListener.class;
+    }
+
+    /**
+     * 批量监听处理泛型后的事件
+     */
+    public abstract void onGenericEvents(List<T> events, List<EventContext> contexts, EventEndpoint endpoint, EventContext context);
+}
@@ -4,6 +4,8 @@ import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.endpoint.EventEndpoint;
 import com.github.linyuzai.event.core.utils.GenericProvider;
 
+import java.util.List;
+
 /**
  * 事件发布器的抽象类
  * <p>
@@ -30,6 +32,22 @@ public abstract class AbstractEventPublisher<E extends EventEndpoint>
         doPublish(event, adapt, context);
     }
 
+    /**
+     * 如果适配事件端点则批量发布
+     *
+     * @param events   事件
+     * @param endpoint 事件端点
+     * @param context  事件上下文
+     */
+    @Override
+    public void publishAll(List<Object> events, EventEndpoint endpoint, EventContext context) {
+        E adapt = adapt(endpoint, context);
+        if (adapt == null) {
+            return;
+        }
+        doPublishAll(events, adapt, context);
+    }
+
     /**
      * 适配事件端点
      */
@@ -49,4 +67,15 @@ public abstract class AbstractEventPublisher<E extends EventEndpoint>
      * 执行发布
      */
     public abstract void doPublish(Object event, E endpoint, EventContext context);
+
+    /**
+     * 执行批量发布
+     * <p>
+     * 默认逐个发布
+     */
+    public void doPublishAll(List<Object> events, E endpoint, EventContext context) {
+        for (Object event : events) {
+            doPublish(event, endpoint, context);
+        }
+    }
 }
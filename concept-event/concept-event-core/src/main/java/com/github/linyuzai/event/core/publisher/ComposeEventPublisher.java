@@ -7,6 +7,7 @@ import lombok.Getter;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * 组合事件发布器
@@ -37,4 +38,18 @@ public class ComposeEventPublisher implements EventPublisher {
             publisher.publish(event, endpoint, context);
         }
     }
+
+    /**
+     * 遍历所有的事件发布器批量发布事件
+     *
+     * @param events   事件
+     * @param endpoint 事件端点
+     * @param context  事件上下文
+     */
+    @Override
+    public void publishAll(List<Object> events, EventEndpoint endpoint, EventContext context) {
+        for (EventPublisher publisher : publishers) {
+            publisher.publishAll(events, endpoint, context);
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.github.linyuzai.event.core.publisher;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.endpoint.EventEndpoint;
 
+import java.util.List;
+
 /**
  * 事件发布器
  */
@@ -16,4 +18,19 @@ public interface EventPublisher {
      * @param context  事件上下文
      */
     void publish(Object event, EventEndpoint endpoint, EventContext context);
+
+    /**
+     * 批量发布事件
+     * <p>
+     * 默认逐个发布
+     *
+     * @param events   编码后的事件
+     * @param endpoint 事件端点
+     * @param context  事件上下文
+     */
+    default void publishAll(List<Object> events, EventEndpoint endpoint, EventContext context) {
+        for (Object event : events) {
+            publish(event, endpoint, context);
+        }
+    }
 }
@@ -10,6 +10,7 @@ import com.github.linyuzai.event.core.publisher.EventPublisher;
 import com.github.linyuzai.event.core.subscriber.EventSubscriber;
 import com.github.linyuzai.event.core.subscriber.Subscription;
 
+import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -70,6 +71,13 @@ public interface EventTemplate {
      */
     void publish(Object event);
 
+    /**
+     * 批量发布事件
+     * <p>
+     * 只确定一次事件端点，由事件发布器决定如何批量发送
+     */
+    void publishAll(Collection<?> events);
+
     /**
      * 订阅事件
      */
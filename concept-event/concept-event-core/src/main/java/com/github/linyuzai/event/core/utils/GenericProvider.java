@@ -13,22 +13,11 @@ public interface GenericProvider<T> {
 
     /**
      * 获得泛型
+     * <p>
+     * 每个类型只解析一次
      */
     default Type getGenericType() {
-        Class<?> clazz = getClass();
-        while (clazz != null) {
-            Type type = clazz.getGenericSuperclass();
-            if (type instanceof ParameterizedType) {
-                if (((ParameterizedType) type).getRawType() == getTarget()) {
-                    Type[] types = ((ParameterizedType) type).getActualTypeArguments();
-                    if (types.length == 1) {
-                        return types[0];
-                    }
-                }
-            }
-            clazz = clazz.getSuperclass();
-        }
-        return null;
+        return GenericTypeCache.get(getClass(), getTarget());
     }
 
     /**
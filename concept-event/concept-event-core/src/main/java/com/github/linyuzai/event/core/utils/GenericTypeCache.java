@@ -0,0 +1,55 @@
+package com.github.linyuzai.event.core.utils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 泛型缓存
+ * <p>
+ * 每个类型和 RawType 只通过反射解析一次，
+ * 基于 {@link ClassValue} 不会阻止类被卸载
+ */
+class GenericTypeCache {
+
+    private static final Object NONE = new Object();
+
+    private static final ClassValue<Map<Class<?>, Object>> CACHE = new ClassValue<Map<Class<?>, Object>>() {
+        @Override
+        protected Map<Class<?>, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * 获得类型在指定 RawType 上的泛型
+     *
+     * @param clazz  类型
+     * @param target RawType
+     * @return 泛型，不存在时返回 null
+     */
+    static Type get(Class<?> clazz, Class<?> target) {
+        Object type = CACHE.get(clazz).computeIfAbsent(target, t -> {
+            Type resolved = resolve(clazz, t);
+            return resolved == null ? NONE : resolved;
+        });
+        return type == NONE ? null : (Type) type;
+    }
+
+    private static Type resolve(Class<?> clazz, Class<?> target) {
+        while (clazz != null) {
+            Type type = clazz.getGenericSuperclass();
+            if (type instanceof ParameterizedType) {
+                if (((ParameterizedType) type).getRawType() == target) {
+                    Type[] types = ((ParameterizedType) type).getActualTypeArguments();
+                    if (types.length == 1) {
+                        return types[0];
+                    }
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return null;
+    }
+}
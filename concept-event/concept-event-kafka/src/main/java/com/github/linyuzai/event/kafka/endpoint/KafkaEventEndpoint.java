@@ -20,6 +20,8 @@ import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.kafka.support.ProducerListener;
 import org.springframework.kafka.transaction.KafkaTransactionManager;
 
+import java.util.List;
+
 /**
  * Kafka 事件端点
  */
@@ -58,6 +60,14 @@ public class KafkaEventEndpoint extends AbstractEventEndpoint {
         new DefaultKafkaEventPublisher().publish(event, this, context);
     }
 
+    /**
+     * 默认批量发布
+     */
+    @Override
+    public void defaultPublishAll(List<Object> events, EventContext context) {
+        new DefaultKafkaEventPublisher().publishAll(events, this, context);
+    }
+
     /**
      * 默认订阅
      */
@@ -3,11 +3,16 @@ package com.github.linyuzai.event.kafka.publisher;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.error.EventErrorHandler;
 import com.github.linyuzai.event.kafka.endpoint.KafkaEventEndpoint;
+import com.github.linyuzai.event.kafka.exception.KafkaEventException;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.lang.NonNull;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.ListenableFutureCallback;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
 /**
  * Kafka 事件发布器抽象类
  */
@@ -16,6 +21,50 @@ public abstract class AbstractKafkaEventPublisher extends KafkaEventPublisher {
     @Override
     public void doPublish(Object event, KafkaEventEndpoint endpoint, EventContext context) {
         ListenableFuture<SendResult<Object, Object>> send = send(event, endpoint, context);
+        addCallback(send, endpoint, context);
+    }
+
+    /**
+     * 批量发布
+     * <p>
+     * 所有消息发送后只 flush 一次，让生产者尽可能合并请求，
+     * 然后等待所有消息的结果，返回时每条消息都已经确认或回调了 {@link #onPublishFailure(Throwable, KafkaEventEndpoint, EventContext)}
+     */
+    @Override
+    public void doPublishAll(List<Object> events, KafkaEventEndpoint endpoint, EventContext context) {
+        List<ListenableFuture<SendResult<Object, Object>>> futures = new ArrayList<>(events.size());
+        try {
+            for (Object event : events) {
+                ListenableFuture<SendResult<Object, Object>> send = send(event, endpoint, context);
+                addCallback(send, endpoint, context);
+                futures.add(send);
+            }
+        } finally {
+            //发送中途异常也要把已经发送的消息发出去
+            endpoint.getTemplate().flush();
+        }
+        await(futures);
+    }
+
+    /**
+     * 等待所有消息的结果
+     * <p>
+     * 失败已经在回调中处理
+     */
+    protected void await(List<ListenableFuture<SendResult<Object, Object>>> futures) {
+        for (ListenableFuture<SendResult<Object, Object>> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ignore) {
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KafkaEventException("Interrupted while waiting for send results", e);
+            }
+        }
+    }
+
+    protected void addCallback(ListenableFuture<SendResult<Object, Object>> send,
+                               KafkaEventEndpoint endpoint, EventContext context) {
         send.addCallback(new ListenableFutureCallback<SendResult<Object, Object>>() {
 
             @Override
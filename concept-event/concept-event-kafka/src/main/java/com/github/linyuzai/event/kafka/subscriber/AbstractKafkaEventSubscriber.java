@@ -1,24 +1,48 @@
 package com.github.linyuzai.event.kafka.subscriber;
 
+import com.github.linyuzai.event.core.context.ChildEventContext;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.error.EventErrorHandler;
+import com.github.linyuzai.event.core.listener.BatchEventListener;
 import com.github.linyuzai.event.core.listener.EventListener;
 import com.github.linyuzai.event.core.subscriber.Subscription;
 import com.github.linyuzai.event.kafka.endpoint.KafkaEventEndpoint;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.springframework.kafka.listener.AcknowledgingMessageListener;
-import org.springframework.kafka.listener.ContainerProperties;
-import org.springframework.kafka.listener.MessageListener;
-import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 
 /**
  * Kafka 事件订阅器抽象类
+ * <p>
+ * 监听器为 {@link BatchEventListener} 时批量订阅，每次拉取的消息一起解码和回调，按批提交
  */
+@Getter
+@Setter
 public abstract class AbstractKafkaEventSubscriber extends KafkaEventSubscriber {
 
+    /**
+     * 批量订阅时每批最多的消息数量，为 null 时使用端点的 max-poll-records
+     */
+    private Integer batchMaxRecords;
+
+    /**
+     * 批量订阅时服务端凑齐 fetch-min-bytes 最多等待的时间，为 null 时使用端点的 fetch-max-wait
+     */
+    private Duration batchMaxWait;
+
     @Override
     public Subscription doSubscribe(EventListener listener, KafkaEventEndpoint endpoint, EventContext context) {
         MessageListenerContainer container = createMessageListenerContainer(endpoint, context);
+        if (listener instanceof BatchEventListener) {
+            applyBatchProperties(container.getContainerProperties(), endpoint, context);
+        }
         container.setupMessageListener(createMessageListener(listener, endpoint, context));
         container.start();
         return new KafkaSubscription(container);
@@ -29,10 +53,36 @@ public abstract class AbstractKafkaEventSubscriber extends KafkaEventSubscriber
      */
     public abstract MessageListenerContainer createMessageListenerContainer(KafkaEventEndpoint endpoint, EventContext context);
 
+    /**
+     * 设置批量订阅的容器配置
+     * <p>
+     * 覆盖每批最多的消息数量和最长等待时间，非手动提交时按批提交
+     */
+    public void applyBatchProperties(ContainerProperties properties, KafkaEventEndpoint endpoint, EventContext context) {
+        Properties consumerProperties = new Properties();
+        consumerProperties.putAll(properties.getKafkaConsumerProperties());
+        //只会使用字符串的值
+        if (batchMaxRecords != null) {
+            consumerProperties.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                    String.valueOf(batchMaxRecords));
+        }
+        if (batchMaxWait != null) {
+            consumerProperties.setProperty(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG,
+                    String.valueOf(batchMaxWait.toMillis()));
+        }
+        properties.setKafkaConsumerProperties(consumerProperties);
+        if (properties.getAckMode() == ContainerProperties.AckMode.RECORD) {
+            properties.setAckMode(ContainerProperties.AckMode.BATCH);
+        }
+    }
+
     /**
      * 创建消息监听器
      */
-    public MessageListener<?, ?> createMessageListener(EventListener listener, KafkaEventEndpoint endpoint, EventContext context) {
+    public GenericMessageListener<?> createMessageListener(EventListener listener, KafkaEventEndpoint endpoint, EventContext context) {
+        if (listener instanceof BatchEventListener) {
+            return createBatchMessageListener((BatchEventListener) listener, endpoint, context);
+        }
         ContainerProperties.AckMode mode = endpoint.getProperties().getListener().getAckMode();
         if (mode == ContainerProperties.AckMode.MANUAL || mode == ContainerProperties.AckMode.MANUAL_IMMEDIATE) {
             return (AcknowledgingMessageListener<Object, Object>) (data, acknowledgment) ->
@@ -43,6 +93,20 @@ public abstract class AbstractKafkaEventSubscriber extends KafkaEventSubscriber
         }
     }
 
+    /**
+     * 创建批量消息监听器
+     */
+    public BatchMessageListener<?, ?> createBatchMessageListener(BatchEventListener listener, KafkaEventEndpoint endpoint, EventContext context) {
+        ContainerProperties.AckMode mode = endpoint.getProperties().getListener().getAckMode();
+        if (mode == ContainerProperties.AckMode.MANUAL || mode == ContainerProperties.AckMode.MANUAL_IMMEDIATE) {
+            return (BatchAcknowledgingMessageListener<Object, Object>) (data, acknowledgment) ->
+                    handleMessages(data, listener, endpoint, context, acknowledgment::acknowledge);
+        } else {
+            return (BatchMessageListener<Object, Object>) data ->
+                    handleMessages(data, listener, endpoint, context, null);
+        }
+    }
+
     /**
      * 处理消息
      */
@@ -64,6 +128,37 @@ public abstract class AbstractKafkaEventSubscriber extends KafkaEventSubscriber
         }
     }
 
+    /**
+     * 批量处理消息
+     * <p>
+     * 每个消息的上下文中可以通过 {@link ConsumerRecord} 获得消息本身
+     */
+    public void handleMessages(List<ConsumerRecord<Object, Object>> data,
+                               BatchEventListener listener,
+                               KafkaEventEndpoint endpoint,
+                               EventContext context,
+                               Runnable runnable) {
+        EventErrorHandler errorHandler = context.get(EventErrorHandler.class);
+        try {
+            List<Object> events = new ArrayList<>(data.size());
+            List<EventContext> contexts = new ArrayList<>(data.size());
+            for (ConsumerRecord<Object, Object> record : data) {
+                events.add(getPayload(record, endpoint, context));
+                EventContext recordContext = new ChildEventContext(context);
+                recordContext.put(ConsumerRecord.class, record);
+                contexts.add(recordContext);
+            }
+            //回调
+            listener.onEvents(events, contexts, endpoint, context);
+            //后置执行，用于手动ack
+            if (runnable != null) {
+                runnable.run();
+            }
+        } catch (Throwable e) {
+            errorHandler.onError(e, endpoint, context);
+        }
+    }
+
     /**
      * 获得数据内容
      */
@@ -3,15 +3,21 @@ package com.github.linyuzai.event.local.endpoint;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.endpoint.AbstractEventEndpoint;
 import com.github.linyuzai.event.core.engine.EventEngine;
+import com.github.linyuzai.event.core.listener.BatchEventListener;
 import com.github.linyuzai.event.core.listener.EventListener;
 import com.github.linyuzai.event.core.subscriber.Subscription;
 import com.github.linyuzai.event.local.publisher.LocalEventPublisherImpl;
+import com.github.linyuzai.event.local.ring.RingBufferEventDispatcher;
+import com.github.linyuzai.event.local.ring.RingBufferProcessor;
 import com.github.linyuzai.event.local.subscriber.LocalEventSubscriberImpl;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -22,6 +28,12 @@ public class LocalEventEndpoint extends AbstractEventEndpoint {
 
     private final Collection<ListenerContainer> containers = new CopyOnWriteArrayList<>();
 
+    /**
+     * 异步分发器，为 null 时在发布线程中同步回调监听器
+     */
+    @Setter
+    private RingBufferEventDispatcher dispatcher;
+
     public LocalEventEndpoint(@NonNull String name, @NonNull EventEngine engine) {
         super(name, engine);
     }
@@ -37,7 +49,7 @@ public class LocalEventEndpoint extends AbstractEventEndpoint {
     }
 
     @Getter
-    @AllArgsConstructor
+    @RequiredArgsConstructor
     public static class ListenerContainer {
 
         private final LocalEventEndpoint endpoint;
@@ -46,12 +58,35 @@ public class LocalEventEndpoint extends AbstractEventEndpoint {
 
         private final EventContext context;
 
+        /**
+         * 异步时对应的消费者
+         */
+        @Setter
+        private RingBufferProcessor<?> processor;
+
         public void consume(Object event) {
             listener.onEvent(event, endpoint, context);
         }
 
+        /**
+         * 批量消费，非批量监听器逐个回调
+         */
+        public void consume(List<Object> events) {
+            if (listener instanceof BatchEventListener) {
+                ((BatchEventListener) listener).onEvents(events,
+                        Collections.nCopies(events.size(), context), endpoint, context);
+            } else {
+                for (Object event : events) {
+                    consume(event);
+                }
+            }
+        }
+
         public void remove() {
             endpoint.getContainers().remove(this);
+            if (processor != null) {
+                processor.halt();
+            }
         }
     }
 }
@@ -2,6 +2,7 @@ package com.github.linyuzai.event.local.endpoint;
 
 import com.github.linyuzai.event.local.engine.LocalEventEngine;
 import com.github.linyuzai.event.local.properties.LocalEventProperties;
+import com.github.linyuzai.event.local.ring.RingBufferEventDispatcher;
 
 /**
  * 本地事件端点工厂实现
@@ -15,6 +16,15 @@ public class LocalEventEndpointFactoryImpl implements LocalEventEndpointFactory
 
         LocalEventEndpoint endpoint = new LocalEventEndpoint(name, engine);
         properties.apply(endpoint);
+        LocalEventProperties.AsyncProperties async = properties.getAsync();
+        if (async.isEnabled()) {
+            endpoint.setDispatcher(new RingBufferEventDispatcher(name,
+                    async.getProducerType(),
+                    async.getBufferSize(),
+                    async.getWaitStrategy().create(),
+                    async.getOverflowPolicy(),
+                    async.getBatchSize()));
+        }
         return endpoint;
     }
 }
@@ -3,6 +3,9 @@ package com.github.linyuzai.event.local.properties;
 import com.github.linyuzai.event.core.config.AbstractPropertiesConfig;
 import com.github.linyuzai.event.core.config.EndpointConfig;
 import com.github.linyuzai.event.core.config.EngineConfig;
+import com.github.linyuzai.event.local.ring.OverflowPolicy;
+import com.github.linyuzai.event.local.ring.ProducerType;
+import com.github.linyuzai.event.local.ring.WaitStrategyType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -44,5 +47,48 @@ public class LocalEventProperties extends AbstractPropertiesConfig implements En
          * 配置继承的端点名
          */
         private String inherit;
+
+        /**
+         * 异步配置
+         */
+        private AsyncProperties async = new AsyncProperties();
+    }
+
+    /**
+     * 异步配置
+     */
+    @Getter
+    @Setter
+    public static class AsyncProperties {
+
+        /**
+         * 是否通过环形缓冲区异步回调监听器
+         */
+        private boolean enabled;
+
+        /**
+         * 环形缓冲区大小，需要是 2 的幂
+         */
+        private int bufferSize = 1024;
+
+        /**
+         * 生产者类型，只有一个线程发布事件时可以使用 SINGLE
+         */
+        private ProducerType producerType = ProducerType.MULTI;
+
+        /**
+         * 消费者的等待策略
+         */
+        private WaitStrategyType waitStrategy = WaitStrategyType.BLOCKING;
+
+        /**
+         * 缓冲区满时阻塞或丢弃
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        /**
+         * 每次回调的最大事件数量
+         */
+        private int batchSize = 64;
     }
 }
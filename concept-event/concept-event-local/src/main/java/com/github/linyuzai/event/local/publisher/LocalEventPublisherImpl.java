@@ -2,11 +2,17 @@ package com.github.linyuzai.event.local.publisher;
 
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.local.endpoint.LocalEventEndpoint;
+import com.github.linyuzai.event.local.ring.RingBufferEventDispatcher;
 
 public class LocalEventPublisherImpl extends LocalEventPublisher {
 
     @Override
     public void doPublish(Object event, LocalEventEndpoint endpoint, EventContext context) {
+        RingBufferEventDispatcher dispatcher = endpoint.getDispatcher();
+        if (dispatcher != null) {
+            dispatcher.dispatch(event);
+            return;
+        }
         for (LocalEventEndpoint.ListenerContainer container : endpoint.getContainers()) {
             container.consume(event);
         }
@@ -0,0 +1,54 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 基于锁和条件的等待策略
+ * <p>
+ * 不占用 CPU，延迟最高；只有存在等待的消费者时发布才需要加锁唤醒
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition condition = lock.newCondition();
+
+    private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) throws InterruptedException {
+        long available = cursor.get();
+        if (available < sequence) {
+            lock.lock();
+            try {
+                while (true) {
+                    signalNeeded.getAndSet(true);
+                    available = cursor.get();
+                    if (available >= sequence || halted.getAsBoolean()) {
+                        break;
+                    }
+                    condition.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        if (signalNeeded.getAndSet(false)) {
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 一直自旋的等待策略
+ * <p>
+ * 延迟最低，每个消费者占用一个 CPU 核，只适用于消费者线程绑定独立核心的场景
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        long available;
+        while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+            //自旋
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
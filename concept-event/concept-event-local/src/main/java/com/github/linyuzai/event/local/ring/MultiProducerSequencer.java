@@ -0,0 +1,99 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 多生产者的序号分配器
+ * <p>
+ * 通过 CAS 申请序号，每个位置记录已经发布的圈数，
+ * 消费者只消费连续发布的序号
+ */
+public class MultiProducerSequencer extends Sequencer {
+
+    private final Sequence gatingSequenceCache = new Sequence();
+
+    private final AtomicIntegerArray availableBuffer;
+
+    private final int indexMask;
+
+    private final int indexShift;
+
+    public MultiProducerSequencer(int bufferSize, WaitStrategy waitStrategy) {
+        super(bufferSize, waitStrategy);
+        this.availableBuffer = new AtomicIntegerArray(bufferSize);
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableBuffer.set(i, -1);
+        }
+    }
+
+    @Override
+    public long next() {
+        long current;
+        long next;
+        while (true) {
+            current = cursor.get();
+            next = current + 1;
+            long wrapPoint = next - bufferSize;
+            long cachedGatingSequence = gatingSequenceCache.get();
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current) {
+                long gatingSequence = getMinimumSequence(current);
+                if (wrapPoint > gatingSequence) {
+                    LockSupport.parkNanos(1L);
+                    continue;
+                }
+                gatingSequenceCache.set(gatingSequence);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public long tryNext() {
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (!hasCapacity(current)) {
+                return -1;
+            }
+        } while (!cursor.compareAndSet(current, next));
+        return next;
+    }
+
+    private boolean hasCapacity(long cursorValue) {
+        long wrapPoint = cursorValue + 1 - bufferSize;
+        long cachedGatingSequence = gatingSequenceCache.get();
+        if (wrapPoint > cachedGatingSequence || cachedGatingSequence > cursorValue) {
+            long minSequence = getMinimumSequence(cursorValue);
+            gatingSequenceCache.set(minSequence);
+            return wrapPoint <= minSequence;
+        }
+        return true;
+    }
+
+    @Override
+    public void publish(long sequence) {
+        availableBuffer.lazySet((int) sequence & indexMask, (int) (sequence >>> indexShift));
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    @Override
+    public boolean isAvailable(long sequence) {
+        return availableBuffer.get((int) sequence & indexMask) == (int) (sequence >>> indexShift);
+    }
+
+    @Override
+    public long getHighestPublishedSequence(long lowerBound, long available) {
+        for (long sequence = lowerBound; sequence <= available; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return available;
+    }
+}
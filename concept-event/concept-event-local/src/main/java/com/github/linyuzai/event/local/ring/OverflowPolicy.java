@@ -0,0 +1,17 @@
+package com.github.linyuzai.event.local.ring;
+
+/**
+ * 环形缓冲区满时的处理策略
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 阻塞发布线程直到最慢的监听器空出位置
+     */
+    BLOCK,
+
+    /**
+     * 丢弃事件
+     */
+    DROP
+}
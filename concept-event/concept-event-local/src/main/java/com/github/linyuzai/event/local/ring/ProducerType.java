@@ -0,0 +1,32 @@
+package com.github.linyuzai.event.local.ring;
+
+/**
+ * 生产者类型
+ */
+public enum ProducerType {
+
+    /**
+     * 只有一个线程发布事件，不需要 CAS
+     */
+    SINGLE {
+        @Override
+        public Sequencer create(int bufferSize, WaitStrategy waitStrategy) {
+            return new SingleProducerSequencer(bufferSize, waitStrategy);
+        }
+    },
+
+    /**
+     * 多个线程发布事件
+     */
+    MULTI {
+        @Override
+        public Sequencer create(int bufferSize, WaitStrategy waitStrategy) {
+            return new MultiProducerSequencer(bufferSize, waitStrategy);
+        }
+    };
+
+    /**
+     * 创建对应的序号分配器
+     */
+    public abstract Sequencer create(int bufferSize, WaitStrategy waitStrategy);
+}
@@ -0,0 +1,66 @@
+package com.github.linyuzai.event.local.ring;
+
+import com.github.linyuzai.event.local.exception.LocalEventException;
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+/**
+ * 预分配的环形缓冲区
+ * <p>
+ * 创建时填充所有位置，发布事件时只修改对应位置的对象而不再分配
+ *
+ * @param <E> 位置上的对象类型
+ */
+public class RingBuffer<E> {
+
+    private final Object[] entries;
+
+    private final int indexMask;
+
+    /**
+     * 序号分配器
+     */
+    @Getter
+    private final Sequencer sequencer;
+
+    public RingBuffer(ProducerType producerType, int bufferSize, Supplier<E> factory, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new LocalEventException("Buffer size must be a power of 2: " + bufferSize);
+        }
+        this.entries = new Object[bufferSize];
+        this.indexMask = bufferSize - 1;
+        this.sequencer = producerType.create(bufferSize, waitStrategy);
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = factory.get();
+        }
+    }
+
+    /**
+     * 获得序号对应位置上的对象
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & indexMask];
+    }
+
+    public long next() {
+        return sequencer.next();
+    }
+
+    public long tryNext() {
+        return sequencer.tryNext();
+    }
+
+    public void publish(long sequence) {
+        sequencer.publish(sequence);
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    public long remainingCapacity() {
+        return sequencer.remainingCapacity();
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.linyuzai.event.local.ring;
+
+import com.github.linyuzai.event.core.context.EventContext;
+import com.github.linyuzai.event.core.error.EventErrorHandler;
+import com.github.linyuzai.event.core.listener.BatchEventListener;
+import com.github.linyuzai.event.local.endpoint.LocalEventEndpoint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于环形缓冲区的异步事件分发器
+ * <p>
+ * 发布时只将事件写入环形缓冲区，每个监听器由单独的线程消费，
+ * 慢的监听器不会增加发布的延迟；缓冲区满时根据 {@link OverflowPolicy} 阻塞或丢弃。
+ * {@link BatchEventListener} 每次回调一批已经发布的事件
+ */
+@Getter
+public class RingBufferEventDispatcher {
+
+    private final RingBuffer<EventSlot> ringBuffer;
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * 每次回调的最大事件数量
+     */
+    private final int batchSize;
+
+    /**
+     * 丢弃的事件数量
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * 消费线程工厂
+     */
+    @Setter
+    private ThreadFactory threadFactory;
+
+    public RingBufferEventDispatcher(String name, ProducerType producerType, int bufferSize,
+                                     WaitStrategy waitStrategy, OverflowPolicy overflowPolicy, int batchSize) {
+        this.ringBuffer = new RingBuffer<>(producerType, bufferSize, EventSlot::new, waitStrategy);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.threadFactory = new DaemonThreadFactory("concept-event-local-" + name + "-");
+    }
+
+    /**
+     * 发布事件
+     *
+     * @param event 事件
+     * @return 如果事件被丢弃则返回 false
+     */
+    public boolean dispatch(Object event) {
+        long sequence;
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            sequence = ringBuffer.tryNext();
+            if (sequence < 0) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+        } else {
+            sequence = ringBuffer.next();
+        }
+        ringBuffer.get(sequence).event = event;
+        ringBuffer.publish(sequence);
+        return true;
+    }
+
+    /**
+     * 为监听器启动一个消费者，从当前位置开始消费
+     *
+     * @param container 监听器容器
+     * @return 消费者
+     */
+    public RingBufferProcessor<EventSlot> subscribe(LocalEventEndpoint.ListenerContainer container) {
+        RingBufferHandler<EventSlot> handler = container.getListener() instanceof BatchEventListener ?
+                new BatchHandler(container, batchSize) : new SingleHandler(container);
+        RingBufferProcessor<EventSlot> processor = new RingBufferProcessor<>(ringBuffer, handler, batchSize);
+        threadFactory.newThread(processor).start();
+        return processor;
+    }
+
+    private static void handleError(Throwable e, LocalEventEndpoint.ListenerContainer container) {
+        EventContext context = container.getContext();
+        EventErrorHandler errorHandler = context.get(EventErrorHandler.class);
+        if (errorHandler != null) {
+            errorHandler.onError(e, container.getEndpoint(), context);
+        }
+    }
+
+    /**
+     * 缓冲区中的位置
+     */
+    public static class EventSlot {
+
+        private Object event;
+    }
+
+    private static class SingleHandler implements RingBufferHandler<EventSlot> {
+
+        private final LocalEventEndpoint.ListenerContainer container;
+
+        private SingleHandler(LocalEventEndpoint.ListenerContainer container) {
+            this.container = container;
+        }
+
+        @Override
+        public void onEvent(EventSlot entry, long sequence, boolean endOfBatch) {
+            container.consume(entry.event);
+        }
+
+        @Override
+        public void onError(Throwable e, long sequence) {
+            handleError(e, container);
+        }
+    }
+
+    private static class BatchHandler implements RingBufferHandler<EventSlot> {
+
+        private final LocalEventEndpoint.ListenerContainer container;
+
+        private final List<Object> events;
+
+        private BatchHandler(LocalEventEndpoint.ListenerContainer container, int batchSize) {
+            this.container = container;
+            this.events = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onEvent(EventSlot entry, long sequence, boolean endOfBatch) {
+            events.add(entry.event);
+            if (endOfBatch) {
+                try {
+                    container.consume(new ArrayList<>(events));
+                } finally {
+                    events.clear();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e, long sequence) {
+            events.clear();
+            handleError(e, container);
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final String prefix;
+
+        private DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
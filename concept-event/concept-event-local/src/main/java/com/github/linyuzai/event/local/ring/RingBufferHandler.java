@@ -0,0 +1,24 @@
+package com.github.linyuzai.event.local.ring;
+
+/**
+ * 环形缓冲区的消费回调
+ *
+ * @param <E> 位置上的对象类型
+ */
+public interface RingBufferHandler<E> {
+
+    /**
+     * 消费一个位置
+     *
+     * @param entry      位置上的对象
+     * @param sequence   序号
+     * @param endOfBatch 是否是这一批中的最后一个
+     */
+    void onEvent(E entry, long sequence, boolean endOfBatch) throws Throwable;
+
+    /**
+     * 消费时抛出异常，异常之后继续消费
+     */
+    default void onError(Throwable e, long sequence) {
+    }
+}
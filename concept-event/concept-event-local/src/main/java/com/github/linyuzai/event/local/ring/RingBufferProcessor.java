@@ -0,0 +1,88 @@
+package com.github.linyuzai.event.local.ring;
+
+import lombok.Getter;
+
+/**
+ * 环形缓冲区的消费者
+ * <p>
+ * 维护自己的序号，每次取出所有已经发布的序号（不超过最大批量）一起回调，
+ * 处理完一批之后再更新序号，生产者根据最慢的消费者序号判断是否可以覆盖
+ *
+ * @param <E> 位置上的对象类型
+ */
+public class RingBufferProcessor<E> implements Runnable {
+
+    private final RingBuffer<E> ringBuffer;
+
+    private final RingBufferHandler<E> handler;
+
+    /**
+     * 每批最多消费的数量
+     */
+    @Getter
+    private final int batchSize;
+
+    /**
+     * 消费者的序号
+     */
+    @Getter
+    private final Sequence sequence = new Sequence();
+
+    private volatile boolean running = true;
+
+    public RingBufferProcessor(RingBuffer<E> ringBuffer, RingBufferHandler<E> handler, int batchSize) {
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.batchSize = Math.max(batchSize, 1);
+        ringBuffer.getSequencer().addGatingSequence(sequence);
+    }
+
+    @Override
+    public void run() {
+        Sequencer sequencer = ringBuffer.getSequencer();
+        WaitStrategy waitStrategy = sequencer.getWaitStrategy();
+        long next = sequence.get() + 1;
+        try {
+            while (running) {
+                long available = waitStrategy.waitFor(next, sequencer.getCursor(), this::isHalted);
+                if (!running) {
+                    break;
+                }
+                available = sequencer.getHighestPublishedSequence(next, available);
+                if (available < next) {
+                    //已经申请但是还没有发布
+                    Thread.yield();
+                    continue;
+                }
+                long end = Math.min(available, next + batchSize - 1);
+                for (long i = next; i <= end && running; i++) {
+                    try {
+                        handler.onEvent(ringBuffer.get(i), i, i == end);
+                    } catch (Throwable e) {
+                        handler.onError(e, i);
+                    }
+                }
+                sequence.set(end);
+                next = end + 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sequencer.removeGatingSequence(sequence);
+        }
+    }
+
+    /**
+     * 停止消费并且不再阻塞生产者
+     */
+    public void halt() {
+        running = false;
+        Sequencer sequencer = ringBuffer.getSequencer();
+        sequencer.removeGatingSequence(sequence);
+        sequencer.getWaitStrategy().signalAllWhenBlocking();
+    }
+
+    public boolean isHalted() {
+        return !running;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 环形缓冲区的序号
+ * <p>
+ * 前后填充缓存行，避免生产者和消费者的序号之间伪共享
+ */
+@SuppressWarnings("unused")
+public class Sequence {
+
+    public static final long INITIAL_VALUE = -1L;
+
+    private static final AtomicLongFieldUpdater<Sequence> UPDATER =
+            AtomicLongFieldUpdater.newUpdater(Sequence.class, "value");
+
+    protected long p1, p2, p3, p4, p5, p6, p7;
+
+    private volatile long value;
+
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long value) {
+        this.value = value;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    /**
+     * 有序写入，保证之前的写入对读取到该值的线程可见
+     */
+    public void set(long value) {
+        UPDATER.lazySet(this, value);
+    }
+
+    public void setVolatile(long value) {
+        this.value = value;
+    }
+
+    public boolean compareAndSet(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.linyuzai.event.local.ring;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 序号分配器
+ * <p>
+ * 生产者通过 {@link #next()} 或 {@link #tryNext()} 申请序号，写入后通过 {@link #publish(long)} 发布；
+ * 每个消费者有自己的序号，生产者不会超过最慢的消费者一圈
+ */
+public abstract class Sequencer {
+
+    private static final AtomicReferenceFieldUpdater<Sequencer, Sequence[]> GATING_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Sequencer.class, Sequence[].class, "gatingSequences");
+
+    /**
+     * 缓冲区大小
+     */
+    @Getter
+    protected final int bufferSize;
+
+    /**
+     * 消费者的等待策略
+     */
+    @Getter
+    protected final WaitStrategy waitStrategy;
+
+    /**
+     * 生产者的序号
+     */
+    @Getter
+    protected final Sequence cursor = new Sequence();
+
+    /**
+     * 消费者的序号
+     */
+    protected volatile Sequence[] gatingSequences = new Sequence[0];
+
+    protected Sequencer(int bufferSize, WaitStrategy waitStrategy) {
+        this.bufferSize = bufferSize;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 申请下一个序号，缓冲区满时等待
+     */
+    public abstract long next();
+
+    /**
+     * 尝试申请下一个序号
+     *
+     * @return 序号，缓冲区满时返回 -1
+     */
+    public abstract long tryNext();
+
+    /**
+     * 发布序号并唤醒等待的消费者
+     */
+    public abstract void publish(long sequence);
+
+    /**
+     * 序号是否已经发布
+     */
+    public abstract boolean isAvailable(long sequence);
+
+    /**
+     * 获得从 lowerBound 开始连续发布的最大序号
+     *
+     * @param lowerBound 开始的序号
+     * @param available  生产者的序号
+     * @return 连续发布的最大序号，lowerBound 没有发布时返回 lowerBound - 1
+     */
+    public abstract long getHighestPublishedSequence(long lowerBound, long available);
+
+    /**
+     * 添加消费者的序号，从当前生产者的序号开始消费
+     */
+    public void addGatingSequence(Sequence sequence) {
+        Sequence[] current;
+        Sequence[] update;
+        do {
+            current = gatingSequences;
+            update = Arrays.copyOf(current, current.length + 1);
+            sequence.set(cursor.get());
+            update[current.length] = sequence;
+        } while (!GATING_UPDATER.compareAndSet(this, current, update));
+        //添加期间生产者可能已经前进
+        sequence.set(cursor.get());
+    }
+
+    /**
+     * 移除消费者的序号
+     */
+    public boolean removeGatingSequence(Sequence sequence) {
+        Sequence[] current;
+        Sequence[] update;
+        do {
+            current = gatingSequences;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == sequence) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            update = new Sequence[current.length - 1];
+            System.arraycopy(current, 0, update, 0, index);
+            System.arraycopy(current, index + 1, update, index, update.length - index);
+        } while (!GATING_UPDATER.compareAndSet(this, current, update));
+        return true;
+    }
+
+    /**
+     * 获得最慢的消费者的序号
+     *
+     * @param minimum 没有消费者时返回的值
+     */
+    public long getMinimumSequence(long minimum) {
+        for (Sequence sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * 获得剩余的容量
+     */
+    public long remainingCapacity() {
+        long produced = cursor.get();
+        return bufferSize - (produced - getMinimumSequence(produced));
+    }
+}
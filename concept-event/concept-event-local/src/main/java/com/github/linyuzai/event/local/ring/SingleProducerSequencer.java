@@ -0,0 +1,68 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 单生产者的序号分配器
+ * <p>
+ * 申请序号不是线程安全的，只能在一个线程中发布事件
+ */
+public class SingleProducerSequencer extends Sequencer {
+
+    private long nextValue = Sequence.INITIAL_VALUE;
+
+    private long cachedValue = Sequence.INITIAL_VALUE;
+
+    public SingleProducerSequencer(int bufferSize, WaitStrategy waitStrategy) {
+        super(bufferSize, waitStrategy);
+    }
+
+    @Override
+    public long next() {
+        long nextSequence = nextValue + 1;
+        long wrapPoint = nextSequence - bufferSize;
+        if (wrapPoint > cachedValue || cachedValue > nextValue) {
+            //保证消费者可以看到已经发布的序号
+            cursor.setVolatile(nextValue);
+            long minSequence;
+            while (wrapPoint > (minSequence = getMinimumSequence(nextValue))) {
+                LockSupport.parkNanos(1L);
+            }
+            cachedValue = minSequence;
+        }
+        nextValue = nextSequence;
+        return nextSequence;
+    }
+
+    @Override
+    public long tryNext() {
+        long nextSequence = nextValue + 1;
+        long wrapPoint = nextSequence - bufferSize;
+        if (wrapPoint > cachedValue || cachedValue > nextValue) {
+            cursor.setVolatile(nextValue);
+            long minSequence = getMinimumSequence(nextValue);
+            cachedValue = minSequence;
+            if (wrapPoint > minSequence) {
+                return -1;
+            }
+        }
+        nextValue = nextSequence;
+        return nextSequence;
+    }
+
+    @Override
+    public void publish(long sequence) {
+        cursor.set(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    @Override
+    public boolean isAvailable(long sequence) {
+        return sequence <= cursor.get();
+    }
+
+    @Override
+    public long getHighestPublishedSequence(long lowerBound, long available) {
+        return available;
+    }
+}
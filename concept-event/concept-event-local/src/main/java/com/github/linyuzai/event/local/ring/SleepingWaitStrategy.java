@@ -0,0 +1,50 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 先自旋，再让出 CPU，最后短暂休眠的等待策略
+ * <p>
+ * 空闲时占用的 CPU 较少，延迟在阻塞和让出之间
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+
+    private static final int DEFAULT_RETRIES = 200;
+
+    private static final long DEFAULT_SLEEP = 100;
+
+    private final int retries;
+
+    private final long sleepNanos;
+
+    public SleepingWaitStrategy() {
+        this(DEFAULT_RETRIES, DEFAULT_SLEEP);
+    }
+
+    public SleepingWaitStrategy(int retries, long sleepNanos) {
+        this.retries = retries;
+        this.sleepNanos = sleepNanos;
+    }
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        long available;
+        int counter = retries;
+        while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+            if (counter > 100) {
+                counter--;
+            } else if (counter > 0) {
+                counter--;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(sleepNanos);
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
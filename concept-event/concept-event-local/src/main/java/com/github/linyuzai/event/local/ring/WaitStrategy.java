@@ -0,0 +1,24 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 消费者等待事件发布的策略
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待序号可用
+     *
+     * @param sequence 需要的序号
+     * @param cursor   生产者的序号
+     * @param halted   是否已经停止
+     * @return 当前的生产者序号，停止时可能小于需要的序号
+     */
+    long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) throws InterruptedException;
+
+    /**
+     * 发布事件或停止消费者时唤醒等待的消费者
+     */
+    void signalAllWhenBlocking();
+}
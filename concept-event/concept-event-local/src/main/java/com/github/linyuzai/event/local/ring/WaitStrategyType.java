@@ -0,0 +1,52 @@
+package com.github.linyuzai.event.local.ring;
+
+/**
+ * 等待策略类型，用于配置
+ */
+public enum WaitStrategyType {
+
+    /**
+     * {@link BlockingWaitStrategy}
+     */
+    BLOCKING {
+        @Override
+        public WaitStrategy create() {
+            return new BlockingWaitStrategy();
+        }
+    },
+
+    /**
+     * {@link SleepingWaitStrategy}
+     */
+    SLEEPING {
+        @Override
+        public WaitStrategy create() {
+            return new SleepingWaitStrategy();
+        }
+    },
+
+    /**
+     * {@link YieldingWaitStrategy}
+     */
+    YIELDING {
+        @Override
+        public WaitStrategy create() {
+            return new YieldingWaitStrategy();
+        }
+    },
+
+    /**
+     * {@link BusySpinWaitStrategy}
+     */
+    BUSY_SPIN {
+        @Override
+        public WaitStrategy create() {
+            return new BusySpinWaitStrategy();
+        }
+    };
+
+    /**
+     * 创建等待策略
+     */
+    public abstract WaitStrategy create();
+}
@@ -0,0 +1,31 @@
+package com.github.linyuzai.event.local.ring;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 先自旋再让出 CPU 的等待策略
+ * <p>
+ * 延迟较低，消费者线程数量少于 CPU 核数时使用
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        long available;
+        int counter = SPIN_TRIES;
+        while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+            if (counter == 0) {
+                Thread.yield();
+            } else {
+                counter--;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
@@ -4,6 +4,7 @@ import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.core.listener.EventListener;
 import com.github.linyuzai.event.core.subscriber.Subscription;
 import com.github.linyuzai.event.local.endpoint.LocalEventEndpoint;
+import com.github.linyuzai.event.local.ring.RingBufferEventDispatcher;
 
 public class LocalEventSubscriberImpl extends LocalEventSubscriber {
 
@@ -11,6 +12,10 @@ public class LocalEventSubscriberImpl extends LocalEventSubscriber {
     public Subscription doSubscribe(EventListener listener, LocalEventEndpoint endpoint, EventContext context) {
         LocalEventEndpoint.ListenerContainer listenerContainer =
                 new LocalEventEndpoint.ListenerContainer(endpoint, listener, context);
+        RingBufferEventDispatcher dispatcher = endpoint.getDispatcher();
+        if (dispatcher != null) {
+            listenerContainer.setProcessor(dispatcher.subscribe(listenerContainer));
+        }
         endpoint.getContainers().add(listenerContainer);
         return new LocalSubscription(listenerContainer);
     }
@@ -17,6 +17,8 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 
+import java.util.List;
+
 /**
  * RabbitMQ 事件端点
  */
@@ -49,6 +51,14 @@ public class RabbitEventEndpoint extends AbstractEventEndpoint {
         new DefaultRabbitEventPublisher().publish(event, this, context);
     }
 
+    /**
+     * 默认批量发布
+     */
+    @Override
+    public void defaultPublishAll(List<Object> events, EventContext context) {
+        new DefaultRabbitEventPublisher().publishAll(events, this, context);
+    }
+
     /**
      * 默认订阅
      */
@@ -3,7 +3,14 @@ package com.github.linyuzai.event.rabbitmq.publisher;
 import com.github.linyuzai.event.core.context.EventContext;
 import com.github.linyuzai.event.rabbitmq.binding.RabbitBinding;
 import com.github.linyuzai.event.rabbitmq.endpoint.RabbitEventEndpoint;
+import com.github.linyuzai.event.rabbitmq.exception.RabbitEventException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -17,17 +24,83 @@ public abstract class AbstractRabbitEventPublisher extends RabbitEventPublisher
      */
     private final Map<String, RabbitBinding> bindings = new ConcurrentHashMap<>();
 
+    /**
+     * 批量发布时每发送多少条消息等待一次确认
+     */
+    @Getter
+    @Setter
+    private int confirmBatchSize = 100;
+
+    /**
+     * 批量发布时等待确认的超时时间，毫秒
+     */
+    @Getter
+    @Setter
+    private long confirmTimeout = 5000;
+
     /**
      * 发布前先进行 Binding 创建
      */
     @Override
     public void doPublish(Object event, RabbitEventEndpoint endpoint, EventContext context) {
+        prepareBinding(endpoint);
+        send(event, endpoint, context);
+    }
+
+    /**
+     * 批量发布
+     * <p>
+     * 所有消息在同一个 Channel 上发送，
+     * 连接工厂开启了 publisher-confirm-type 时每 {@link #confirmBatchSize} 条消息等待一次确认，
+     * 有消息被拒绝或超时则停止发送并抛出异常，之前的批次都已经确认；
+     * 未开启确认或使用事务 Channel 时只发送不等待
+     */
+    @Override
+    public void doPublishAll(List<Object> events, RabbitEventEndpoint endpoint, EventContext context) {
+        prepareBinding(endpoint);
+        RabbitTemplate template = endpoint.getTemplate();
+        boolean confirm = isConfirmEnabled(template);
+        int batchSize = Math.max(confirmBatchSize, 1);
+        template.invoke(operations -> {
+            int confirmed = 0;
+            for (int i = 0; i < events.size(); i++) {
+                //在 invoke 中会复用同一个 Channel
+                send(events.get(i), endpoint, context);
+                int sent = i + 1;
+                if (confirm && (sent - confirmed == batchSize || sent == events.size())) {
+                    try {
+                        operations.waitForConfirmsOrDie(confirmTimeout);
+                    } catch (AmqpException e) {
+                        throw new RabbitEventException("Publisher confirm failed, " +
+                                confirmed + " of " + events.size() + " events confirmed", e);
+                    }
+                    confirmed = sent;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 是否可以等待发布确认
+     */
+    protected boolean isConfirmEnabled(RabbitTemplate template) {
+        if (template.isChannelTransacted()) {
+            return false;
+        }
+        ConnectionFactory connectionFactory = template.getConnectionFactory();
+        return connectionFactory.isSimplePublisherConfirms() || connectionFactory.isPublisherConfirms();
+    }
+
+    /**
+     * 第一次发布时创建 Binding
+     */
+    protected void prepareBinding(RabbitEventEndpoint endpoint) {
         if (!bindings.containsKey(endpoint.getName())) {
             RabbitBinding binding = new RabbitBinding(endpoint.getAdmin());
             binding(binding);
             bindings.put(endpoint.getName(), binding);
         }
-        send(event, endpoint, context);
     }
 
     /**
@@ -0,0 +1,27 @@
+package com.github.linyuzai.mapqueue.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一 map queue 和 jdk queue 的操作，方便在同一个基准测试中对比
+ */
+public interface BenchmarkQueue {
+
+    boolean offer(Long key);
+
+    Long poll();
+
+    Long poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * 按 key 替换，jdk queue 没有 key 的概念，使用 remove + offer 模拟
+     */
+    boolean replace(Long key);
+
+    /**
+     * 按 key 移除，jdk queue 使用 remove(Object) 遍历移除
+     */
+    boolean remove(Long key);
+
+    int size();
+}
@@ -0,0 +1,242 @@
+package com.github.linyuzai.mapqueue.benchmark;
+
+import com.github.linyuzai.mapqueue.core.concept.MapQueue;
+import com.github.linyuzai.mapqueue.core.concurrent.AbstractBlockingMapQueue;
+import com.github.linyuzai.mapqueue.core.concurrent.AbstractBlockingMapQueueTemp;
+import com.github.linyuzai.mapqueue.core.concurrent.LinkedBlockingMapQueue;
+
+import java.util.LinkedHashMap;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+/**
+ * 参与对比的队列类型
+ * <p>
+ * 只有 {@link #MAP_QUEUE} 支持 {@link MapQueue.Synchronizer}，
+ * 其他类型指定了 synchronizers 时直接失败，避免结果被误认为包含了同步器的开销
+ */
+@SuppressWarnings("deprecation")
+public enum BenchmarkQueueType {
+
+    /**
+     * 单锁实现 {@link LinkedBlockingMapQueue}
+     */
+    MAP_QUEUE {
+        @Override
+        public boolean supportsSynchronizers() {
+            return true;
+        }
+
+        @Override
+        protected BenchmarkQueue newQueue(int capacity, int synchronizers) {
+            LinkedBlockingMapQueue<Long, Long> queue = new LinkedBlockingMapQueue<>(capacity);
+            for (int i = 0; i < synchronizers; i++) {
+                queue.addSynchronizer(new MapQueue.Synchronizer<Long, Long>() {
+                });
+            }
+            return new MapQueueAdapter(queue);
+        }
+    },
+
+    /**
+     * 双锁实现 {@link AbstractBlockingMapQueueTemp}
+     */
+    MAP_QUEUE_TEMP {
+        @Override
+        protected BenchmarkQueue newQueue(int capacity, int synchronizers) {
+            return new MapQueueTempAdapter(new TempMapQueue(capacity));
+        }
+    },
+
+    LINKED_BLOCKING_QUEUE {
+        @Override
+        protected BenchmarkQueue newQueue(int capacity, int synchronizers) {
+            return new JdkQueueAdapter(new LinkedBlockingQueue<>(capacity));
+        }
+    },
+
+    /**
+     * 无界队列，忽略容量
+     */
+    CONCURRENT_LINKED_QUEUE {
+        @Override
+        protected BenchmarkQueue newQueue(int capacity, int synchronizers) {
+            return new JdkQueueAdapter(new ConcurrentLinkedQueue<>());
+        }
+    },
+
+    /**
+     * 数组队列无法无界，无界时使用 {@link #ARRAY_UNBOUNDED_CAPACITY}
+     */
+    ARRAY_BLOCKING_QUEUE {
+        @Override
+        protected BenchmarkQueue newQueue(int capacity, int synchronizers) {
+            return new JdkQueueAdapter(new ArrayBlockingQueue<>(Math.min(capacity, ARRAY_UNBOUNDED_CAPACITY)));
+        }
+    };
+
+    public static final int ARRAY_UNBOUNDED_CAPACITY = 1 << 20;
+
+    /**
+     * 创建队列
+     *
+     * @param capacity      容量
+     * @param synchronizers 空的 {@link MapQueue.Synchronizer} 数量，不支持时只能为 0
+     */
+    public BenchmarkQueue create(int capacity, int synchronizers) {
+        if (synchronizers > 0 && !supportsSynchronizers()) {
+            throw new IllegalArgumentException(name() + " does not support synchronizers");
+        }
+        return newQueue(capacity, synchronizers);
+    }
+
+    /**
+     * 是否支持 {@link MapQueue.Synchronizer}
+     */
+    public boolean supportsSynchronizers() {
+        return false;
+    }
+
+    protected abstract BenchmarkQueue newQueue(int capacity, int synchronizers);
+
+    private static class MapQueueAdapter implements BenchmarkQueue {
+
+        private final AbstractBlockingMapQueue<Long, Long> queue;
+
+        private MapQueueAdapter(AbstractBlockingMapQueue<Long, Long> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean offer(Long key) {
+            return queue.offer(key, key);
+        }
+
+        @Override
+        public Long poll() {
+            return queue.pollValue();
+        }
+
+        @Override
+        public Long poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.pollValue(timeout, unit);
+        }
+
+        @Override
+        public boolean replace(Long key) {
+            return queue.replace(key, key) != null;
+        }
+
+        @Override
+        public boolean remove(Long key) {
+            return queue.remove(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+    }
+
+    private static class MapQueueTempAdapter implements BenchmarkQueue {
+
+        private final AbstractBlockingMapQueueTemp<Long, Long> queue;
+
+        private MapQueueTempAdapter(AbstractBlockingMapQueueTemp<Long, Long> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean offer(Long key) {
+            return queue.offer(key, key);
+        }
+
+        @Override
+        public Long poll() {
+            return queue.pollValue();
+        }
+
+        @Override
+        public Long poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.pollValue(timeout, unit);
+        }
+
+        @Override
+        public boolean replace(Long key) {
+            return queue.replace(key, key) != null;
+        }
+
+        @Override
+        public boolean remove(Long key) {
+            return queue.remove(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+    }
+
+    private static class JdkQueueAdapter implements BenchmarkQueue {
+
+        private final Queue<Long> queue;
+
+        private JdkQueueAdapter(Queue<Long> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean offer(Long key) {
+            return queue.offer(key);
+        }
+
+        @Override
+        public Long poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public Long poll(long timeout, TimeUnit unit) throws InterruptedException {
+            if (queue instanceof BlockingQueue) {
+                return ((BlockingQueue<Long>) queue).poll(timeout, unit);
+            }
+            return queue.poll();
+        }
+
+        @Override
+        public boolean replace(Long key) {
+            return queue.remove(key) && queue.offer(key);
+        }
+
+        @Override
+        public boolean remove(Long key) {
+            return queue.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+    }
+
+    /**
+     * {@link AbstractBlockingMapQueueTemp} 没有实现 {@link MapQueue.Synchronizer}，
+     * {@link #create(int, int)} 已经保证不会添加
+     */
+    private static class TempMapQueue extends AbstractBlockingMapQueueTemp<Long, Long> {
+
+        private TempMapQueue(int capacity) {
+            super(new LinkedHashMap<>(), capacity);
+        }
+
+        @Override
+        public void addSynchronizer(Synchronizer<Long, Long> synchronizer) {
+            throw new UnsupportedOperationException("AbstractBlockingMapQueueTemp does not support synchronizers");
+        }
+
+        @Override
+        public void removeSynchronizer(Synchronizer<Long, Long> synchronizer) {
+            throw new UnsupportedOperationException("AbstractBlockingMapQueueTemp does not support synchronizers");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.linyuzai.mapqueue.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按 key 替换和按 key 移除
+ * <p>
+ * 队列预先填充 {@link #size} 个元素，移除后立即重新入队以保持大小不变；
+ * jdk queue 只能遍历查找，作为按 key 操作的对照
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyedBenchmark {
+
+    @Param({"MAP_QUEUE", "MAP_QUEUE_TEMP", "LINKED_BLOCKING_QUEUE", "CONCURRENT_LINKED_QUEUE", "ARRAY_BLOCKING_QUEUE"})
+    public BenchmarkQueueType type;
+
+    /**
+     * 1024 为有界，2147483647 为无界
+     */
+    @Param({"1024", "2147483647"})
+    public int capacity;
+
+    /**
+     * 空的 {@link com.github.linyuzai.mapqueue.core.concept.MapQueue.Synchronizer} 数量，
+     * 只有 {@link BenchmarkQueueType#MAP_QUEUE} 支持，
+     * 默认为 0，对比同步器开销时使用 -p type=MAP_QUEUE -p synchronizers=0,4
+     */
+    @Param({"0"})
+    public int synchronizers;
+
+    @Param({"1000"})
+    public int size;
+
+    private BenchmarkQueue queue;
+
+    private Long[] keys;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = type.create(capacity, synchronizers);
+        keys = new Long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) i;
+            queue.offer(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean replace() {
+        return queue.replace(randomKey());
+    }
+
+    @Benchmark
+    public boolean removeAndOffer() {
+        Long key = randomKey();
+        return queue.remove(key) && queue.offer(key);
+    }
+
+    private Long randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(size)];
+    }
+}
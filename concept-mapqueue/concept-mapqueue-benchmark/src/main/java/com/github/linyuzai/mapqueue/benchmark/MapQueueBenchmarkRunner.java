@@ -0,0 +1,39 @@
+package com.github.linyuzai.mapqueue.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 依次使用 1，2，4，8，16，32 个线程（组）运行基准测试
+ * <p>
+ * 附加 {@link GCProfiler}，通过 gc.alloc.rate.norm 查看每次操作的分配字节数；
+ * 支持 jmh 命令行参数，如 -p type=MAP_QUEUE
+ */
+public class MapQueueBenchmarkRunner {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        for (int threads : THREADS) {
+            ChainedOptionsBuilder offerPoll = new OptionsBuilder()
+                    .parent(cmd)
+                    .include(OfferPollBenchmark.class.getSimpleName())
+                    .threadGroups(threads)
+                    .addProfiler(GCProfiler.class);
+            new Runner(offerPoll.build()).run();
+
+            ChainedOptionsBuilder keyed = new OptionsBuilder()
+                    .parent(cmd)
+                    .include(KeyedBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class);
+            new Runner(keyed.build()).run();
+        }
+    }
+}
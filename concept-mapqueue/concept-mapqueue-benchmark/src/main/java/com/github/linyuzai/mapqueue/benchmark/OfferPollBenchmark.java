@@ -0,0 +1,103 @@
+package com.github.linyuzai.mapqueue.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 生产者 / 消费者吞吐量
+ * <p>
+ * 每个 group 包含一个生产者和一个消费者，
+ * 通过 {@link MapQueueBenchmarkRunner} 的 threadGroups 控制 1～32 对生产者 / 消费者
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class OfferPollBenchmark {
+
+    @Param({"MAP_QUEUE", "MAP_QUEUE_TEMP", "LINKED_BLOCKING_QUEUE", "CONCURRENT_LINKED_QUEUE", "ARRAY_BLOCKING_QUEUE"})
+    public BenchmarkQueueType type;
+
+    /**
+     * 1024 为有界，2147483647 为无界
+     */
+    @Param({"1024", "2147483647"})
+    public int capacity;
+
+    /**
+     * 空的 {@link com.github.linyuzai.mapqueue.core.concept.MapQueue.Synchronizer} 数量，
+     * 只有 {@link BenchmarkQueueType#MAP_QUEUE} 支持，
+     * 默认为 0，对比同步器开销时使用 -p type=MAP_QUEUE -p synchronizers=0,4
+     */
+    @Param({"0"})
+    public int synchronizers;
+
+    private BenchmarkQueue queue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = type.create(capacity, synchronizers);
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+
+        private static final AtomicLong THREAD = new AtomicLong();
+
+        private final long prefix = THREAD.getAndIncrement() << 40;
+
+        private long sequence;
+
+        /**
+         * 每个生产者使用不同的 key 区间，避免 map queue 中 key 覆盖
+         */
+        public Long next() {
+            return prefix | (sequence++ & 0xFFFFFFFFFFL);
+        }
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(1)
+    public boolean offer(Keys keys) {
+        return queue.offer(keys.next());
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(1)
+    public Long poll() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("offerTake")
+    @GroupThreads(1)
+    public boolean offerForTake(Keys keys) {
+        return queue.offer(keys.next());
+    }
+
+    /**
+     * 阻塞获取
+     * <p>
+     * 迭代结束时生产者先停止，直接 take 会一直阻塞，
+     * 所以使用短超时的 poll 循环直到 {@link Control#stopMeasurement}
+     */
+    @Benchmark
+    @Group("offerTake")
+    @GroupThreads(1)
+    public Long take(Control control) throws InterruptedException {
+        while (!control.stopMeasurement) {
+            Long value = queue.poll(1, TimeUnit.MILLISECONDS);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
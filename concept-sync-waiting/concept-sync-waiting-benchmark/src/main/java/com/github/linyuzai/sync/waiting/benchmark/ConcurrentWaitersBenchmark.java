@@ -0,0 +1,104 @@
+package com.github.linyuzai.sync.waiting.benchmark;
+
+import com.github.linyuzai.sync.waiting.core.concept.ConditionSyncWaitingConcept;
+import com.github.linyuzai.sync.waiting.core.concept.ParkSyncWaitingConcept;
+import com.github.linyuzai.sync.waiting.core.concept.SyncWaitingConcept;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * 大量并发等待时一轮请求 / 响应的耗时
+ * <p>
+ * {@link #waiters} 个线程同时调用 waitSync，
+ * 业务调用把 key 放入队列，由 {@link #notifiers} 个线程模拟响应并调用 notifyAsync
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss256k")
+@State(Scope.Benchmark)
+public class ConcurrentWaitersBenchmark {
+
+    @Param({"CONDITION", "PARK"})
+    public String type;
+
+    @Param({"10000"})
+    public int waiters;
+
+    @Param({"4"})
+    public int notifiers;
+
+    private SyncWaitingConcept concept;
+
+    private ThreadPoolExecutor waiterExecutor;
+
+    private ExecutorService notifierExecutor;
+
+    private final BlockingQueue<Object> replies = new LinkedBlockingQueue<>();
+
+    private Object[] keys;
+
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        concept = create(type);
+        keys = new Object[waiters];
+        for (int i = 0; i < waiters; i++) {
+            keys[i] = "key-" + i;
+        }
+        waiterExecutor = new ThreadPoolExecutor(waiters, waiters, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        waiterExecutor.prestartAllCoreThreads();
+        running = true;
+        notifierExecutor = Executors.newFixedThreadPool(notifiers);
+        for (int i = 0; i < notifiers; i++) {
+            notifierExecutor.execute(() -> {
+                while (running) {
+                    try {
+                        Object key = replies.poll(10, TimeUnit.MILLISECONDS);
+                        if (key != null) {
+                            concept.notifyAsync(key, key);
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        running = false;
+        waiterExecutor.shutdownNow();
+        notifierExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void waitAndNotify() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(waiters);
+        for (Object key : keys) {
+            waiterExecutor.execute(() -> {
+                try {
+                    concept.waitSync(key, replies::offer);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+
+    private static SyncWaitingConcept create(String type) {
+        switch (type) {
+            case "CONDITION":
+                return new ConditionSyncWaitingConcept();
+            case "PARK":
+                return new ParkSyncWaitingConcept();
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+}
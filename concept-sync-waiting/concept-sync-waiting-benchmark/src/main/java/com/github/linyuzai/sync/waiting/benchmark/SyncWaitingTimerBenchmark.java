@@ -0,0 +1,64 @@
+package com.github.linyuzai.sync.waiting.benchmark;
+
+import com.github.linyuzai.sync.waiting.core.timer.HashedWheelSyncWaitingTimer;
+import com.github.linyuzai.sync.waiting.core.timer.ScheduledSyncWaitingTimer;
+import com.github.linyuzai.sync.waiting.core.timer.SyncWaitingTimer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 超时定时器添加并取消任务的吞吐量，对应大部分等待在超时前被唤醒的场景，
+ * 同时保持 {@link #outstanding} 个未完成的等待
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SyncWaitingTimerBenchmark {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"SCHEDULED", "HASHED_WHEEL"})
+    public String type;
+
+    @Param({"0", "100000"})
+    public int outstanding;
+
+    private SyncWaitingTimer timer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (type) {
+            case "SCHEDULED":
+                timer = new ScheduledSyncWaitingTimer();
+                break;
+            case "HASHED_WHEEL":
+                timer = new HashedWheelSyncWaitingTimer();
+                break;
+            default:
+                throw new IllegalArgumentException(type);
+        }
+        for (int i = 0; i < outstanding; i++) {
+            timer.schedule(NOOP, 1, TimeUnit.HOURS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (timer instanceof ScheduledSyncWaitingTimer) {
+            ((ScheduledSyncWaitingTimer) timer).getExecutor().shutdownNow();
+        } else if (timer instanceof HashedWheelSyncWaitingTimer) {
+            ((HashedWheelSyncWaitingTimer) timer).stop();
+        }
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        return timer.schedule(NOOP, 30, TimeUnit.SECONDS).cancel();
+    }
+}
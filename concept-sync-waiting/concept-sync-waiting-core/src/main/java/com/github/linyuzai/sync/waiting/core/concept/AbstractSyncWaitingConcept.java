@@ -4,13 +4,17 @@ import com.github.linyuzai.sync.waiting.core.caller.SyncCaller;
 import com.github.linyuzai.sync.waiting.core.configuration.SyncWaitingConfiguration;
 import com.github.linyuzai.sync.waiting.core.container.SyncWaiterContainer;
 import com.github.linyuzai.sync.waiting.core.recycler.SyncWaiterRecycler;
-import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * {@link SyncWaitingConcept} 的抽象类。
  */
-@AllArgsConstructor
 public abstract class AbstractSyncWaitingConcept implements SyncWaitingConcept {
 
     @NonNull
@@ -19,6 +23,22 @@ public abstract class AbstractSyncWaitingConcept implements SyncWaitingConcept {
     @NonNull
     protected final SyncWaiterRecycler recycler;
 
+    /**
+     * 异步执行的线程池，默认使用共享的有界线程池，最多 256 个线程，不排队。
+     * 阻塞的实现在其中执行 {@link #waitAsync(Object, SyncCaller, SyncWaitingConfiguration)}，
+     * 每个异步等待会占用一个线程直到唤醒或超时，
+     * 线程都在使用时新的异步等待以 {@link java.util.concurrent.RejectedExecutionException} 完成
+     */
+    @Getter
+    @Setter
+    @NonNull
+    protected Executor executor = SyncWaitingFutures.DefaultExecutor.INSTANCE;
+
+    public AbstractSyncWaitingConcept(@NonNull SyncWaiterContainer container, @NonNull SyncWaiterRecycler recycler) {
+        this.container = container;
+        this.recycler = recycler;
+    }
+
     /**
      * 阻塞等待。
      * 每个请求都会加锁，
@@ -77,6 +97,25 @@ public abstract class AbstractSyncWaitingConcept implements SyncWaitingConcept {
         }
     }
 
+    /**
+     * 异步等待。
+     * 在 {@link #executor} 中调用 {@link #waitSync(Object, SyncCaller, SyncWaitingConfiguration)}，
+     * 完成后设置 {@link CompletableFuture} 的结果，
+     * 取消 {@link CompletableFuture} 时中断等待中的线程，
+     * 等待被中断后会回收对应的 {@link SyncWaiter} 并唤醒排队中的线程，
+     * {@link #executor} 拒绝执行时以 {@link java.util.concurrent.RejectedExecutionException} 完成。
+     *
+     * @param key           标识
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    @Override
+    public <T> CompletableFuture<T> waitAsync(@NonNull Object key, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        return SyncWaitingFutures.waitSyncAsync(this, key, caller, configuration, executor);
+    }
+
     /**
      * 异步唤醒。
      * 加锁，
@@ -102,6 +141,31 @@ public abstract class AbstractSyncWaitingConcept implements SyncWaitingConcept {
         }
     }
 
+    /**
+     * 批量异步唤醒。
+     * 只加锁一次，
+     * 遍历获得正在等待中的 {@link SyncWaiter}，
+     * 设置值并唤醒对应线程，
+     * 解锁。
+     *
+     * @param values 标识和值
+     */
+    @Override
+    public void notifyAllAsync(@NonNull Map<?, ?> values) {
+        lock();
+        try {
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                SyncWaiter waiter = findWaitingSyncWaiter(entry.getKey());
+                if (waiter != null) {
+                    waiter.value(entry.getValue());
+                    waiter.performNotify();
+                }
+            }
+        } finally {
+            unlock();
+        }
+    }
+
     /**
      * 是否等待。
      * 加锁，
@@ -7,6 +7,7 @@ import com.github.linyuzai.sync.waiting.core.recycler.DisposableSyncWaiterRecycl
 import com.github.linyuzai.sync.waiting.core.recycler.SyncWaiterRecycler;
 import lombok.*;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -14,6 +15,10 @@ import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 基于 {@link Condition } 实现的 {@link SyncWaitingConcept}。
+ * <p>
+ * {@link #waitAsync(Object, com.github.linyuzai.sync.waiting.core.caller.SyncCaller,
+ * com.github.linyuzai.sync.waiting.core.configuration.SyncWaitingConfiguration)}
+ * 在 {@link #getExecutor()} 中阻塞等待。
  */
 public class ConditionSyncWaitingConcept extends AbstractSyncWaitingConcept {
 
@@ -105,6 +110,8 @@ public class ConditionSyncWaitingConcept extends AbstractSyncWaitingConcept {
 
         private SyncWaiterRecycler recycler;
 
+        private Executor executor;
+
         public Builder lock(Lock lock) {
             this.lock = lock;
             return this;
@@ -120,6 +127,11 @@ public class ConditionSyncWaitingConcept extends AbstractSyncWaitingConcept {
             return this;
         }
 
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
         public ConditionSyncWaitingConcept build() {
             if (lock == null) {
                 lock = new ReentrantLock();
@@ -130,7 +142,11 @@ public class ConditionSyncWaitingConcept extends AbstractSyncWaitingConcept {
             if (recycler == null) {
                 recycler = new DisposableSyncWaiterRecycler();
             }
-            return new ConditionSyncWaitingConcept(container, recycler, lock);
+            ConditionSyncWaitingConcept concept = new ConditionSyncWaitingConcept(container, recycler, lock);
+            if (executor != null) {
+                concept.setExecutor(executor);
+            }
+            return concept;
         }
     }
 }
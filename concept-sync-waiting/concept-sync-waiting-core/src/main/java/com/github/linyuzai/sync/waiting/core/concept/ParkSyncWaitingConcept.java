@@ -0,0 +1,647 @@
+package com.github.linyuzai.sync.waiting.core.concept;
+
+import com.github.linyuzai.sync.waiting.core.caller.SyncCaller;
+import com.github.linyuzai.sync.waiting.core.configuration.SyncWaitingConfiguration;
+import com.github.linyuzai.sync.waiting.core.container.MapSyncWaiterContainer;
+import com.github.linyuzai.sync.waiting.core.container.SyncWaiterContainer;
+import com.github.linyuzai.sync.waiting.core.exception.SyncWaitingTimeoutException;
+import com.github.linyuzai.sync.waiting.core.recycler.DisposableSyncWaiterRecycler;
+import com.github.linyuzai.sync.waiting.core.recycler.SyncWaiterRecycler;
+import com.github.linyuzai.sync.waiting.core.timer.HashedWheelSyncWaitingTimer;
+import com.github.linyuzai.sync.waiting.core.timer.SyncWaitingTimer;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于 {@link LockSupport} 实现的 {@link SyncWaitingConcept}。
+ * 不使用全局锁，每个 {@link ParkSyncWaiter} 单独阻塞和唤醒，
+ * 不同 key 之间互不影响。
+ * <p>
+ * 需要使用线程安全的 {@link SyncWaiterContainer} 和 {@link SyncWaiterRecycler}，
+ * 默认使用 {@link ConcurrentHashMap} 实现的 {@link MapSyncWaiterContainer}。
+ * <p>
+ * 支持 {@link #waitAsync(Object, SyncCaller, SyncWaitingConfiguration)}，
+ * 所有等待的超时由共享的 {@link SyncWaitingTimer} 处理，不为每个等待占用线程，
+ * 默认使用 {@link HashedWheelSyncWaitingTimer}。
+ * 定时器线程只负责移除超时的等待，完成结果和重试交给 {@link #getExecutor()}。
+ */
+@Getter
+public class ParkSyncWaitingConcept extends AbstractSyncWaitingConcept {
+
+    /**
+     * 超时任务创建中
+     */
+    protected static final SyncWaitingTimer.Timeout PENDING_TIMEOUT = () -> false;
+
+    /**
+     * 等待的超时定时器
+     */
+    @NonNull
+    protected final SyncWaitingTimer timer;
+
+    public ParkSyncWaitingConcept() {
+        this(new MapSyncWaiterContainer(new ConcurrentHashMap<>()), new DisposableSyncWaiterRecycler(), DefaultTimer.INSTANCE);
+    }
+
+    protected ParkSyncWaitingConcept(SyncWaiterContainer container,
+                                     SyncWaiterRecycler recycler,
+                                     @NonNull SyncWaitingTimer timer) {
+        super(container, recycler);
+        this.timer = timer;
+    }
+
+    /**
+     * 阻塞等待。
+     * 重新使用一个 {@link ParkSyncWaiter} 并尝试添加到容器中，
+     * 如果已经存在对应 key 的 {@link SyncWaiter}，
+     * 则当前线程排队等待，直到对应的 {@link SyncWaiter} 被移除后再重试；
+     * 添加成功则调用业务接口 {@link SyncCaller} 并阻塞等待唤醒。
+     * <p>
+     * 超时由 {@link SyncWaitingTimer} 统一处理，
+     * 唤醒和超时通过移除容器中的 {@link SyncWaiter} 竞争，
+     * 成功移除的一方负责完成，所以超时时如果已经被 {@link #notifyAsync(Object, Object)} 移除，
+     * 会返回唤醒的值。
+     *
+     * @param key           标识
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 值
+     */
+    @Override
+    public <T> T waitSync(@NonNull Object key, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        for (; ; ) {
+            ParkSyncWaiter waiter = (ParkSyncWaiter) reuseOrCreate();
+            waiter.key(key);
+            waiter.prepare(Thread.currentThread());
+            SyncWaiter exist = container.addIfAbsent(waiter);
+            if (exist != null) {
+                resetAndRecycle(waiter);
+                performQueue(key, (ParkSyncWaiter) exist, configuration.getQueuingTime());
+                continue;
+            }
+            long time = configuration.getWaitingTime();
+            if (time > 0) {
+                waiter.timeout = timer.schedule(() -> expire(key, waiter, time), time, TimeUnit.MILLISECONDS);
+            }
+            try {
+                caller.call(key);
+            } catch (Throwable e) {
+                release(key, waiter);
+                throw e;
+            }
+            try {
+                waiter.performWait(0);
+            } catch (Throwable e) {
+                if (container.remove(key, waiter)) {
+                    waiter.performNotify();
+                    recycle(waiter);
+                    throw e;
+                }
+                //已经被唤醒方移除，等待值设置完成，返回值之前恢复中断标记
+                awaitNotified(waiter);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            RuntimeException error = waiter.error;
+            if (error != null) {
+                //超时由定时器完成，不回收
+                throw error;
+            }
+            T value = waiter.value();
+            recycle(waiter);
+            return value;
+        }
+    }
+
+    /**
+     * 异步等待。
+     * 和 {@link #waitSync(Object, SyncCaller, SyncWaitingConfiguration)} 的流程一致，
+     * 但是不阻塞线程，唤醒时完成 {@link CompletableFuture}，
+     * 超时时以 {@link SyncWaitingTimeoutException} 异常完成。
+     * <p>
+     * 如果已经存在对应 key 的 {@link SyncWaiter}，
+     * 则在其被移除时由移除的线程重试，
+     * 所以 {@link SyncCaller} 可能在唤醒线程中调用。
+     * <p>
+     * 取消 {@link CompletableFuture} 会移除对应的 {@link SyncWaiter}。
+     *
+     * @param key           标识
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> CompletableFuture<T> waitAsync(@NonNull Object key, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        waitAsync0(key, caller, configuration, future);
+        return (CompletableFuture<T>) (CompletableFuture<?>) future;
+    }
+
+    protected void waitAsync0(Object key, SyncCaller caller, SyncWaitingConfiguration configuration, CompletableFuture<Object> future) {
+        if (future.isDone()) {
+            return;
+        }
+        long time = configuration.getWaitingTime();
+        ParkSyncWaiter waiter = (ParkSyncWaiter) reuseOrCreate();
+        waiter.key(key);
+        waiter.prepare(future);
+        if (time > 0) {
+            //超时任务创建前不允许回收
+            waiter.timeout = PENDING_TIMEOUT;
+        }
+        SyncWaiter exist = container.addIfAbsent(waiter);
+        if (exist != null) {
+            waiter.timeout = null;
+            resetAndRecycle(waiter);
+            performQueueAsync(key, (ParkSyncWaiter) exist, caller, configuration, future);
+            return;
+        }
+        future.whenComplete((v, e) -> {
+            if (future.isCancelled() && container.remove(key, waiter)) {
+                waiter.performNotify();
+                recycle(waiter);
+            }
+        });
+        if (time > 0) {
+            waiter.timeout = timer.schedule(() -> expire(key, waiter, time), time, TimeUnit.MILLISECONDS);
+        }
+        try {
+            caller.call(key);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            if (container.remove(key, waiter)) {
+                waiter.performNotify();
+                recycle(waiter);
+            }
+        }
+    }
+
+    /**
+     * 异步唤醒。
+     * 从容器中移除对应的 {@link SyncWaiter}，
+     * 移除成功则设置值并唤醒对应线程，
+     * 整个过程不加锁。
+     *
+     * @param key   标识
+     * @param value 值
+     */
+    @Override
+    public void notifyAsync(@NonNull Object key, Object value) {
+        SyncWaiter waiter = container.remove(key);
+        if (waiter != null) {
+            //唤醒后阻塞等待的线程可能已经回收并重新使用，需要在唤醒前判断
+            boolean async = waiter instanceof ParkSyncWaiter && ((ParkSyncWaiter) waiter).future != null;
+            waiter.value(value);
+            waiter.performNotify();
+            if (async) {
+                //异步等待没有等待线程，由唤醒方回收
+                recycle((ParkSyncWaiter) waiter);
+            }
+        }
+    }
+
+    /**
+     * 批量异步唤醒。
+     * 不需要加锁，逐个移除并唤醒。
+     *
+     * @param values 标识和值
+     */
+    @Override
+    public void notifyAllAsync(@NonNull Map<?, ?> values) {
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            notifyAsync(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public boolean isWaiting(@NonNull Object key) {
+        return isSyncWaiterWaiting(key);
+    }
+
+    /**
+     * 排队等待，直到 key 对应的不再是 exist。
+     *
+     * @param key   标识
+     * @param exist 已经存在的 {@link ParkSyncWaiter}
+     * @param time  排队超时时间
+     */
+    @SneakyThrows
+    protected void performQueue(Object key, ParkSyncWaiter exist, long time) {
+        Thread thread = Thread.currentThread();
+        Runnable unpark = () -> LockSupport.unpark(thread);
+        exist.queued.offer(unpark);
+        try {
+            long deadline = time > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(time) : 0;
+            while (container.find(key) == exist) {
+                if (time > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SyncWaitingTimeoutException(time + "ms");
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            exist.queued.remove(unpark);
+        }
+    }
+
+    /**
+     * 异步排队，在 exist 被移除时重试。
+     *
+     * @param key           标识
+     * @param exist         已经存在的 {@link ParkSyncWaiter}
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param future        异步结果
+     */
+    protected void performQueueAsync(Object key, ParkSyncWaiter exist, SyncCaller caller,
+                                     SyncWaitingConfiguration configuration, CompletableFuture<Object> future) {
+        QueuedRetry retry = new QueuedRetry(exist, () -> waitAsync0(key, caller, configuration, future));
+        exist.queued.offer(retry);
+        if (container.find(key) != exist) {
+            //入队前已经被移除
+            retry.run();
+            return;
+        }
+        long time = configuration.getQueuingTime();
+        if (time > 0) {
+            retry.timeout = timer.schedule(() -> {
+                if (retry.claim()) {
+                    dispatch(() -> future.completeExceptionally(new SyncWaitingTimeoutException(time + "ms")));
+                }
+            }, time, TimeUnit.MILLISECONDS);
+        }
+        future.whenComplete((v, e) -> retry.claim());
+    }
+
+    /**
+     * 超时。
+     * 如果成功从容器中移除则以 {@link SyncWaitingTimeoutException} 完成，
+     * 超时的 {@link ParkSyncWaiter} 会立即从容器中移除，不会残留。
+     * <p>
+     * 在定时器线程中只移除，
+     * 唤醒会完成 {@link CompletableFuture} 并执行排队中的重试，
+     * 交给 {@link #getExecutor()} 执行，避免耗时的回调阻塞其他超时。
+     *
+     * @param key    标识
+     * @param waiter 超时的 {@link ParkSyncWaiter}
+     * @param time   等待时间
+     */
+    protected void expire(Object key, ParkSyncWaiter waiter, long time) {
+        if (container.remove(key, waiter)) {
+            waiter.error = new SyncWaitingTimeoutException(time + "ms");
+            dispatch(waiter::performNotify);
+        }
+    }
+
+    /**
+     * 在 {@link #getExecutor()} 中执行定时器触发的回调，
+     * 线程池拒绝时在当前线程执行。
+     *
+     * @param task 回调
+     */
+    protected void dispatch(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * 释放 {@link ParkSyncWaiter}。
+     * 如果已经被 {@link #notifyAsync(Object, Object)} 移除，
+     * 需要等待唤醒完成后才能回收。
+     *
+     * @param key    标识
+     * @param waiter 需要释放的 {@link ParkSyncWaiter}
+     */
+    protected void release(Object key, ParkSyncWaiter waiter) {
+        if (container.remove(key, waiter)) {
+            waiter.performNotify();
+        } else {
+            awaitNotified(waiter);
+        }
+        recycle(waiter);
+    }
+
+    /**
+     * 等待已经被唤醒方移除的 {@link ParkSyncWaiter} 唤醒完成，
+     * 唤醒方一定会完成唤醒，所以期间的中断只记录下来，结束后恢复中断标记。
+     *
+     * @param waiter 已经被移除的 {@link ParkSyncWaiter}
+     */
+    protected void awaitNotified(ParkSyncWaiter waiter) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                waiter.performWait(0);
+                break;
+            } catch (Throwable e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 回收 {@link ParkSyncWaiter}。
+     * 如果超时任务已经执行或者异步等待已经取消则不回收，
+     * 避免被重新使用后又被超时任务或取消回调移除。
+     *
+     * @param waiter 需要回收的 {@link ParkSyncWaiter}
+     */
+    protected void recycle(ParkSyncWaiter waiter) {
+        SyncWaitingTimer.Timeout timeout = waiter.timeout;
+        if (timeout != null && !timeout.cancel()) {
+            return;
+        }
+        CompletableFuture<Object> future = waiter.future;
+        if (future != null && future.isCancelled()) {
+            return;
+        }
+        resetAndRecycle(waiter);
+    }
+
+    /**
+     * 不需要全局锁。
+     */
+    @Override
+    public void lock() {
+
+    }
+
+    /**
+     * 不需要全局锁。
+     */
+    @Override
+    public void unlock() {
+
+    }
+
+    /**
+     * 创建一个 {@link ParkSyncWaiter}。
+     *
+     * @return 新建的 {@link ParkSyncWaiter}
+     */
+    @Override
+    public SyncWaiter createSyncWaiter() {
+        return new ParkSyncWaiter();
+    }
+
+    /**
+     * 基于 {@link LockSupport} 实现的 {@link SyncWaiter}。
+     * 唤醒可能发生在阻塞之前，通过 volatile 的状态判断是否已经被唤醒。
+     * 异步等待时通过 {@link CompletableFuture} 通知。
+     */
+    public static class ParkSyncWaiter extends AbstractSyncWaiter {
+
+        /**
+         * 排队中的唤醒回调
+         */
+        protected final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+
+        /**
+         * 等待中的线程
+         */
+        protected volatile Thread thread;
+
+        /**
+         * 异步等待的结果
+         */
+        protected volatile CompletableFuture<Object> future;
+
+        /**
+         * 超时任务
+         */
+        protected volatile SyncWaitingTimer.Timeout timeout;
+
+        /**
+         * 超时等异常
+         */
+        protected volatile RuntimeException error;
+
+        /**
+         * 是否已经唤醒
+         */
+        protected volatile boolean notified;
+
+        /**
+         * 准备阻塞等待。
+         *
+         * @param thread 等待的线程
+         */
+        public void prepare(Thread thread) {
+            this.notified = false;
+            this.error = null;
+            this.future = null;
+            this.timeout = null;
+            this.thread = thread;
+        }
+
+        /**
+         * 准备异步等待。
+         *
+         * @param future 异步结果
+         */
+        public void prepare(CompletableFuture<Object> future) {
+            this.notified = false;
+            this.error = null;
+            this.thread = null;
+            this.timeout = null;
+            this.future = future;
+        }
+
+        public boolean isNotified() {
+            return notified;
+        }
+
+        /**
+         * 如果超时时间大于 0 则调用 {@link LockSupport#parkNanos(Object, long)}，
+         * 否则调用 {@link LockSupport#park(Object)}。
+         *
+         * @param time 等待超时时间
+         */
+        @SneakyThrows
+        @Override
+        public void performWait(long time) {
+            long deadline = time > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(time) : 0;
+            while (!notified) {
+                if (time > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SyncWaitingTimeoutException(time + "ms");
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        /**
+         * 标记为已唤醒，
+         * 唤醒等待中的线程或完成异步结果，
+         * 并通知排队中的等待。
+         * <p>
+         * 等待的线程看到 {@link #notified} 后会立即回收，
+         * 可复用的 {@link SyncWaiterRecycler} 可能马上把它交给其他调用方，
+         * 所以先取出线程，结果，值和排队回调，标记之后不再访问当前对象。
+         * 调用方都已经先从容器中移除，之后排队的会发现 key 已经变化而不会阻塞。
+         */
+        @Override
+        public void performNotify() {
+            Thread t = thread;
+            CompletableFuture<Object> f = future;
+            RuntimeException e = error;
+            Object v = value();
+            List<Runnable> rs = new ArrayList<>();
+            Runnable r;
+            while ((r = queued.poll()) != null) {
+                rs.add(r);
+            }
+            notified = true;
+            if (t != null) {
+                LockSupport.unpark(t);
+            }
+            if (f != null) {
+                if (e == null) {
+                    f.complete(v);
+                } else {
+                    f.completeExceptionally(e);
+                }
+            }
+            for (Runnable run : rs) {
+                run.run();
+            }
+        }
+    }
+
+    /**
+     * 异步排队的重试回调，只会执行一次。
+     */
+    protected static class QueuedRetry implements Runnable {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final ParkSyncWaiter exist;
+
+        private final Runnable retry;
+
+        private volatile SyncWaitingTimer.Timeout timeout;
+
+        protected QueuedRetry(ParkSyncWaiter exist, Runnable retry) {
+            this.exist = exist;
+            this.retry = retry;
+        }
+
+        /**
+         * 抢占执行权并移出队列。
+         *
+         * @return 是否抢占成功
+         */
+        protected boolean claim() {
+            if (claimed.compareAndSet(false, true)) {
+                exist.queued.remove(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            if (claim()) {
+                SyncWaitingTimer.Timeout t = timeout;
+                if (t != null) {
+                    t.cancel();
+                }
+                retry.run();
+            }
+        }
+    }
+
+    /**
+     * 默认共享的定时器，延迟创建。
+     */
+    private static class DefaultTimer {
+
+        private static final SyncWaitingTimer INSTANCE = new HashedWheelSyncWaitingTimer();
+    }
+
+    public static class Builder {
+
+        private SyncWaiterContainer container;
+
+        private SyncWaiterRecycler recycler;
+
+        private SyncWaitingTimer timer;
+
+        private Executor executor;
+
+        public Builder container(SyncWaiterContainer container) {
+            this.container = container;
+            return this;
+        }
+
+        public Builder recycler(SyncWaiterRecycler recycler) {
+            this.recycler = recycler;
+            return this;
+        }
+
+        public Builder timer(SyncWaitingTimer timer) {
+            this.timer = timer;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public ParkSyncWaitingConcept build() {
+            if (container == null) {
+                container = new MapSyncWaiterContainer(new ConcurrentHashMap<>());
+            }
+            if (recycler == null) {
+                recycler = new DisposableSyncWaiterRecycler();
+            }
+            if (timer == null) {
+                timer = DefaultTimer.INSTANCE;
+            }
+            ParkSyncWaitingConcept concept = new ParkSyncWaitingConcept(container, recycler, timer);
+            if (executor != null) {
+                concept.setExecutor(executor);
+            }
+            return concept;
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.github.linyuzai.sync.waiting.core.caller.SyncCaller;
 import com.github.linyuzai.sync.waiting.core.configuration.SyncWaitingConfiguration;
 import lombok.NonNull;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 管理类，提供统一接口。
  */
@@ -63,6 +67,71 @@ public interface SyncWaitingConcept {
      */
     <T> T waitSync(@NonNull Object key, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration);
 
+    /**
+     * 异步等待，无等待时间限制。
+     *
+     * @param key    标识
+     * @param caller 业务调用回调
+     * @param <T>    值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    default <T> CompletableFuture<T> waitAsync(@NonNull Object key, @NonNull SyncCaller caller) {
+        return waitAsync(key, caller, 0);
+    }
+
+    /**
+     * 异步等待，可限制等待时间。
+     *
+     * @param key         标识
+     * @param caller      业务调用回调
+     * @param waitingTime 等待时间，ms
+     * @param <T>         值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    default <T> CompletableFuture<T> waitAsync(@NonNull Object key, @NonNull SyncCaller caller, long waitingTime) {
+        return waitAsync(key, caller, waitingTime, 0);
+    }
+
+    /**
+     * 异步等待，可限制等待超时时间和队列时间。
+     *
+     * @param key         标识
+     * @param caller      业务调用回调
+     * @param waitingTime 等待时间，ms
+     * @param queuingTime 队列时间，ms
+     * @param <T>         值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    default <T> CompletableFuture<T> waitAsync(@NonNull Object key, @NonNull SyncCaller caller, long waitingTime, long queuingTime) {
+        SyncWaitingConfiguration configuration = new SyncWaitingConfiguration.Builder()
+                .waitingTime(waitingTime)
+                .queuingTime(queuingTime)
+                .build();
+        return waitAsync(key, caller, configuration);
+    }
+
+    /**
+     * 异步等待，基于等待配置 {@link SyncWaitingConfiguration}，
+     * 超时时 {@link CompletableFuture} 以
+     * {@link com.github.linyuzai.sync.waiting.core.exception.SyncWaitingTimeoutException} 异常完成，
+     * 取消 {@link CompletableFuture} 会取消对应的等待。
+     * <p>
+     * 默认在共享的有界线程池中调用 {@link #waitSync(Object, SyncCaller, SyncWaitingConfiguration)}，
+     * 每个等待占用一个线程，最多 256 个线程，
+     * 线程都在使用时以 {@link java.util.concurrent.RejectedExecutionException} 完成；
+     * {@link ParkSyncWaitingConcept} 不阻塞线程，
+     * {@link ConditionSyncWaitingConcept} 可以通过 {@link AbstractSyncWaitingConcept#setExecutor(java.util.concurrent.Executor)} 指定线程池。
+     *
+     * @param key           标识
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    default <T> CompletableFuture<T> waitAsync(@NonNull Object key, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        return SyncWaitingFutures.waitSyncAsync(this, key, caller, configuration, SyncWaitingFutures.DefaultExecutor.INSTANCE);
+    }
+
     /**
      * 异步唤醒。
      *
@@ -71,6 +140,158 @@ public interface SyncWaitingConcept {
      */
     void notifyAsync(@NonNull Object key, Object value);
 
+    /**
+     * 批量异步唤醒。
+     * 默认逐个调用 {@link #notifyAsync(Object, Object)}，
+     * 实现类可以重写减少加锁次数。
+     *
+     * @param values 标识和值
+     */
+    default void notifyAllAsync(@NonNull Map<?, ?> values) {
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            notifyAsync(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 阻塞等待所有 key 的值，可限制等待时间。
+     *
+     * @param keys        标识
+     * @param caller      业务调用回调，每个 key 调用一次
+     * @param waitingTime 等待时间，ms
+     * @param <T>         值类型
+     * @return 标识和值，顺序和 keys 一致
+     */
+    default <T> Map<Object, T> waitAll(@NonNull Collection<?> keys, @NonNull SyncCaller caller, long waitingTime) {
+        SyncWaitingConfiguration configuration = new SyncWaitingConfiguration.Builder()
+                .waitingTime(waitingTime)
+                .build();
+        return waitAll(keys, caller, configuration);
+    }
+
+    /**
+     * 阻塞等待所有 key 的值，基于 {@link #waitAllAsync(Collection, SyncCaller, SyncWaitingConfiguration)}，
+     * 是否占用其他线程取决于 {@link #waitAsync(Object, SyncCaller, SyncWaitingConfiguration)} 的实现：
+     * {@link ParkSyncWaitingConcept} 只占用当前线程，
+     * {@link ConditionSyncWaitingConcept} 每个 key 会在线程池中占用一个线程。
+     *
+     * @param keys          标识
+     * @param caller        业务调用回调，每个 key 调用一次
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 标识和值，顺序和 keys 一致
+     */
+    default <T> Map<Object, T> waitAll(@NonNull Collection<?> keys, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        return SyncWaitingFutures.get(this.<T>waitAllAsync(keys, caller, configuration));
+    }
+
+    /**
+     * 异步等待所有 key 的值，
+     * 每个 key 调用一次 {@link #waitAsync(Object, SyncCaller, SyncWaitingConfiguration)}，
+     * 任意一个 key 失败则取消其他的等待。
+     *
+     * @param keys          标识
+     * @param caller        业务调用回调，每个 key 调用一次
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 标识和值的 {@link CompletableFuture}，顺序和 keys 一致
+     */
+    default <T> CompletableFuture<Map<Object, T>> waitAllAsync(@NonNull Collection<?> keys, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        CompletableFuture<Map<Object, T>> result = new CompletableFuture<>();
+        Map<Object, CompletableFuture<T>> futures = SyncWaitingFutures.waitEach(this, keys, caller, configuration, result);
+        if (futures == null) {
+            return result;
+        }
+        if (futures.isEmpty()) {
+            result.complete(new LinkedHashMap<>());
+            return result;
+        }
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (CompletableFuture<T> future : futures.values()) {
+            future.whenComplete((v, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else if (remaining.decrementAndGet() == 0) {
+                    Map<Object, T> values = new LinkedHashMap<>();
+                    futures.forEach((key, f) -> values.put(key, f.join()));
+                    result.complete(values);
+                }
+            });
+        }
+        result.whenComplete((v, e) -> {
+            if (e != null) {
+                futures.values().forEach(f -> f.cancel(false));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 阻塞等待任意一个 key 的值，可限制等待时间。
+     *
+     * @param keys        标识
+     * @param caller      业务调用回调，每个 key 调用一次
+     * @param waitingTime 等待时间，ms
+     * @param <T>         值类型
+     * @return 第一个被唤醒的标识和值
+     */
+    default <T> Map.Entry<Object, T> waitAny(@NonNull Collection<?> keys, @NonNull SyncCaller caller, long waitingTime) {
+        SyncWaitingConfiguration configuration = new SyncWaitingConfiguration.Builder()
+                .waitingTime(waitingTime)
+                .build();
+        return waitAny(keys, caller, configuration);
+    }
+
+    /**
+     * 阻塞等待任意一个 key 的值，基于 {@link #waitAnyAsync(Collection, SyncCaller, SyncWaitingConfiguration)}，
+     * 是否占用其他线程取决于 {@link #waitAsync(Object, SyncCaller, SyncWaitingConfiguration)} 的实现：
+     * {@link ParkSyncWaitingConcept} 只占用当前线程，
+     * {@link ConditionSyncWaitingConcept} 每个 key 会在线程池中占用一个线程。
+     *
+     * @param keys          标识
+     * @param caller        业务调用回调，每个 key 调用一次
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 第一个被唤醒的标识和值
+     */
+    default <T> Map.Entry<Object, T> waitAny(@NonNull Collection<?> keys, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        return SyncWaitingFutures.get(this.<T>waitAnyAsync(keys, caller, configuration));
+    }
+
+    /**
+     * 异步等待任意一个 key 的值，
+     * 每个 key 调用一次 {@link #waitAsync(Object, SyncCaller, SyncWaitingConfiguration)}，
+     * 第一个 key 被唤醒后取消其他的等待，
+     * 所有 key 都失败时以最后一个异常完成。
+     *
+     * @param keys          标识
+     * @param caller        业务调用回调，每个 key 调用一次
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param <T>           值类型
+     * @return 第一个被唤醒的标识和值的 {@link CompletableFuture}
+     */
+    default <T> CompletableFuture<Map.Entry<Object, T>> waitAnyAsync(@NonNull Collection<?> keys, @NonNull SyncCaller caller, @NonNull SyncWaitingConfiguration configuration) {
+        CompletableFuture<Map.Entry<Object, T>> result = new CompletableFuture<>();
+        Map<Object, CompletableFuture<T>> futures = SyncWaitingFutures.waitEach(this, keys, caller, configuration, result);
+        if (futures == null) {
+            return result;
+        }
+        if (futures.isEmpty()) {
+            result.completeExceptionally(new IllegalArgumentException("No key to wait"));
+            return result;
+        }
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        futures.forEach((key, future) -> future.whenComplete((v, e) -> {
+            if (e == null) {
+                result.complete(new AbstractMap.SimpleImmutableEntry<>(key, v));
+            } else if (remaining.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+        }));
+        result.whenComplete((v, e) -> futures.values().forEach(f -> f.cancel(false)));
+        return result;
+    }
+
     /**
      * 某个 key 是否在等待中
      *
@@ -78,6 +299,4 @@ public interface SyncWaitingConcept {
      * @return 如果在等待中则返回 true
      */
     boolean isWaiting(@NonNull Object key);
-
-
 }
@@ -0,0 +1,186 @@
+package com.github.linyuzai.sync.waiting.core.concept;
+
+import com.github.linyuzai.sync.waiting.core.caller.SyncCaller;
+import com.github.linyuzai.sync.waiting.core.configuration.SyncWaitingConfiguration;
+import com.github.linyuzai.sync.waiting.core.exception.SyncWaitingException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 异步等待和多个 key 等待时对 {@link CompletableFuture} 的处理。
+ */
+class SyncWaitingFutures {
+
+    /**
+     * 默认线程池的最大线程数
+     */
+    static final int MAX_ASYNC_THREADS = 256;
+
+    /**
+     * 在 executor 中调用 {@link SyncWaitingConcept#waitSync(Object, SyncCaller, SyncWaitingConfiguration)}，
+     * 完成后设置 {@link CompletableFuture} 的结果，
+     * 取消 {@link CompletableFuture} 时中断等待中的线程，
+     * executor 拒绝执行时以 {@link RejectedExecutionException} 完成。
+     *
+     * @param concept       {@link SyncWaitingConcept}
+     * @param key           标识
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param executor      执行阻塞等待的线程池
+     * @param <T>           值类型
+     * @return 值的 {@link CompletableFuture}
+     */
+    static <T> CompletableFuture<T> waitSyncAsync(SyncWaitingConcept concept,
+                                                  Object key,
+                                                  SyncCaller caller,
+                                                  SyncWaitingConfiguration configuration,
+                                                  Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AsyncWaiting waiting = new AsyncWaiting();
+        future.whenComplete((v, e) -> {
+            if (future.isCancelled()) {
+                waiting.interrupt();
+            }
+        });
+        try {
+            executor.execute(() -> {
+                if (!waiting.start()) {
+                    return;
+                }
+                try {
+                    future.complete(concept.waitSync(key, caller, configuration));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    waiting.finish();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 为每个不重复的 key 开始异步等待，
+     * 任意一个 key 无法开始等待时取消已经开始的等待，并以对应的异常完成 result。
+     *
+     * @param concept       {@link SyncWaitingConcept}
+     * @param keys          标识
+     * @param caller        业务调用回调
+     * @param configuration 等待配置 {@link SyncWaitingConfiguration}
+     * @param result        最终结果
+     * @param <T>           值类型
+     * @return 标识和异步结果，失败时返回 null
+     */
+    static <T> Map<Object, CompletableFuture<T>> waitEach(SyncWaitingConcept concept,
+                                                         Collection<?> keys,
+                                                         SyncCaller caller,
+                                                         SyncWaitingConfiguration configuration,
+                                                         CompletableFuture<?> result) {
+        Map<Object, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        try {
+            for (Object key : keys) {
+                if (!futures.containsKey(key)) {
+                    futures.put(key, concept.waitAsync(key, caller, configuration));
+                }
+            }
+        } catch (Throwable e) {
+            futures.values().forEach(f -> f.cancel(false));
+            result.completeExceptionally(e);
+            return null;
+        }
+        return futures;
+    }
+
+    /**
+     * 阻塞获取结果，
+     * 中断时取消并抛出 {@link SyncWaitingException}，
+     * 运行时异常直接抛出，其他异常包装为 {@link SyncWaitingException}。
+     *
+     * @param future 异步结果
+     * @param <T>    结果类型
+     * @return 结果
+     */
+    static <T> T get(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new SyncWaitingException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SyncWaitingException(cause);
+        }
+    }
+
+    /**
+     * 异步等待中的线程，
+     * 只在等待期间响应取消，避免中断线程池中的其他任务。
+     */
+    static class AsyncWaiting {
+
+        private Thread thread;
+
+        private boolean cancelled;
+
+        /**
+         * 开始等待。
+         *
+         * @return 已经取消则返回 false
+         */
+        synchronized boolean start() {
+            if (cancelled) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * 结束等待，清除可能残留的中断标记。
+         */
+        void finish() {
+            synchronized (this) {
+                thread = null;
+                cancelled = true;
+            }
+            Thread.interrupted();
+        }
+
+        /**
+         * 取消等待，中断等待中的线程。
+         */
+        synchronized void interrupt() {
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * 默认共享的线程池，延迟创建。
+     * 最多 {@link #MAX_ASYNC_THREADS} 个线程，不排队，线程都在使用时拒绝执行，
+     * 空闲 60 秒的线程会被回收。
+     */
+    static class DefaultExecutor {
+
+        static final ExecutorService INSTANCE = new ThreadPoolExecutor(0, MAX_ASYNC_THREADS,
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "sync-waiting-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -10,6 +10,8 @@ import java.util.Map;
 
 /**
  * 基于 {@link Map} 实现的 {@link SyncWaiterContainer}，默认使用 {@link HashMap}。
+ * 使用 {@link java.util.concurrent.ConcurrentMap} 时 {@link #addIfAbsent(SyncWaiter)}
+ * 和 {@link #remove(Object, SyncWaiter)} 为原子操作。
  */
 @AllArgsConstructor
 public class MapSyncWaiterContainer implements SyncWaiterContainer {
@@ -41,4 +43,14 @@ public class MapSyncWaiterContainer implements SyncWaiterContainer {
     public SyncWaiter remove(Object key) {
         return map.remove(key);
     }
+
+    @Override
+    public SyncWaiter addIfAbsent(SyncWaiter waiter) {
+        return map.putIfAbsent(waiter.key(), waiter);
+    }
+
+    @Override
+    public boolean remove(Object key, SyncWaiter waiter) {
+        return map.remove(key, waiter);
+    }
 }
@@ -37,4 +37,36 @@ public interface SyncWaiterContainer {
      * @return 被移除的 {@link SyncWaiter}
      */
     SyncWaiter remove(Object key);
+
+    /**
+     * 如果不存在对应 key 的 {@link SyncWaiter} 则添加，
+     * 否则返回已经存在的 {@link SyncWaiter}。
+     * 默认实现不是原子操作，并发场景需要子类重写。
+     *
+     * @param waiter 添加的 {@link SyncWaiter}
+     * @return 已经存在的 {@link SyncWaiter}，添加成功则返回 null
+     */
+    default SyncWaiter addIfAbsent(SyncWaiter waiter) {
+        SyncWaiter exist = find(waiter.key());
+        if (exist == null) {
+            add(waiter);
+        }
+        return exist;
+    }
+
+    /**
+     * 只有当 key 对应的是指定的 {@link SyncWaiter} 时才移除。
+     * 默认实现不是原子操作，并发场景需要子类重写。
+     *
+     * @param key    标识
+     * @param waiter 需要移除的 {@link SyncWaiter}
+     * @return 如果移除成功则返回 true
+     */
+    default boolean remove(Object key, SyncWaiter waiter) {
+        if (find(key) == waiter) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,46 @@
+package com.github.linyuzai.sync.waiting.core.reactive;
+
+import com.github.linyuzai.sync.waiting.core.caller.SyncCaller;
+import com.github.linyuzai.sync.waiting.core.concept.SyncWaitingConcept;
+import com.github.linyuzai.sync.waiting.core.configuration.SyncWaitingConfiguration;
+import lombok.NonNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * 将 {@link SyncWaitingConcept#waitAsync(Object, SyncCaller, SyncWaitingConfiguration)} 转换为 {@link Mono}。
+ * 订阅时才会调用业务接口，取消订阅会取消对应的等待。
+ */
+public class MonoSyncWaiting {
+
+    public static <T> Mono<T> waitMono(@NonNull SyncWaitingConcept concept,
+                                       @NonNull Object key,
+                                       @NonNull SyncCaller caller) {
+        return waitMono(concept, key, caller, 0);
+    }
+
+    public static <T> Mono<T> waitMono(@NonNull SyncWaitingConcept concept,
+                                       @NonNull Object key,
+                                       @NonNull SyncCaller caller,
+                                       long waitingTime) {
+        return waitMono(concept, key, caller, waitingTime, 0);
+    }
+
+    public static <T> Mono<T> waitMono(@NonNull SyncWaitingConcept concept,
+                                       @NonNull Object key,
+                                       @NonNull SyncCaller caller,
+                                       long waitingTime,
+                                       long queuingTime) {
+        SyncWaitingConfiguration configuration = new SyncWaitingConfiguration.Builder()
+                .waitingTime(waitingTime)
+                .queuingTime(queuingTime)
+                .build();
+        return waitMono(concept, key, caller, configuration);
+    }
+
+    public static <T> Mono<T> waitMono(@NonNull SyncWaitingConcept concept,
+                                       @NonNull Object key,
+                                       @NonNull SyncCaller caller,
+                                       @NonNull SyncWaitingConfiguration configuration) {
+        return Mono.defer(() -> Mono.fromFuture(concept.<T>waitAsync(key, caller, configuration)));
+    }
+}
@@ -0,0 +1,332 @@
+package com.github.linyuzai.sync.waiting.core.timer;
+
+import lombok.NonNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 基于哈希时间轮实现的 {@link SyncWaitingTimer}。
+ * <p>
+ * 添加和取消都是 O(1)，只是放入无锁队列，
+ * 由单个工作线程每个刻度统一转移到时间轮的槽中、移除已取消的任务，
+ * 并批量执行当前槽中所有到期的任务。
+ * 已取消的任务最多在一个刻度后从时间轮中移除（转移时并发取消的在下次经过所在槽时移除），
+ * 超时频率很高时内存也不会持续增长。
+ * <p>
+ * 任务在工作线程中执行，需要尽量简短。
+ */
+public class HashedWheelSyncWaitingTimer implements SyncWaitingTimer {
+
+    private static final int STATE_INIT = 0;
+
+    private static final int STATE_STARTED = 1;
+
+    private static final int STATE_SHUTDOWN = 2;
+
+    /**
+     * 每个刻度最多转移的新任务数量，避免工作线程长时间处理新任务
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    /**
+     * 刻度时长，纳秒
+     */
+    private final long tickDuration;
+
+    /**
+     * 时间轮
+     */
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Queue<Entry> pendingEntries = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Entry> cancelledEntries = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger workerState = new AtomicInteger(STATE_INIT);
+
+    private final Thread worker;
+
+    private volatile long startTime;
+
+    /**
+     * 默认刻度 10ms，512 个槽。
+     */
+    public HashedWheelSyncWaitingTimer() {
+        this(10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    public HashedWheelSyncWaitingTimer(long tickDuration, @NonNull TimeUnit unit, int ticksPerWheel) {
+        this(tickDuration, unit, ticksPerWheel, r -> {
+            Thread thread = new Thread(r, "sync-waiting-wheel-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public HashedWheelSyncWaitingTimer(long tickDuration, @NonNull TimeUnit unit, int ticksPerWheel,
+                                       @NonNull ThreadFactory threadFactory) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel must be greater than 0");
+        }
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.wheel = createWheel(ticksPerWheel);
+        this.mask = wheel.length - 1;
+        this.worker = threadFactory.newThread(new Worker());
+    }
+
+    @Override
+    public Timeout schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        //延迟过大时溢出
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        Entry entry = new Entry(task, deadline);
+        pendingEntries.offer(entry);
+        return entry;
+    }
+
+    /**
+     * 启动工作线程，第一次添加任务时自动调用。
+     */
+    public void start() {
+        switch (workerState.get()) {
+            case STATE_INIT:
+                if (workerState.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    startTime = System.nanoTime();
+                    worker.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("Timer has been stopped");
+        }
+        while (startTime == 0) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 停止工作线程，未执行的任务不再执行。
+     */
+    public void stop() {
+        if (workerState.getAndSet(STATE_SHUTDOWN) == STATE_STARTED) {
+            worker.interrupt();
+        }
+    }
+
+    private static Bucket[] createWheel(int ticksPerWheel) {
+        int n = 1;
+        while (n < ticksPerWheel) {
+            n <<= 1;
+        }
+        Bucket[] wheel = new Bucket[n];
+        for (int i = 0; i < n; i++) {
+            wheel[i] = new Bucket();
+        }
+        return wheel;
+    }
+
+    private class Worker implements Runnable {
+
+        private long tick;
+
+        @Override
+        public void run() {
+            while (workerState.get() == STATE_STARTED) {
+                if (!waitForNextTick()) {
+                    break;
+                }
+                removeCancelled();
+                transferPending();
+                wheel[(int) (tick & mask)].expire();
+                tick++;
+            }
+        }
+
+        /**
+         * 等待到下一个刻度。
+         *
+         * @return 停止时返回 false
+         */
+        private boolean waitForNextTick() {
+            long deadline = tickDuration * (tick + 1);
+            for (; ; ) {
+                long sleep = deadline - (System.nanoTime() - startTime);
+                if (sleep <= 0) {
+                    return true;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (workerState.get() == STATE_SHUTDOWN) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        private void removeCancelled() {
+            Entry entry;
+            while ((entry = cancelledEntries.poll()) != null) {
+                Bucket bucket = entry.bucket;
+                if (bucket != null) {
+                    bucket.remove(entry);
+                }
+            }
+        }
+
+        private void transferPending() {
+            for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+                Entry entry = pendingEntries.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entry.state != Entry.INIT) {
+                    continue;
+                }
+                long ticks = entry.deadline / tickDuration;
+                entry.remainingRounds = (ticks - tick) / wheel.length;
+                //已经过期的放到当前槽
+                long index = Math.max(ticks, tick);
+                wheel[(int) (index & mask)].add(entry);
+            }
+        }
+    }
+
+    /**
+     * 时间轮的槽，双向链表，只在工作线程中访问。
+     */
+    private static class Bucket {
+
+        private Entry head;
+
+        private Entry tail;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            if (head == null) {
+                head = tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+        /**
+         * 批量执行所有到期的任务。
+         * 剩余轮数为 0 的任务的到期时间一定不晚于当前刻度。
+         */
+        void expire() {
+            Entry entry = head;
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.remainingRounds <= 0) {
+                    remove(entry);
+                    entry.expire();
+                } else if (entry.state == Entry.CANCELLED) {
+                    remove(entry);
+                } else {
+                    entry.remainingRounds--;
+                }
+                entry = next;
+            }
+        }
+
+        void remove(Entry entry) {
+            if (entry.bucket != this) {
+                return;
+            }
+            Entry next = entry.next;
+            if (entry.prev != null) {
+                entry.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = entry.prev;
+            }
+            if (entry == head) {
+                if (entry == tail) {
+                    tail = null;
+                    head = null;
+                } else {
+                    head = next;
+                }
+            } else if (entry == tail) {
+                tail = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+    }
+
+    private class Entry implements Timeout {
+
+        private static final int INIT = 0;
+
+        private static final int CANCELLED = 1;
+
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+
+        /**
+         * 相对 {@link #startTime} 的到期时间
+         */
+        private final long deadline;
+
+        volatile int state = INIT;
+
+        private long remainingRounds;
+
+        private Entry prev;
+
+        private Entry next;
+
+        private volatile Bucket bucket;
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, INIT, CANCELLED)) {
+                return false;
+            }
+            //还没有放入时间轮的会在转移时跳过，已经放入的在下一个刻度移除
+            if (bucket != null) {
+                cancelledEntries.offer(this);
+            }
+            return true;
+        }
+
+        void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, INIT, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable ignore) {
+                //任务异常不能影响其他任务
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Entry> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+}
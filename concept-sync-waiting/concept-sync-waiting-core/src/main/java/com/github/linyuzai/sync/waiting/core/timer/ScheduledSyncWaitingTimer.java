@@ -0,0 +1,47 @@
+package com.github.linyuzai.sync.waiting.core.timer;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 {@link ScheduledExecutorService} 实现的 {@link SyncWaitingTimer}。
+ */
+@Getter
+public class ScheduledSyncWaitingTimer implements SyncWaitingTimer {
+
+    @NonNull
+    protected final ScheduledExecutorService executor;
+
+    /**
+     * 使用单个守护线程。
+     */
+    public ScheduledSyncWaitingTimer() {
+        this(createDefaultExecutor());
+    }
+
+    public ScheduledSyncWaitingTimer(@NonNull ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        ScheduledFuture<?> future = executor.schedule(task, delay, unit);
+        return () -> future.cancel(false);
+    }
+
+    private static ScheduledExecutorService createDefaultExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "sync-waiting-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        //取消后立即从队列中移除，避免大量已完成的等待占用内存
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
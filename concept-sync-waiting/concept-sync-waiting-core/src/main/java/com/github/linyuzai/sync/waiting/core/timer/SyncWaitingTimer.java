@@ -0,0 +1,32 @@
+package com.github.linyuzai.sync.waiting.core.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 超时定时器，所有等待共享，不需要为每个等待单独占用线程。
+ */
+public interface SyncWaitingTimer {
+
+    /**
+     * 延迟执行任务。
+     *
+     * @param task  任务
+     * @param delay 延迟时间
+     * @param unit  时间单位
+     * @return 可以取消的 {@link Timeout}
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * 延迟任务。
+     */
+    interface Timeout {
+
+        /**
+         * 取消任务。
+         *
+         * @return 如果任务还未执行并且取消成功则返回 true
+         */
+        boolean cancel();
+    }
+}